@@ -5,11 +5,12 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.data.domain.AuditorAware;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
-
-import java.util.Optional;
-import java.util.UUID;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import study.datajpa.audit.RequestAuditor;
+import study.datajpa.repository.support.KeysetSimpleJpaRepository;
 
 @EnableJpaAuditing//(modifyOnCreate = false) -> 생성 시 수정일 null로 들어감 //@EntityListeners(AuditingEntityListener.class)
+@EnableJpaRepositories(repositoryBaseClass = KeysetSimpleJpaRepository.class) // 모든 리파지토리에 키셋 페이징 추가
 @SpringBootApplication
 public class DataJpaApplication {
 
@@ -23,9 +24,10 @@ public class DataJpaApplication {
 	 */
 	// 등록자, 수정자 처리해주는 AuditorAware 스프링 빈 등록
 	// 실무에서는 세션 정보나, 스프링 시큐리티 로그인 정보에서 ID를 받음
+	// -> 요청 시작 시 한 번 정한 값을 사용 (엔티티마다 UUID.randomUUID() 를 만들지 않음)
 	@Bean
 	public AuditorAware<String> auditorProvider() {
-		return () -> Optional.of(UUID.randomUUID().toString());
+		return new RequestAuditor();
 	}
 
 }
@@ -0,0 +1,26 @@
+package study.datajpa.audit;
+
+import java.time.LocalDateTime;
+
+/**
+ * flush 한 번에 처리되는 엔티티는 같은 시간을 사용한다.
+ * - 처음 요청할 때 LocalDateTime.now() 를 읽고, flush 나 트랜잭션이 끝나면 비운다. (AuditClockInterceptor)
+ * - 세션은 스레드에 묶여 있으므로 스레드 단위로 보관한다.
+ */
+public abstract class AuditClock {
+
+    private static final ThreadLocal<LocalDateTime> current = new ThreadLocal<>();
+
+    public static LocalDateTime now() {
+        LocalDateTime now = current.get();
+        if (now == null) {
+            now = LocalDateTime.now();
+            current.set(now);
+        }
+        return now;
+    }
+
+    public static void reset() {
+        current.remove();
+    }
+}
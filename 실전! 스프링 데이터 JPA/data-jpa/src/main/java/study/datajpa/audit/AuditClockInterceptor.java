@@ -0,0 +1,22 @@
+package study.datajpa.audit;
+
+import org.hibernate.Interceptor;
+import org.hibernate.Transaction;
+
+import java.util.Iterator;
+
+/**
+ * flush, 트랜잭션 종료 시 AuditClock 을 비운다. (hibernate.session_factory.interceptor)
+ */
+public class AuditClockInterceptor implements Interceptor {
+
+    @Override
+    public void postFlush(Iterator<Object> entities) {
+        AuditClock.reset();
+    }
+
+    @Override
+    public void afterTransactionCompletion(Transaction tx) {
+        AuditClock.reset();
+    }
+}
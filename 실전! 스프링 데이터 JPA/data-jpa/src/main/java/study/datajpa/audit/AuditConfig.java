@@ -0,0 +1,30 @@
+package study.datajpa.audit;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.AuditorAware;
+
+@Configuration
+@EnableConfigurationProperties(AuditProperties.class)
+public class AuditConfig {
+
+    @Bean
+    public FastAuditingHandler fastAuditingHandler(EntityManagerFactory emf, AuditorAware<?> auditorAware) {
+        return new FastAuditingHandler(emf, auditorAware);
+    }
+
+    @Bean
+    public FilterRegistrationBean<RequestAuditorFilter> requestAuditorFilter(AuditProperties properties) {
+        return new FilterRegistrationBean<>(new RequestAuditorFilter(properties.getAuditorHeader()));
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer auditClockInterceptor() {
+        return properties -> properties.put(AvailableSettings.INTERCEPTOR, new AuditClockInterceptor());
+    }
+}
@@ -0,0 +1,10 @@
+package study.datajpa.audit;
+
+/**
+ * 등록일, 수정일, 등록자, 수정자를 채우는 방법 (datajpa.audit.engine)
+ * - SPRING : 스프링 데이터 AuditingHandler (엔티티마다 리플렉션으로 필드 탐색)
+ * - FAST : FastAuditingHandler (시작 시점에 만든 MethodHandle, flush 당 한 번 읽은 시간)
+ */
+public enum AuditEngine {
+    SPRING, FAST
+}
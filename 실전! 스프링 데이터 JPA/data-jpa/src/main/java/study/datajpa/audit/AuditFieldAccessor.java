@@ -0,0 +1,119 @@
+package study.datajpa.audit;
+
+import org.springframework.data.annotation.CreatedBy;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedBy;
+import org.springframework.data.annotation.LastModifiedDate;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * 엔티티 클래스 하나의 audit 필드 setter
+ * - @CreatedDate, @LastModifiedDate, @CreatedBy, @LastModifiedBy 필드를 한 번만 찾아서 MethodHandle 로 만든다.
+ * - 필드가 없으면 null (해당 값은 채우지 않음)
+ */
+final class AuditFieldAccessor {
+
+    private static final MethodType SETTER = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final MethodHandle createdDate;
+    private final MethodHandle lastModifiedDate;
+    private final MethodHandle createdBy;
+    private final MethodHandle lastModifiedBy;
+
+    private AuditFieldAccessor(MethodHandle createdDate, MethodHandle lastModifiedDate,
+                               MethodHandle createdBy, MethodHandle lastModifiedBy) {
+        this.createdDate = createdDate;
+        this.lastModifiedDate = lastModifiedDate;
+        this.createdBy = createdBy;
+        this.lastModifiedBy = lastModifiedBy;
+    }
+
+    static AuditFieldAccessor of(Class<?> type) {
+        return new AuditFieldAccessor(
+                setter(type, CreatedDate.class, true),
+                setter(type, LastModifiedDate.class, true),
+                setter(type, CreatedBy.class, false),
+                setter(type, LastModifiedBy.class, false));
+    }
+
+    boolean isAuditable() {
+        return createdDate != null || lastModifiedDate != null || createdBy != null || lastModifiedBy != null;
+    }
+
+    boolean needsAuditor() {
+        return createdBy != null || lastModifiedBy != null;
+    }
+
+    // @EnableJpaAuditing 기본값(modifyOnCreate = true)과 같이 등록 시 수정일, 수정자도 채운다.
+    void markCreated(Object entity, LocalDateTime now, Object auditor) {
+        set(createdDate, entity, now);
+        set(lastModifiedDate, entity, now);
+        set(createdBy, entity, auditor);
+        set(lastModifiedBy, entity, auditor);
+    }
+
+    void markModified(Object entity, LocalDateTime now, Object auditor) {
+        set(lastModifiedDate, entity, now);
+        set(lastModifiedBy, entity, auditor);
+    }
+
+    private static void set(MethodHandle setter, Object entity, Object value) {
+        if (setter == null || value == null) {
+            return;
+        }
+        try {
+            setter.invokeExact(entity, value);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static MethodHandle setter(Class<?> type, Class<? extends Annotation> annotation, boolean temporal) {
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                if (!field.isAnnotationPresent(annotation)) {
+                    continue;
+                }
+                try {
+                    MethodHandle setter = MethodHandles.privateLookupIn(c, MethodHandles.lookup()).unreflectSetter(field);
+                    if (temporal) {
+                        setter = MethodHandles.filterArguments(setter, 1, temporalConverter(field));
+                    }
+                    return setter.asType(SETTER);
+                } catch (IllegalAccessException | NoSuchMethodException e) {
+                    throw new IllegalStateException("audit 필드 접근 불가: " + field, e);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * LocalDateTime -> 필드 타입 (LocalDateTime 이면 그대로)
+     */
+    private static MethodHandle temporalConverter(Field field) throws NoSuchMethodException, IllegalAccessException {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        MethodType type = MethodType.methodType(field.getType(), LocalDateTime.class);
+        if (field.getType() == LocalDateTime.class) {
+            return MethodHandles.identity(LocalDateTime.class);
+        }
+        if (field.getType() == Instant.class) {
+            return lookup.findStatic(AuditFieldAccessor.class, "toInstant", type);
+        }
+        throw new IllegalStateException("지원하지 않는 audit 날짜 타입: " + field);
+    }
+
+    private static Instant toInstant(LocalDateTime now) {
+        return now.atZone(ZoneId.systemDefault()).toInstant();
+    }
+}
@@ -0,0 +1,66 @@
+package study.datajpa.audit;
+
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.auditing.AuditingHandler;
+
+import java.util.function.Consumer;
+
+/**
+ * AuditingEntityListener 대체 (@EntityListeners(AuditListener.class))
+ * - 엔티티 리스너는 하이버네이트가 SpringBeanContainer 로 생성하므로 생성자 주입을 받는다.
+ * - 리스너는 EntityManagerFactory 를 만드는 중에 생성되므로 처리기는 처음 사용할 때 꺼낸다.
+ */
+public class AuditListener {
+
+    private final ObjectProvider<AuditProperties> properties;
+    private final ObjectProvider<FastAuditingHandler> fastHandler;
+    private final ObjectProvider<AuditingHandler> springHandler;
+
+    private volatile Handler handler;
+
+    public AuditListener(ObjectProvider<AuditProperties> properties,
+                         ObjectProvider<FastAuditingHandler> fastHandler,
+                         ObjectProvider<AuditingHandler> springHandler) {
+        this.properties = properties;
+        this.fastHandler = fastHandler;
+        this.springHandler = springHandler;
+    }
+
+    @PrePersist
+    public void touchForCreate(Object target) {
+        handler().markCreated(target);
+    }
+
+    @PreUpdate
+    public void touchForUpdate(Object target) {
+        handler().markModified(target);
+    }
+
+    private Handler handler() {
+        Handler current = handler;
+        if (current == null) {
+            if (properties.getObject().getEngine() == AuditEngine.FAST) {
+                FastAuditingHandler fast = fastHandler.getObject();
+                current = new Handler(fast::markCreated, fast::markModified);
+            } else {
+                AuditingHandler spring = springHandler.getObject();
+                current = new Handler(spring::markCreated, spring::markModified);
+            }
+            handler = current;
+        }
+        return current;
+    }
+
+    private record Handler(Consumer<Object> markCreated, Consumer<Object> markModified) {
+
+        void markCreated(Object target) {
+            markCreated.accept(target);
+        }
+
+        void markModified(Object target) {
+            markModified.accept(target);
+        }
+    }
+}
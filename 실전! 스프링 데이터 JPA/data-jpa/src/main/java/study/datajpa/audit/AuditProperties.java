@@ -0,0 +1,19 @@
+package study.datajpa.audit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * datajpa.audit.*
+ */
+@Getter @Setter
+@ConfigurationProperties(prefix = "datajpa.audit")
+public class AuditProperties {
+
+    private AuditEngine engine = AuditEngine.FAST;
+
+    // 등록자, 수정자로 사용할 요청 헤더. 비어 있으면(기본) 헤더를 보지 않고 요청마다 id 를 한 번 만든다.
+    // 클라이언트가 아무 값이나 보낼 수 있으므로 헤더를 검증해서 다시 붙여 주는 신뢰할 수 있는 upstream(게이트웨이) 뒤에서만 켠다.
+    private String auditorHeader;
+}
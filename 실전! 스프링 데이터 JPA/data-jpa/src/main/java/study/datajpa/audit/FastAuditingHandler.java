@@ -0,0 +1,49 @@
+package study.datajpa.audit;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.metamodel.EntityType;
+import org.springframework.data.domain.AuditorAware;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 스프링 데이터 AuditingHandler 대체
+ * - 엔티티 클래스별 AuditFieldAccessor 를 시작 시점에 메타모델로 미리 만든다.
+ * - 시간은 AuditClock (flush 당 한 번), 등록자는 AuditorAware (요청 당 한 번) 에서 가져온다.
+ */
+public class FastAuditingHandler {
+
+    private final AuditorAware<?> auditorAware;
+    private final Map<Class<?>, AuditFieldAccessor> accessors = new ConcurrentHashMap<>();
+
+    public FastAuditingHandler(EntityManagerFactory emf, AuditorAware<?> auditorAware) {
+        this.auditorAware = auditorAware;
+        for (EntityType<?> entity : emf.getMetamodel().getEntities()) {
+            accessors.put(entity.getJavaType(), AuditFieldAccessor.of(entity.getJavaType()));
+        }
+    }
+
+    public void markCreated(Object entity) {
+        AuditFieldAccessor accessor = accessor(entity);
+        if (accessor.isAuditable()) {
+            accessor.markCreated(entity, AuditClock.now(), auditor(accessor));
+        }
+    }
+
+    public void markModified(Object entity) {
+        AuditFieldAccessor accessor = accessor(entity);
+        if (accessor.isAuditable()) {
+            accessor.markModified(entity, AuditClock.now(), auditor(accessor));
+        }
+    }
+
+    private AuditFieldAccessor accessor(Object entity) {
+        AuditFieldAccessor accessor = accessors.get(entity.getClass());
+        return accessor != null ? accessor : accessors.computeIfAbsent(entity.getClass(), AuditFieldAccessor::of);
+    }
+
+    private Object auditor(AuditFieldAccessor accessor) {
+        return accessor.needsAuditor() ? auditorAware.getCurrentAuditor().orElse(null) : null;
+    }
+}
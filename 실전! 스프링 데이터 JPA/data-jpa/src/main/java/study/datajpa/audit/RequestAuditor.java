@@ -0,0 +1,35 @@
+package study.datajpa.audit;
+
+import org.springframework.data.domain.AuditorAware;
+
+import java.util.Optional;
+
+/**
+ * 요청 단위로 한 번만 정한 등록자/수정자 (RequestAuditorFilter 가 요청 시작 시 설정)
+ * - 엔티티를 저장할 때마다 UUID.randomUUID() (SecureRandom, 스레드 간 경합) 를 만들지 않는다.
+ * - 요청 밖(배치, 테스트)에서는 SYSTEM
+ */
+public class RequestAuditor implements AuditorAware<String> {
+
+    public static final String SYSTEM = "system";
+
+    private static final ThreadLocal<String> current = new ThreadLocal<>();
+
+    static void set(String auditor) {
+        current.set(auditor);
+    }
+
+    static void clear() {
+        current.remove();
+    }
+
+    public static String current() {
+        String auditor = current.get();
+        return auditor != null ? auditor : SYSTEM;
+    }
+
+    @Override
+    public Optional<String> getCurrentAuditor() {
+        return Optional.of(current());
+    }
+}
@@ -0,0 +1,41 @@
+package study.datajpa.audit;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 요청 시작 시 등록자/수정자를 한 번만 정한다.
+ * - 실무에서는 세션이나 스프링 시큐리티 로그인 정보에서 가져온다. 여기서는 요청 id
+ * - datajpa.audit.auditor-header 를 설정하면 그 헤더 값 (신뢰할 수 있는 upstream 이 넣어 준 헤더만)
+ */
+@RequiredArgsConstructor
+public class RequestAuditorFilter extends OncePerRequestFilter {
+
+    private final String header; // null 이면 헤더를 보지 않음
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String auditor = StringUtils.hasText(header) ? request.getHeader(header) : null;
+        if (!StringUtils.hasText(auditor)) {
+            // 식별용이라 SecureRandom 이 필요 없음
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            auditor = new UUID(random.nextLong(), random.nextLong()).toString();
+        }
+        RequestAuditor.set(auditor);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestAuditor.clear();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package study.datajpa.bulk;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 벌크 수정 진행 위치
+ * - 구간 수정과 같은 트랜잭션에서 갱신하므로, 중단되어도 커밋된 구간까지만 기록된다.
+ * - maxId 는 처음 실행할 때 고정한다. (실행 중 추가된 row 는 대상이 아님)
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class BulkUpdateCheckpoint {
+
+    @Id
+    private String jobName;
+
+    private long lastId;
+    private long maxId;
+    @Column(name = "updated_rows") // rows 는 MariaDB 예약어
+    private long rows;
+    private boolean completed;
+    private LocalDateTime updatedAt;
+
+    public BulkUpdateCheckpoint(String jobName, long lastId, long maxId) {
+        this.jobName = jobName;
+        this.lastId = lastId;
+        this.maxId = maxId;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public void advance(long lastId, long rows) {
+        this.lastId = lastId;
+        this.rows += rows;
+        this.completed = lastId >= maxId;
+        this.updatedAt = LocalDateTime.now();
+    }
+}
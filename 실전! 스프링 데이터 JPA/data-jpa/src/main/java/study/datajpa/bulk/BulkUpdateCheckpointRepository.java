@@ -0,0 +1,6 @@
+package study.datajpa.bulk;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface BulkUpdateCheckpointRepository extends JpaRepository<BulkUpdateCheckpoint, String> {
+}
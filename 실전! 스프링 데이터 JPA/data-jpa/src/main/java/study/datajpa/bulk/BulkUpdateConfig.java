@@ -0,0 +1,22 @@
+package study.datajpa.bulk;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Configuration
+@EnableConfigurationProperties(BulkUpdateProperties.class)
+public class BulkUpdateConfig {
+
+    @Bean
+    public ChunkedUpdateExecutor chunkedUpdateExecutor(EntityManager em, PlatformTransactionManager transactionManager,
+                                                       BulkUpdateCheckpointRepository checkpointRepository,
+                                                       BulkUpdateProperties properties, MeterRegistry meterRegistry) {
+        return new ChunkedUpdateExecutor(em, new TransactionTemplate(transactionManager), checkpointRepository,
+                properties, meterRegistry);
+    }
+}
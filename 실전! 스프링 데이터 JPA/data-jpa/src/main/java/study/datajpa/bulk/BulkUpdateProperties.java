@@ -0,0 +1,22 @@
+package study.datajpa.bulk;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * datajpa.bulk.*
+ */
+@Getter @Setter
+@ConfigurationProperties(prefix = "datajpa.bulk")
+public class BulkUpdateProperties {
+
+    // 한 트랜잭션에서 수정할 PK 구간 크기
+    private long sliceSize = 10_000;
+    // 구간 커밋 후 쉬는 시간 (복제 지연, 락 경합 완화)
+    private Duration pause = Duration.ZERO;
+    // 진행 상황 로그 간격
+    private Duration progressInterval = Duration.ofSeconds(5);
+}
@@ -0,0 +1,20 @@
+package study.datajpa.bulk;
+
+import java.util.Map;
+
+/**
+ * PK 구간별로 나눠 실행할 벌크 수정
+ * @param jobName 체크포인트 키, 같은 이름으로 다시 실행하면 중단된 구간부터 이어서 실행
+ * @param entity  PK(Long) 구간을 나눌 엔티티
+ * @param jpql    :from < id <= :to 조건을 포함한 update/delete JPQL
+ *                예) update Member m set m.age = m.age + 1 where m.age >= :age and m.id > :from and m.id <= :to
+ * @param params  :from, :to 외의 파라미터
+ */
+public record ChunkedUpdate(String jobName, Class<?> entity, String jpql, Map<String, Object> params) {
+
+    public ChunkedUpdate {
+        if (!jpql.contains(":from") || !jpql.contains(":to")) {
+            throw new IllegalArgumentException("JPQL 에 :from, :to PK 구간 조건이 없음: " + jpql);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package study.datajpa.bulk;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.Query;
+import jakarta.persistence.metamodel.EntityType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * 청크 단위 벌크 수정
+ * - update ... where (조건) 한 번이면 전체 대상 row 의 락과 undo 로그를 커밋까지 들고 있고,
+ *   복제 서버는 그 문장이 끝날 때까지 뒤처진다.
+ * - PK 구간 (from, to] 단위로 나눠서 구간마다 커밋하고, 체크포인트를 같은 트랜잭션에서 갱신한다.
+ *   중단(예외, 인터럽트, 재시작) 후 같은 jobName 으로 실행하면 커밋된 다음 구간부터 이어서 실행한다.
+ * - 구간마다 영속성 컨텍스트를 비운다. (@Modifying(clearAutomatically = true) 와 같은 이유)
+ * - 완료된 jobName 은 다시 실행하지 않는다. (age + 1 처럼 멱등이 아닌 수정이 두 번 적용되지 않도록)
+ * - 같은 jobName 이 동시에 실행되면 한쪽은 실패한다.
+ *   체크포인트는 persist 로 만들고(PK 중복), 구간마다 체크포인트를 잠근 뒤 자기가 읽은 위치인지 확인한다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ChunkedUpdateExecutor {
+
+    private final EntityManager em;
+    private final TransactionTemplate transactionTemplate;
+    private final BulkUpdateCheckpointRepository checkpointRepository;
+    private final BulkUpdateProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public ChunkedUpdateResult execute(ChunkedUpdate update) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("구간마다 커밋해야 하므로 트랜잭션 밖에서 실행해야 함: " + update.jobName());
+        }
+        long start = System.nanoTime();
+        BulkUpdateCheckpoint existing = transactionTemplate.execute(s -> checkpointRepository.findById(update.jobName()).orElse(null));
+        BulkUpdateCheckpoint checkpoint = existing != null ? existing
+                : transactionTemplate.execute(s -> {
+                    BulkUpdateCheckpoint created = newCheckpoint(update);
+                    em.persist(created); // save 는 merge 라 동시에 처음 실행한 쪽을 덮어쓴다.
+                    return created;
+                });
+        Long resumedFrom = existing != null && !existing.isCompleted() ? existing.getLastId() : null;
+
+        long lastId = checkpoint.getLastId();
+        long maxId = checkpoint.getMaxId();
+        boolean completed = checkpoint.isCompleted();
+        long rows = 0;
+        long slices = 0;
+        long lastReport = start;
+        Counter rowCounter = meterRegistry.counter("datajpa.bulk.rows", "job", update.jobName());
+
+        while (!completed && !Thread.currentThread().isInterrupted()) {
+            long from = lastId;
+            long to = Math.min(from + properties.getSliceSize(), maxId);
+            int updated = transactionTemplate.execute(s -> slice(update, from, to));
+
+            lastId = to;
+            completed = to >= maxId;
+            rows += updated;
+            slices++;
+            rowCounter.increment(updated);
+
+            long now = System.nanoTime();
+            if (completed || now - lastReport >= properties.getProgressInterval().toNanos()) {
+                log.info("bulk update job={} id={}/{} rows={} rows/s={}", update.jobName(), lastId, maxId, rows,
+                        Math.round(rows * 1e9 / (now - start)));
+                lastReport = now;
+            }
+            if (!completed && !pause()) {
+                break;
+            }
+        }
+
+        if (!completed) {
+            log.warn("bulk update 중단 job={} lastId={} (같은 jobName 으로 다시 실행하면 이어서 실행)", update.jobName(), lastId);
+        }
+        return new ChunkedUpdateResult(update.jobName(), rows, slices, resumedFrom, completed,
+                Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    private BulkUpdateCheckpoint newCheckpoint(ChunkedUpdate update) {
+        EntityType<?> entityType = em.getMetamodel().entity(update.entity());
+        String id = entityType.getId(Long.class).getName();
+        Object[] range = (Object[]) em.createQuery("select min(e." + id + "), max(e." + id + ") from " + entityType.getName() + " e")
+                .getSingleResult();
+        if (range[0] == null) {
+            return new BulkUpdateCheckpoint(update.jobName(), 0, 0);
+        }
+        return new BulkUpdateCheckpoint(update.jobName(), (Long) range[0] - 1, (Long) range[1]);
+    }
+
+    private int slice(ChunkedUpdate update, long from, long to) {
+        BulkUpdateCheckpoint checkpoint = em.find(BulkUpdateCheckpoint.class, update.jobName(), LockModeType.PESSIMISTIC_WRITE);
+        if (checkpoint.getLastId() != from) {
+            throw new IllegalStateException("같은 작업이 동시에 실행 중: " + update.jobName()
+                    + " (expected lastId=" + from + ", actual=" + checkpoint.getLastId() + ")");
+        }
+        Query query = em.createQuery(update.jpql())
+                .setParameter("from", from)
+                .setParameter("to", to);
+        for (Map.Entry<String, Object> param : update.params().entrySet()) {
+            query.setParameter(param.getKey(), param.getValue());
+        }
+        int updated = query.executeUpdate();
+
+        checkpoint.advance(to, updated);
+        em.flush();
+        em.clear();
+        return updated;
+    }
+
+    private boolean pause() {
+        if (properties.getPause().isZero()) {
+            return true;
+        }
+        try {
+            Thread.sleep(properties.getPause().toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
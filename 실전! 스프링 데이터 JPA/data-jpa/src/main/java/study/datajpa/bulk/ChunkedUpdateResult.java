@@ -0,0 +1,17 @@
+package study.datajpa.bulk;
+
+import java.time.Duration;
+
+/**
+ * @param rows        이번 실행에서 수정된 row 수
+ * @param slices      이번 실행에서 커밋한 구간 수
+ * @param resumedFrom 이어서 시작한 PK (처음부터면 null)
+ * @param completed   마지막 구간까지 끝났는지 (중단되면 false)
+ */
+public record ChunkedUpdateResult(String jobName, long rows, long slices, Long resumedFrom,
+                                  boolean completed, Duration elapsed) {
+
+    public double rowsPerSecond() {
+        return elapsed.isZero() ? 0 : rows * 1e9 / elapsed.toNanos();
+    }
+}
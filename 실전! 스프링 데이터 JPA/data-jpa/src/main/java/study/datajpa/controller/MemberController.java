@@ -2,22 +2,45 @@ package study.datajpa.controller;
 
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.http.HttpStatus;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import study.datajpa.dto.MemberDto;
 import study.datajpa.entity.Member;
+import study.datajpa.fields.FieldShape;
+import study.datajpa.fields.SparseFields;
+import study.datajpa.fields.SparseRow;
+import study.datajpa.paging.CountQuery;
+import study.datajpa.paging.CountingPager;
+import study.datajpa.paging.KeysetCursor;
+import study.datajpa.paging.ScrollResult;
 import study.datajpa.repository.MemberRepository;
+import study.datajpa.repository.support.FetchPlan;
+import study.datajpa.snapshot.MemberSnapshot;
+
+import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequiredArgsConstructor
 public class MemberController {
 
+    private static final Sort SCROLL_SORT = Sort.by(Sort.Direction.DESC, "username", "id");
+    // expand 파라미터로 함께 조회할 수 있는 연관관계
+    private static final Set<String> EXPANDABLE = Set.of("team");
+
     private final MemberRepository memberRepository;
+    private final CountingPager countingPager;
+    private final SparseFields memberFields;
 
     @GetMapping("/members/{id}")
     public String findMember(@PathVariable("id") Long id) {
@@ -35,6 +58,22 @@ public class MemberController {
         return member.getUsername();
     }
 
+    /**
+     * 캐시 컨버터 (snapshot 패키지)
+     * - 도메인 클래스 컨버터는 같은 id 라도 요청마다 findById 로 영속 엔티티를 만든다.
+     * - 읽기만 한다면 MemberSnapshot 으로 받는다. 수정/삭제 시 캐시에서 빠진다.
+     * - /members3?ids=1,2,3 -> 캐시에 없는 id 만 in 쿼리 한 번으로 조회
+     */
+    @GetMapping("/members3/{id}")
+    public String findMemberSnapshot(@PathVariable("id") MemberSnapshot member) {
+        return member.username();
+    }
+
+    @GetMapping("/members3")
+    public List<MemberSnapshot> findMemberSnapshots(@RequestParam("ids") List<MemberSnapshot> members) {
+        return members;
+    }
+
     /**
      * Web - 페이징과 정렬
      *
@@ -60,23 +99,79 @@ public class MemberController {
      *      2. spring.data.web.pageable.one-indexed-parameters 를 true 로 설정한다. (application.properties)
      *         그런데 이 방법은 web에서 page 파라미터를 -1 처리 할 뿐이다.
      *         따라서 응답값인 Page에 모두 0 페이지 인덱스를 사용하는 한계가 있다.
+     *
+     * 3. count 전략 (datajpa.count.endpoints.{엔드포인트}=exact|cached|estimated|slice)
+     *    - 전체 회원 count 는 페이지를 넘길 때마다 같은 값이므로 캐시나 통계로 대체할 수 있다.
+     *    - slice 로 설정하면 응답에 totalElements, totalPages 가 없다.
+     *
+     * 4. expand=team
+     *    - 기본은 회원만 조회 (team join 없음), expand=team 이면 fetch graph 로 team 을 함께 조회
+     *    - 응답은 MemberDto (엔티티를 그대로 내보내면 team 프록시 직렬화에서 실패하거나 N+1)
+     *
+     * 5. fields=id,username,teamName
+     *    - 고른 컬럼만 select 해서 응답 (등록자, 수정일 같은 audit 필드와 team 프록시를 직렬화하지 않음)
+     *    - 정렬도 fields 에 허용한 이름으로 (sort=username,desc)
      */
     @GetMapping("/members")
-    public Page<Member> list(Pageable pageable) {
-        Page<Member> page = memberRepository.findAll(pageable);
-        return page;
+    public Slice<?> list(Pageable pageable,
+                         @RequestParam(value = "expand", required = false) String expand,
+                         @RequestParam(value = "fields", required = false) String fields) {
+        if (fields != null) {
+            return sparse("members", pageable, fields);
+        }
+        FetchPlan fetchPlan = FetchPlan.expand(expand, EXPANDABLE);
+        return countingPager.page("members", pageable, p -> memberRepository.findAll(p, fetchPlan), memberCount())
+                .map(MemberDto::new);
     }
 
     @GetMapping("/members_page")
-    public Page<MemberDto> list2(@PageableDefault(size = 12, sort = "username", direction = Sort.Direction.DESC) Pageable pageable) {
-        Page<Member> page = memberRepository.findAll(pageable);
+    public Slice<?> list2(@PageableDefault(size = 12, sort = "username", direction = Sort.Direction.DESC) Pageable pageable,
+                          @RequestParam(value = "expand", required = false) String expand,
+                          @RequestParam(value = "fields", required = false) String fields) {
+        if (fields != null) {
+            return sparse("members_page", pageable, fields);
+        }
+        FetchPlan fetchPlan = FetchPlan.expand(expand, EXPANDABLE);
+        Slice<Member> page = countingPager.page("members_page", pageable, p -> memberRepository.findAll(p, fetchPlan), memberCount());
 
         // Dto로 변환
         // Page<MemberDto> map = page.map(m -> new MemberDto(m));
-        Page<MemberDto> map = page.map(MemberDto::new);
+        Slice<MemberDto> map = page.map(MemberDto::new);
         return map;
     }
 
+    // fields=id,username -> 고른 컬럼만 조회해서 바로 JSON 으로 (엔티티, DTO 를 거치지 않음)
+    private Slice<SparseRow> sparse(String endpoint, Pageable pageable, String fields) {
+        FieldShape shape = memberFields.shape(fields);
+        return countingPager.page(endpoint, pageable, p -> memberRepository.findAll(p, shape), memberCount());
+    }
+
+    private CountQuery memberCount() {
+        return CountQuery.table("member", memberRepository::count);
+    }
+
+    /**
+     * 키셋 페이징 무한 스크롤
+     * - /members/scroll -> 첫 화면, 응답의 next 를 /members/scroll?after={next} 로 넘기면 다음 화면
+     * - /members_page 와 같은 정렬(username desc)이지만 offset 없이 인덱스(username, member_id)로 바로 찾아간다.
+     */
+    @GetMapping("/members/scroll")
+    public ScrollResult<MemberDto> scroll(@RequestParam(value = "after", required = false) String after,
+                                         @RequestParam(value = "size", defaultValue = "20") int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("size 는 1 이상이어야 함: " + size);
+        }
+        Window<Member> window = memberRepository.scroll(SCROLL_SORT, KeysetCursor.decode(after), Math.min(size, 2000));
+        return ScrollResult.of(window, MemberDto::new);
+    }
+
+    // 잘못된 expand, after, size 파라미터
+    @ExceptionHandler(IllegalArgumentException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public String badRequest(IllegalArgumentException e) {
+        return e.getMessage();
+    }
+
     @PostConstruct
     public void init() {
         for (int i = 0; i < 100; i++) {
@@ -1,6 +1,7 @@
 package study.datajpa.dto;
 
 import lombok.Data;
+import org.hibernate.Hibernate;
 import study.datajpa.entity.Member;
 
 @Data
@@ -19,5 +20,9 @@ public class MemberDto {
     public MemberDto(Member member) {
         this.id = member.getId();
         this.username = member.getUsername();
+        // 함께 조회한 경우에만 (지연 로딩으로 쿼리를 추가로 내지 않음)
+        if (member.getTeam() != null && Hibernate.isInitialized(member.getTeam())) {
+            this.teamName = member.getTeam().getName();
+        }
     }
 }
@@ -8,6 +8,7 @@ import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.domain.Persistable;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+import study.datajpa.id.TimeOrderedId;
 
 import java.time.LocalDateTime;
 
@@ -36,6 +37,14 @@ public class Item implements Persistable<String> {
         this.itemId = id;
     }
 
+    /**
+     * 시간 순서 식별자(ULID)로 생성
+     * - 랜덤 문자열 식별자는 PK 인덱스 곳곳에 insert 되어 페이지 분할이 잦다.
+     */
+    public static Item create() {
+        return new Item(TimeOrderedId.nextString());
+    }
+
     @Override
     public String getId() {
         return itemId;
@@ -2,6 +2,7 @@ package study.datajpa.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import study.datajpa.snapshot.MemberSnapshotListener;
 
 @Entity
 @Getter @Setter
@@ -12,6 +13,10 @@ import lombok.*;
         query = "select m from Member m where m.username = :username")
 // NamedEntityGraph
 @NamedEntityGraph(name = "Member.all", attributeNodes = @NamedAttributeNode("team"))
+// 키셋 페이징 (username desc, id desc) 용 복합 인덱스, 마지막 컬럼이 PK 라 정렬 키가 유일
+@Table(indexes = @Index(name = "idx_member_username_id", columnList = "username, member_id"))
+// 수정/삭제 시 스냅샷 캐시에서 제거
+@EntityListeners(MemberSnapshotListener.class)
 public class Member extends BasicEntity {
 
     @Id @GeneratedValue
@@ -1,5 +1,6 @@
 package study.datajpa.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -19,6 +20,7 @@ public class Team extends BasicEntity{
 
     private String name;
 
+    @JsonIgnore // Member -> Team -> members -> Member ... 순환 직렬화 방지 (expand=team)
     @OneToMany(mappedBy = "team")
     private List<Member> members = new ArrayList<>();
 
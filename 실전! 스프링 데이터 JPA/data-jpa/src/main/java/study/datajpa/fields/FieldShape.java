@@ -0,0 +1,14 @@
+package study.datajpa.fields;
+
+import com.fasterxml.jackson.core.io.SerializedString;
+
+import java.util.List;
+
+/**
+ * fields= 조합 하나를 컴파일한 결과 (SparseFields 가 조합별로 한 번만 만든다)
+ * @param select   select 절부터 from, join 까지의 JPQL (정렬 제외)
+ * @param names    응답 JSON 필드 이름 (미리 인코딩)
+ * @param fields   요청 필드 (canonical 순서)
+ */
+public record FieldShape(String select, SerializedString[] names, List<String> fields) {
+}
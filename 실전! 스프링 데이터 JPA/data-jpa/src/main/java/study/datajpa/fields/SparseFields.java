@@ -0,0 +1,121 @@
+package study.datajpa.fields;
+
+import com.fasterxml.jackson.core.io.SerializedString;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * fields=id,username 처럼 요청한 필드만 select 하는 프로젝션 쿼리
+ * - 엔티티 전체(등록자, 수정일 ...)를 읽고 DTO 로 바꾸는 대신, 필요한 컬럼만 튜플로 조회한다.
+ * - 허용한 필드만 받고, 필드 조합별 JPQL 과 JSON 이름은 한 번만 만들어 캐시한다.
+ *   (필드 순서, 중복과 상관없이 같은 조합이면 같은 FieldShape)
+ * - 연관 엔티티 필드(teamName)는 요청했을 때만 join 한다.
+ */
+public class SparseFields {
+
+    /**
+     * @param path JPQL 경로 (m.username, t.name)
+     * @param join 이 필드에 필요한 join (없으면 null)
+     */
+    public record Field(String path, String join) {
+    }
+
+    private final String from;
+    private final Map<String, Field> fields;
+    private final Map<String, FieldShape> shapes = new ConcurrentHashMap<>();
+
+    /**
+     * @param from   from 절 (예: "Member m")
+     * @param fields 응답 필드 이름 -> 경로 (순서가 응답 필드 순서)
+     */
+    public SparseFields(String from, Map<String, Field> fields) {
+        this.from = from;
+        this.fields = new LinkedHashMap<>(fields);
+    }
+
+    public FieldShape shape(String requested) {
+        List<String> names = canonical(requested);
+        return shapes.computeIfAbsent(String.join(",", names), key -> compile(names));
+    }
+
+    public List<SparseRow> find(EntityManager em, FieldShape shape, Pageable pageable) {
+        TypedQuery<Object[]> query = em.createQuery(shape.select() + orderBy(pageable.getSort()), Object[].class);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset())
+                    .setMaxResults(pageable.getPageSize());
+        }
+        List<Object[]> rows = query.getResultList();
+        List<SparseRow> result = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            result.add(new SparseRow(shape, row));
+        }
+        return result;
+    }
+
+    int cachedShapes() {
+        return shapes.size();
+    }
+
+    private List<String> canonical(String requested) {
+        Set<String> names = new HashSet<>();
+        for (String name : requested.split(",")) {
+            String trimmed = name.trim();
+            if (!StringUtils.hasText(trimmed)) {
+                continue;
+            }
+            if (!fields.containsKey(trimmed)) {
+                throw new IllegalArgumentException("조회할 수 없는 필드: " + trimmed + " (허용: " + fields.keySet() + ")");
+            }
+            names.add(trimmed);
+        }
+        if (names.isEmpty()) {
+            throw new IllegalArgumentException("fields 가 비어 있음");
+        }
+        return fields.keySet().stream().filter(names::contains).toList();
+    }
+
+    private FieldShape compile(List<String> names) {
+        StringJoiner select = new StringJoiner(", ", "select ", " from " + from);
+        List<String> joins = new ArrayList<>();
+        SerializedString[] jsonNames = new SerializedString[names.size()];
+        for (int i = 0; i < names.size(); i++) {
+            Field field = fields.get(names.get(i));
+            select.add(field.path());
+            if (field.join() != null && !joins.contains(field.join())) {
+                joins.add(field.join());
+            }
+            jsonNames[i] = new SerializedString(names.get(i));
+        }
+        StringBuilder jpql = new StringBuilder(select.toString());
+        joins.forEach(join -> jpql.append(' ').append(join));
+        return new FieldShape(jpql.toString(), jsonNames, List.copyOf(names));
+    }
+
+    // 정렬도 허용한 필드 이름으로만 받는다.
+    private String orderBy(Sort sort) {
+        if (sort.isUnsorted()) {
+            return "";
+        }
+        StringJoiner orderBy = new StringJoiner(", ", " order by ", "");
+        for (Sort.Order order : sort) {
+            Field field = fields.get(order.getProperty());
+            if (field == null || field.join() != null) {
+                throw new IllegalArgumentException("정렬할 수 없는 필드: " + order.getProperty());
+            }
+            orderBy.add(field.path() + (order.isAscending() ? " asc" : " desc"));
+        }
+        return orderBy.toString();
+    }
+}
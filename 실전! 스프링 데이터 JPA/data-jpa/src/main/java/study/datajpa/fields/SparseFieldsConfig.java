@@ -0,0 +1,29 @@
+package study.datajpa.fields;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import study.datajpa.fields.SparseFields.Field;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Configuration
+public class SparseFieldsConfig {
+
+    /**
+     * 회원 API 에서 fields= 로 고를 수 있는 필드
+     */
+    @Bean
+    public SparseFields memberFields() {
+        Map<String, Field> fields = new LinkedHashMap<>();
+        fields.put("id", new Field("m.id", null));
+        fields.put("username", new Field("m.username", null));
+        fields.put("age", new Field("m.age", null));
+        fields.put("teamName", new Field("t.name", "left join m.team t"));
+        fields.put("createdDate", new Field("m.createdDate", null));
+        fields.put("lastModifiedDate", new Field("m.lastModifiedDate", null));
+        fields.put("createdBy", new Field("m.createdBy", null));
+        fields.put("lastModifiedBy", new Field("m.lastModifiedBy", null));
+        return new SparseFields("Member m", fields);
+    }
+}
@@ -0,0 +1,29 @@
+package study.datajpa.fields;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+
+import java.io.IOException;
+
+/**
+ * 조회한 컬럼 값을 중간 객체(Map, DTO) 없이 바로 JSON 객체로 쓴다.
+ */
+public record SparseRow(FieldShape shape, Object[] values) implements JsonSerializable {
+
+    @Override
+    public void serialize(JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        gen.writeStartObject();
+        for (int i = 0; i < values.length; i++) {
+            gen.writeFieldName(shape.names()[i]);
+            serializers.defaultSerializeValue(values[i], gen);
+        }
+        gen.writeEndObject();
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer) throws IOException {
+        serialize(gen, serializers);
+    }
+}
@@ -0,0 +1,117 @@
+package study.datajpa.id;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 시간 순서 128bit 식별자 (UUIDv7 배치, 문자열은 ULID 형식)
+ *
+ *  | unix ms (48) | ver=7 (4) | 스레드별 순번 (12) | variant (2) | random (62) |
+ *
+ * - 앞 48bit 가 시간이라 새 row 가 PK B-tree 의 오른쪽 끝에 쌓인다.
+ *   랜덤 UUID 는 매번 임의의 leaf 페이지에 끼어들어 페이지 분할과 단편화가 생긴다.
+ * - 같은 스레드에서는 항상 증가 (같은 ms 면 순번 +1, 순번이 넘치면 다음 ms 로 넘어감)
+ * - 락 없음: 순번 상태는 스레드별, 스레드 간 충돌은 62bit 랜덤으로 피한다.
+ *
+ * 저장 형태
+ * - 문자열 : nextString() -> 26자 ULID (Crockford base32, 문자열 정렬 = 시간 정렬)
+ * - BINARY(16) : nextUuid() 를 UUID 타입 식별자에 사용
+ *     @Id @JdbcTypeCode(SqlTypes.BINARY) @Column(length = 16) private UUID id;
+ */
+public final class TimeOrderedId implements Comparable<TimeOrderedId> {
+
+    private static final char[] CROCKFORD = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final int MAX_SEQUENCE = 0xFFF;
+
+    private static final ThreadLocal<State> state = ThreadLocal.withInitial(State::new);
+
+    private final long msb;
+    private final long lsb;
+
+    private TimeOrderedId(long msb, long lsb) {
+        this.msb = msb;
+        this.lsb = lsb;
+    }
+
+    public static TimeOrderedId next() {
+        State s = state.get();
+        long now = System.currentTimeMillis();
+        if (now > s.lastMillis) {
+            s.lastMillis = now;
+            s.sequence = 0;
+        } else if (s.sequence < MAX_SEQUENCE) {
+            // 같은 ms 이거나 시계가 뒤로 간 경우 -> 마지막 시간 유지
+            s.sequence++;
+        } else {
+            s.lastMillis++;
+            s.sequence = 0;
+        }
+        long msb = (s.lastMillis << 16) | 0x7000L | s.sequence;
+        long lsb = (ThreadLocalRandom.current().nextLong() >>> 2) | 0x8000_0000_0000_0000L;
+        return new TimeOrderedId(msb, lsb);
+    }
+
+    public static String nextString() {
+        return next().toString();
+    }
+
+    public static UUID nextUuid() {
+        return next().toUuid();
+    }
+
+    public long getTimestamp() {
+        return msb >>> 16;
+    }
+
+    public UUID toUuid() {
+        return new UUID(msb, lsb);
+    }
+
+    public byte[] toBytes() {
+        return ByteBuffer.allocate(16).putLong(msb).putLong(lsb).array();
+    }
+
+    /**
+     * 26자 ULID (첫 글자 3bit + 25 글자 * 5bit)
+     */
+    @Override
+    public String toString() {
+        char[] chars = new char[26];
+        for (int i = 0; i < 26; i++) {
+            chars[i] = CROCKFORD[fiveBits(125 - 5 * i)];
+        }
+        return new String(chars);
+    }
+
+    private int fiveBits(int shift) {
+        if (shift >= 64) {
+            return (int) (msb >>> (shift - 64)) & 31;
+        }
+        if (shift > 59) {
+            return (int) ((lsb >>> shift) | (msb << (64 - shift))) & 31;
+        }
+        return (int) (lsb >>> shift) & 31;
+    }
+
+    @Override
+    public int compareTo(TimeOrderedId o) {
+        int c = Long.compareUnsigned(msb, o.msb);
+        return c != 0 ? c : Long.compareUnsigned(lsb, o.lsb);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof TimeOrderedId other && msb == other.msb && lsb == other.lsb;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(msb) * 31 + Long.hashCode(lsb);
+    }
+
+    private static final class State {
+        long lastMillis;
+        int sequence;
+    }
+}
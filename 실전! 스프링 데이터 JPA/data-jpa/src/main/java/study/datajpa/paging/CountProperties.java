@@ -0,0 +1,33 @@
+package study.datajpa.paging;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * datajpa.count.*
+ * - endpoints : 엔드포인트 이름별 count 전략 (예: datajpa.count.endpoints.members=cached)
+ */
+@Getter @Setter
+@ConfigurationProperties(prefix = "datajpa.count")
+public class CountProperties {
+
+    private CountStrategy defaultStrategy = CountStrategy.EXACT;
+    private Map<String, CountStrategy> endpoints = new HashMap<>();
+
+    // CACHED 의 count 재사용 시간 (등록/삭제가 count 에 보이기까지 걸리는 최대 시간)
+    private Duration cacheTtl = Duration.ofSeconds(30);
+    // 캐시에 담을 최대 (쿼리 + 파라미터) 조합 수
+    private int cacheMaxEntries = 1_000;
+
+    // ESTIMATED 에서 통계 row 수가 이보다 적으면 정확한 count 를 사용
+    private long estimateThreshold = 100_000;
+
+    public CountStrategy strategyFor(String endpoint) {
+        return endpoints.getOrDefault(endpoint, defaultStrategy);
+    }
+}
@@ -0,0 +1,23 @@
+package study.datajpa.paging;
+
+import java.util.Arrays;
+import java.util.function.LongSupplier;
+
+/**
+ * count 를 구하는 방법
+ * @param key   캐시 키 (쿼리 이름 + 파라미터)
+ * @param table 전체 테이블 count 일 때만 테이블 이름, 조건이 있으면 null
+ * @param exact 실제 count 쿼리
+ */
+public record CountQuery(String key, String table, LongSupplier exact) {
+
+    // select count(*) from table
+    public static CountQuery table(String table, LongSupplier exact) {
+        return new CountQuery(table, table, exact);
+    }
+
+    // select count(*) from ... where ...
+    public static CountQuery filtered(String query, LongSupplier exact, Object... params) {
+        return new CountQuery(query + Arrays.toString(params), null, exact);
+    }
+}
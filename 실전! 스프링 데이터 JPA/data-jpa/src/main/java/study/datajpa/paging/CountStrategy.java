@@ -0,0 +1,13 @@
+package study.datajpa.paging;
+
+/**
+ * 페이징 count 전략
+ * - EXACT : 매번 count 쿼리 (기본값, 스프링 데이터 Page 와 동일)
+ * - CACHED : 쿼리 + 파라미터 단위로 count 결과를 TTL 동안 재사용
+ * - ESTIMATED : 전체 테이블 count 는 DB 통계(information_schema.TABLES.TABLE_ROWS)로 대체
+ *               조건이 붙은 count 는 추정할 수 없으므로 CACHED 로 처리
+ * - SLICE : count 없이 limit + 1 로 다음 페이지 여부만 확인 (응답이 Slice)
+ */
+public enum CountStrategy {
+    EXACT, CACHED, ESTIMATED, SLICE
+}
@@ -0,0 +1,139 @@
+package study.datajpa.paging;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * 엔드포인트별 count 전략(CountStrategy)으로 페이지를 만든다.
+ * - content 조회는 호출하는 쪽이 count 쿼리 없는 메서드(List 반환)로 넘긴다.
+ * - 첫 페이지가 size 보다 적게 조회되면 어떤 전략이든 count 를 생략한다. (PageableExecutionUtils)
+ * - CACHED, ESTIMATED 의 count 는 쓰기 때 비우지 않는다. 등록/삭제는 cache-ttl 이 지나야 반영된다. (건수 표시용 근사치)
+ *   벌크 수정(bulkAgePlus, 청크 수정)은 건수를 바꾸지 않고, 정확해야 하는 엔드포인트는 EXACT 로 둔다.
+ * - count 에 걸린 시간: datajpa.count{endpoint, source}
+ *   CACHED 적중률: datajpa.count.cache{endpoint, result}
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class CountingPager {
+
+    private static final String ESTIMATE_SQL =
+            "select table_rows from information_schema.tables where table_schema = database() and table_name = ?";
+
+    private final CountProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, CachedCount> cache = new ConcurrentHashMap<>();
+    private final Set<String> estimateUnsupported = ConcurrentHashMap.newKeySet();
+
+    public <T> Slice<T> page(String endpoint, Pageable pageable, Function<Pageable, List<T>> content, CountQuery countQuery) {
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(content.apply(pageable));
+        }
+
+        CountStrategy strategy = properties.strategyFor(endpoint);
+        if (strategy == CountStrategy.SLICE) {
+            List<T> rows = content.apply(OffsetLimitRequest.oneMore(pageable));
+            boolean hasNext = rows.size() > pageable.getPageSize();
+            return new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+        }
+
+        List<T> rows = content.apply(pageable);
+        return PageableExecutionUtils.getPage(rows, pageable, () -> count(endpoint, strategy, countQuery));
+    }
+
+    private long count(String endpoint, CountStrategy strategy, CountQuery countQuery) {
+        return switch (strategy) {
+            case EXACT -> timed(endpoint, "exact", countQuery);
+            case CACHED -> cached(endpoint, countQuery.key(), () -> timed(endpoint, "exact", countQuery));
+            case ESTIMATED -> countQuery.table() == null
+                    ? cached(endpoint, countQuery.key(), () -> timed(endpoint, "exact", countQuery))
+                    : cached(endpoint, "~" + countQuery.table(), () -> estimate(endpoint, countQuery));
+            case SLICE -> throw new IllegalStateException("SLICE 는 count 를 하지 않는다");
+        };
+    }
+
+    private long timed(String endpoint, String source, CountQuery countQuery) {
+        Timer timer = Timer.builder("datajpa.count")
+                .tag("endpoint", endpoint)
+                .tag("source", source)
+                .register(meterRegistry);
+        return timer.record(countQuery.exact());
+    }
+
+    /**
+     * TTL 이 지난 값은 다시 센다. 동시에 만료를 본 요청은 각자 count 를 한 번씩 더 실행할 수 있다.
+     */
+    private long cached(String endpoint, String key, LongSupplier loader) {
+        long now = System.nanoTime();
+        CachedCount cached = cache.get(key);
+        if (cached != null && now - cached.expiresAt() < 0) {
+            cacheCounter(endpoint, "hit").increment();
+            return cached.value();
+        }
+        cacheCounter(endpoint, "miss").increment();
+
+        long value = loader.getAsLong();
+        if (cached != null || cache.size() < properties.getCacheMaxEntries() || purgeExpired(now)) {
+            cache.put(key, new CachedCount(value, now + properties.getCacheTtl().toNanos()));
+        }
+        return value;
+    }
+
+    private boolean purgeExpired(long now) {
+        cache.values().removeIf(c -> now - c.expiresAt() >= 0);
+        return cache.size() < properties.getCacheMaxEntries();
+    }
+
+    /**
+     * InnoDB 통계의 추정 row 수
+     * - 작은 테이블은 통계 오차가 크고 정확한 count 도 싸므로 estimate-threshold 미만이면 정확히 센다.
+     * - information_schema 를 지원하지 않는 DB 면 이후로는 정확히 센다.
+     */
+    private long estimate(String endpoint, CountQuery countQuery) {
+        String table = countQuery.table();
+        if (!estimateUnsupported.contains(table)) {
+            try {
+                Timer timer = Timer.builder("datajpa.count")
+                        .tag("endpoint", endpoint)
+                        .tag("source", "estimated")
+                        .register(meterRegistry);
+                Long estimated = timer.record(() -> jdbcTemplate.queryForObject(ESTIMATE_SQL, Long.class, table));
+                if (estimated != null && estimated >= properties.getEstimateThreshold()) {
+                    return estimated;
+                }
+            } catch (DataAccessException e) {
+                log.warn("count 추정 불가, 정확한 count 로 대체 table={} : {}", table, e.getMessage());
+                estimateUnsupported.add(table);
+            }
+        }
+        return timed(endpoint, "exact", countQuery);
+    }
+
+    private Counter cacheCounter(String endpoint, String result) {
+        return Counter.builder("datajpa.count.cache")
+                .tag("endpoint", endpoint)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record CachedCount(long value, long expiresAt) {
+    }
+}
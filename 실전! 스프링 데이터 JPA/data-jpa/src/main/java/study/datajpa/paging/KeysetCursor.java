@@ -0,0 +1,46 @@
+package study.datajpa.paging;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+
+/**
+ * 키셋 ScrollPosition <-> 요청 파라미터(after=)
+ * - 정렬 키 값을 JSON 으로 만들어 base64url 로 감싼다. 클라이언트는 내용을 해석하지 않고 그대로 돌려준다.
+ */
+public abstract class KeysetCursor {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    public static String encode(ScrollPosition position) {
+        if (!(position instanceof KeysetScrollPosition keyset)) {
+            throw new IllegalArgumentException("키셋 위치가 아님: " + position);
+        }
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(keyset.getKeys());
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("커서를 만들 수 없는 정렬 키: " + keyset.getKeys(), e);
+        }
+    }
+
+    public static KeysetScrollPosition decode(String cursor) {
+        if (!StringUtils.hasText(cursor)) {
+            return ScrollPosition.keyset();
+        }
+        try {
+            String json = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            Map<String, Object> keys = objectMapper.readValue(json, new TypeReference<>() {});
+            return ScrollPosition.forward(keys);
+        } catch (IllegalArgumentException | JsonProcessingException e) {
+            throw new IllegalArgumentException("잘못된 커서: " + cursor, e);
+        }
+    }
+}
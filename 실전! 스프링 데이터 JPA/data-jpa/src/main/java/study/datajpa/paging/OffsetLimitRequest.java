@@ -0,0 +1,60 @@
+package study.datajpa.paging;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+/**
+ * 페이지 경계와 상관없는 offset / limit 을 리파지토리에 넘기기 위한 Pageable
+ * - SLICE 에서 원래 페이지의 offset 그대로 limit + 1 건을 조회할 때 사용
+ */
+record OffsetLimitRequest(long offset, int limit, Sort sort) implements Pageable {
+
+    static OffsetLimitRequest oneMore(Pageable pageable) {
+        return new OffsetLimitRequest(pageable.getOffset(), pageable.getPageSize() + 1, pageable.getSort());
+    }
+
+    @Override
+    public int getPageNumber() {
+        return (int) (offset / limit);
+    }
+
+    @Override
+    public int getPageSize() {
+        return limit;
+    }
+
+    @Override
+    public long getOffset() {
+        return offset;
+    }
+
+    @Override
+    public Sort getSort() {
+        return sort;
+    }
+
+    @Override
+    public Pageable next() {
+        return new OffsetLimitRequest(offset + limit, limit, sort);
+    }
+
+    @Override
+    public Pageable previousOrFirst() {
+        return hasPrevious() ? new OffsetLimitRequest(Math.max(offset - limit, 0), limit, sort) : first();
+    }
+
+    @Override
+    public Pageable first() {
+        return new OffsetLimitRequest(0, limit, sort);
+    }
+
+    @Override
+    public Pageable withPage(int pageNumber) {
+        return new OffsetLimitRequest((long) pageNumber * limit, limit, sort);
+    }
+
+    @Override
+    public boolean hasPrevious() {
+        return offset > 0;
+    }
+}
@@ -0,0 +1,17 @@
+package study.datajpa.paging;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@Configuration
+@EnableConfigurationProperties(CountProperties.class)
+public class PagingConfig {
+
+    @Bean
+    public CountingPager countingPager(CountProperties properties, JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        return new CountingPager(properties, jdbcTemplate, meterRegistry);
+    }
+}
@@ -0,0 +1,19 @@
+package study.datajpa.paging;
+
+import org.springframework.data.domain.Window;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 무한 스크롤 응답
+ * @param next 다음 요청의 after 값, 마지막이면 null
+ */
+public record ScrollResult<T>(List<T> content, String next) {
+
+    public static <E, T> ScrollResult<T> of(Window<E> window, Function<? super E, T> mapper) {
+        String next = window.hasNext() && !window.isEmpty() ? KeysetCursor.encode(window.positionAt(window.size() - 1)) : null;
+        Window<T> mapped = window.map(mapper);
+        return new ScrollResult<>(mapped.getContent(), next);
+    }
+}
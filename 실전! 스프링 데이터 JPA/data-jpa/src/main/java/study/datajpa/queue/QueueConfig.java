@@ -0,0 +1,28 @@
+package study.datajpa.queue;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(QueueProperties.class)
+public class QueueConfig {
+
+    @Bean
+    public WorkQueue workQueue(WorkItemRepository workItemRepository, PlatformTransactionManager transactionManager,
+                               QueueProperties properties, EntityManagerFactory emf) {
+        if (!emf.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect().supportsSkipLocked()) {
+            log.warn("SKIP LOCKED 를 지원하지 않는 DB, 작업 큐 worker 들이 FOR UPDATE 로 서로 기다린다.");
+        }
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        return new WorkQueue(workItemRepository, transactionTemplate, properties);
+    }
+}
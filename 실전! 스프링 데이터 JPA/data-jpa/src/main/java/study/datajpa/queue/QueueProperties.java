@@ -0,0 +1,16 @@
+package study.datajpa.queue;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * datajpa.queue.*
+ */
+@Getter @Setter
+@ConfigurationProperties(prefix = "datajpa.queue")
+public class QueueProperties {
+
+    // 한 트랜잭션에서 잠가서 처리할 작업 수 (클수록 커밋 수는 줄지만 잠금을 오래 잡고, 실패 시 다시 할 작업이 많다)
+    private int claimSize = 100;
+}
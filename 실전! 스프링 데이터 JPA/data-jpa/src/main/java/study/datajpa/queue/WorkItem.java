@@ -0,0 +1,39 @@
+package study.datajpa.queue;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * 작업 큐로 쓰는 테이블의 row
+ * - 가져갈 작업은 (status, work_item_id) 인덱스로 id 순서대로 찾는다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString(of = {"id", "payload", "status", "worker"})
+@Table(indexes = @Index(name = "idx_work_item_status_id", columnList = "status, work_item_id"))
+public class WorkItem {
+
+    @Id @GeneratedValue
+    @Column(name = "work_item_id")
+    private Long id;
+
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 10)
+    private WorkStatus status;
+
+    private String worker;
+    private LocalDateTime processedAt;
+
+    public WorkItem(String payload) {
+        this.payload = payload;
+        this.status = WorkStatus.READY;
+    }
+}
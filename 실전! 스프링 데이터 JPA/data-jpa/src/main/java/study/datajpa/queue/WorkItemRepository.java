@@ -0,0 +1,28 @@
+package study.datajpa.queue;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import study.datajpa.repository.support.SkipLocked;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface WorkItemRepository extends JpaRepository<WorkItem, Long> {
+
+    // 다른 worker 가 잠근 작업은 건너뛰고 pageable.size 건을 잠가서 가져온다. (count 쿼리 없음)
+    @SkipLocked
+    @Query("select w from WorkItem w where w.status = :status order by w.id")
+    List<WorkItem> claim(@Param("status") WorkStatus status, Pageable pageable);
+
+    // 가져간 작업을 한 문장으로 처리 완료 (row 마다 update 하지 않음)
+    @Modifying
+    @Query("update WorkItem w set w.status = :status, w.worker = :worker, w.processedAt = :processedAt where w.id in :ids")
+    int markProcessed(@Param("ids") Collection<Long> ids, @Param("status") WorkStatus status,
+                      @Param("worker") String worker, @Param("processedAt") LocalDateTime processedAt);
+
+    long countByStatus(WorkStatus status);
+}
@@ -0,0 +1,67 @@
+package study.datajpa.queue;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * work_item 테이블을 작업 큐로 사용
+ * - worker 마다 claim(SKIP LOCKED) -> 처리 -> DONE 을 한 트랜잭션으로 실행
+ * - 트랜잭션은 READ COMMITTED (QueueConfig)
+ *   REPEATABLE READ 면 SKIP LOCKED 라도 (status, id) 인덱스에 gap lock 을 잡아서 worker 끼리 데드락이 난다.
+ * - handler 가 예외를 던지면 그 묶음 전체가 롤백되어 READY 로 남고, 다른 worker 가 다시 가져간다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class WorkQueue {
+
+    private final WorkItemRepository workItemRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final QueueProperties properties;
+
+    /**
+     * @return 가져간 작업 수, 0 이면 남은 작업이 없거나 모두 다른 worker 가 잡고 있다.
+     */
+    public int processNext(String worker, Consumer<WorkItem> handler) {
+        Integer claimed = transactionTemplate.execute(status -> {
+            List<WorkItem> items = workItemRepository.claim(WorkStatus.READY, PageRequest.ofSize(properties.getClaimSize()));
+            List<Long> processed = new ArrayList<>(items.size());
+            for (WorkItem item : items) {
+                // SKIP LOCKED 를 지원하지 않는 DB 는 잠금을 기다린 뒤 이미 처리된 row 를 돌려줄 수 있다.
+                if (item.getStatus() != WorkStatus.READY) {
+                    continue;
+                }
+                handler.accept(item);
+                processed.add(item.getId());
+            }
+            if (!processed.isEmpty()) {
+                workItemRepository.markProcessed(processed, WorkStatus.DONE, worker, LocalDateTime.now());
+            }
+            return items.size();
+        });
+        return claimed == null ? 0 : claimed;
+    }
+
+    /**
+     * 가져갈 작업이 없을 때까지 처리
+     * - 잠금 충돌(데드락, 대기 시간 초과)로 롤백된 묶음은 다시 가져간다.
+     */
+    public void drain(String worker, Consumer<WorkItem> handler) {
+        while (true) {
+            try {
+                if (processNext(worker, handler) == 0) {
+                    return;
+                }
+            } catch (PessimisticLockingFailureException e) {
+                log.debug("작업 큐 잠금 충돌, 다시 가져감 worker={} : {}", worker, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,5 @@
+package study.datajpa.queue;
+
+public enum WorkStatus {
+    READY, DONE
+}
@@ -2,10 +2,15 @@ package study.datajpa.repository;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
+import study.datajpa.bulk.ChunkedUpdate;
+import study.datajpa.bulk.ChunkedUpdateExecutor;
+import study.datajpa.bulk.ChunkedUpdateResult;
 import study.datajpa.entity.Member;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Repository
@@ -13,6 +18,9 @@ public class MemberJpaRepository {
     @PersistenceContext
     private EntityManager em;
 
+    @Autowired
+    private ChunkedUpdateExecutor chunkedUpdateExecutor;
+
     public Member save(Member member) {
         em.persist(member);
         return member;
@@ -71,4 +79,16 @@ public class MemberJpaRepository {
                 .setParameter("age", age)
                 .executeUpdate(); // 결과 갯수 반환
     }
+
+    /**
+     * 순수 JPA 벌크성 수정 쿼리 - 청크 단위
+     * - 대상이 많으면 bulkAgePlus 한 문장 대신 PK 구간별로 나눠 커밋한다. (트랜잭션 밖에서 호출)
+     * - 중단되면 같은 jobName 으로 다시 호출해서 이어서 실행
+     */
+    public ChunkedUpdateResult bulkAgePlusChunked(String jobName, int age) {
+        return chunkedUpdateExecutor.execute(new ChunkedUpdate(jobName, Member.class,
+                "update Member m set m.age = m.age + 1" +
+                        " where m.age >= :age and m.id > :from and m.id <= :to",
+                Map.of("age", age)));
+    }
 }
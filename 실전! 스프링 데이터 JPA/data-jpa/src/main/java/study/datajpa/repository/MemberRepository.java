@@ -10,7 +10,11 @@ import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 import study.datajpa.dto.MemberDto;
 import study.datajpa.entity.Member;
+import study.datajpa.repository.support.KeysetRepository;
+import study.datajpa.repository.support.LockHints;
+import study.datajpa.snapshot.MemberSnapshot;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -30,7 +34,7 @@ import java.util.Optional;
  * getOne(ID) : 엔티티를 프록시로 조회한다. 내부에서 EntityManager.getReference() 호출
  * findAll(…) : 모든 엔티티를 조회한다. 정렬( Sort )이나 페이징( Pageable ) 조건을 파라미터로 제공할수 있다.
  */
-public interface MemberRepository extends JpaRepository<Member, Long>, MemberRepositoryCustom {
+public interface MemberRepository extends KeysetRepository<Member, Long>, MemberRepositoryCustom {
 
     /**
      * 1.메소드 이름으로 쿼리 생성
@@ -68,6 +72,10 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberRep
     @Query("select new study.datajpa.dto.MemberDto(m.id, m.username, t.name) from Member m join m.team t")
     List<MemberDto> findMemberDto();
 
+    // 읽기 전용 스냅샷 (MemberSnapshotCache 의 batch 조회), team 은 join 없이 FK 만
+    @Query("select new study.datajpa.snapshot.MemberSnapshot(m.id, m.username, m.age, m.team.id) from Member m where m.id in :ids")
+    List<MemberSnapshot> findSnapshots(@Param("ids") Collection<Long> ids);
+
     /**
      * 파라미터 바인딩
      * 1. 위치 기반
@@ -103,6 +111,9 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberRep
      *      - org.springframework.data.domain.Slice : 추가 count 쿼리 없이 다음 페이지만 확인 가능
      *                                                (내부적으로 limit + 1조회)
      *      - List (자바 컬렉션): 추가 count 쿼리 없이 결과만 반환
+     *
+     * - offset 페이징은 offset 만큼 읽고 버리므로 깊은 페이지일수록 느려진다.
+     *   무한 스크롤처럼 다음 페이지만 필요하면 키셋 페이징 scroll(Sort, KeysetScrollPosition, int) 사용
      */
     Page<Member> findByAge(int age, Pageable pageable); //count 쿼리 사용
 
@@ -117,6 +128,8 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberRep
 
     /**
      * 스프링 데이터 JPA 벌크성 수정 쿼리
+     * - 한 문장이라 대상 row 가 많으면 락과 undo 로그를 오래 잡는다.
+     *   대량이면 MemberJpaRepository.bulkAgePlusChunked (PK 구간별 커밋, 이어서 실행) 사용
      */
     @Modifying(clearAutomatically = true) // executeUpdate 실행함, clearAutomatically = 영속성컨텍스트 초기화
     @Query("update Member m set m.age = m.age + 1 where m.age >= :age")
@@ -133,6 +146,7 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberRep
     @Query("select m from Member m left join fetch m.team")
     List<Member> findMemberFetchJoin();
 
+    // 모든 호출이 team join 비용을 냄 -> 호출 시점에 고르려면 findAll(Pageable, FetchPlan) (MemberRepositoryCustom)
     @Override
     @EntityGraph(attributePaths = {"team"})
     List<Member> findAll();
@@ -167,7 +181,11 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberRep
 
     /**
      * Lock
+     * - 대기 시간 힌트가 없으면 다른 트랜잭션의 잠금을 DB 기본값(innodb_lock_wait_timeout)만큼 기다린다.
+     *   호출마다 다른 대기 시간은 findLockByUsername(String, Duration) (MemberRepositoryCustom)
+     * - 작업 큐처럼 잠긴 row 를 건너뛰려면 @SkipLocked (queue.WorkItemRepository)
      */
     @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = LockHints.TIMEOUT, value = "3000"))
     List<Member> findLockByUsername(String name);
 }
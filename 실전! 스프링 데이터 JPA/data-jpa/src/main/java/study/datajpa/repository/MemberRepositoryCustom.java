@@ -1,10 +1,24 @@
 package study.datajpa.repository;
 
+import org.springframework.data.domain.Pageable;
 import study.datajpa.entity.Member;
+import study.datajpa.fields.FieldShape;
+import study.datajpa.fields.SparseRow;
+import study.datajpa.repository.support.FetchPlan;
 
+import java.time.Duration;
 import java.util.List;
 
 public interface MemberRepositoryCustom {
 
     List<Member> findMemberCustom();
+
+    // 페치 전략을 호출하는 쪽에서 선택 (count 쿼리 없음)
+    List<Member> findAll(Pageable pageable, FetchPlan fetchPlan);
+
+    // fields= 로 고른 컬럼만 조회 (count 쿼리 없음)
+    List<SparseRow> findAll(Pageable pageable, FieldShape shape);
+
+    // 비관적 락 대기 시간을 호출 시점에 지정 (Duration.ZERO 면 NOWAIT)
+    List<Member> findLockByUsername(String name, Duration timeout);
 }
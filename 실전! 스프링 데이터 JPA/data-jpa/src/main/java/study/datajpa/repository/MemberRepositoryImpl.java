@@ -1,19 +1,54 @@
 package study.datajpa.repository;
 
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.TypedQuery;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
 import study.datajpa.entity.Member;
+import study.datajpa.fields.FieldShape;
+import study.datajpa.fields.SparseFields;
+import study.datajpa.fields.SparseRow;
+import study.datajpa.repository.support.FetchPlan;
+import study.datajpa.repository.support.LockHints;
 
+import java.time.Duration;
 import java.util.List;
 
 @RequiredArgsConstructor
 public class MemberRepositoryImpl implements MemberRepositoryCustom{
 
     private final EntityManager em;
+    private final SparseFields memberFields;
 
     @Override
     public List<Member> findMemberCustom() {
         return em.createQuery("select m from Member m")
                 .getResultList();
     }
+
+    @Override
+    public List<Member> findAll(Pageable pageable, FetchPlan fetchPlan) {
+        String jpql = QueryUtils.applySorting("select m from Member m", pageable.getSort(), "m");
+        TypedQuery<Member> query = fetchPlan.applyTo(em.createQuery(jpql, Member.class), em, Member.class);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset())
+                    .setMaxResults(pageable.getPageSize());
+        }
+        return query.getResultList();
+    }
+
+    @Override
+    public List<SparseRow> findAll(Pageable pageable, FieldShape shape) {
+        return memberFields.find(em, shape, pageable);
+    }
+
+    @Override
+    public List<Member> findLockByUsername(String name, Duration timeout) {
+        TypedQuery<Member> query = em.createQuery("select m from Member m where m.username = :username", Member.class)
+                .setParameter("username", name)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE);
+        return LockHints.timeout(query, timeout).getResultList();
+    }
 }
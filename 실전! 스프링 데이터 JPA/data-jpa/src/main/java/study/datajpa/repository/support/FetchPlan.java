@@ -0,0 +1,118 @@
+package study.datajpa.repository.support;
+
+import jakarta.persistence.EntityGraph;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import jakarta.persistence.Subgraph;
+import org.springframework.util.StringUtils;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 호출 시점에 고르는 엔티티 그래프
+ * - @EntityGraph 를 메서드에 붙이면 그 메서드를 쓰는 모든 호출이 join 비용을 낸다.
+ * - FetchPlan 은 쿼리마다 이름 있는 그래프(@NamedEntityGraph) 나 속성 경로로 만든 그래프를 힌트로 건다.
+ *   FETCH : 그래프에 없는 연관관계는 LAZY, LOAD : 그래프에 없는 연관관계는 매핑 설정대로
+ */
+public final class FetchPlan {
+
+    public enum Type {
+        FETCH("jakarta.persistence.fetchgraph"),
+        LOAD("jakarta.persistence.loadgraph");
+
+        private final String hint;
+
+        Type(String hint) {
+            this.hint = hint;
+        }
+    }
+
+    private static final FetchPlan NONE = new FetchPlan(null, List.of(), Type.FETCH);
+
+    private final String graphName;
+    private final List<String> attributePaths;
+    private final Type type;
+
+    private FetchPlan(String graphName, List<String> attributePaths, Type type) {
+        this.graphName = graphName;
+        this.attributePaths = attributePaths;
+        this.type = type;
+    }
+
+    public static FetchPlan none() {
+        return NONE;
+    }
+
+    // @NamedEntityGraph 이름
+    public static FetchPlan named(String graphName) {
+        return new FetchPlan(graphName, List.of(), Type.FETCH);
+    }
+
+    // 속성 경로 (team, team.members ...)
+    public static FetchPlan attributes(String... attributePaths) {
+        return attributePaths.length == 0 ? NONE : new FetchPlan(null, List.of(attributePaths), Type.FETCH);
+    }
+
+    /**
+     * 요청 파라미터 expand=team,... -> 그래프
+     * - 허용한 경로만 받는다. (임의의 연관관계를 join 하지 못하도록)
+     */
+    public static FetchPlan expand(String expand, Set<String> allowed) {
+        if (!StringUtils.hasText(expand)) {
+            return NONE;
+        }
+        String[] paths = Arrays.stream(expand.split(","))
+                .map(String::trim)
+                .filter(StringUtils::hasText)
+                .distinct()
+                .toArray(String[]::new);
+        for (String path : paths) {
+            if (!allowed.contains(path)) {
+                throw new IllegalArgumentException("expand 할 수 없는 속성: " + path + " (허용: " + allowed + ")");
+            }
+        }
+        return attributes(paths);
+    }
+
+    public FetchPlan asLoadGraph() {
+        return this == NONE ? NONE : new FetchPlan(graphName, attributePaths, Type.LOAD);
+    }
+
+    public boolean isEmpty() {
+        return graphName == null && attributePaths.isEmpty();
+    }
+
+    public <Q extends Query> Q applyTo(Q query, EntityManager em, Class<?> domainClass) {
+        if (!isEmpty()) {
+            query.setHint(type.hint, graph(em, domainClass));
+        }
+        return query;
+    }
+
+    private EntityGraph<?> graph(EntityManager em, Class<?> domainClass) {
+        if (graphName != null) {
+            return em.getEntityGraph(graphName);
+        }
+        EntityGraph<?> graph = em.createEntityGraph(domainClass);
+        for (String path : attributePaths) {
+            String[] names = path.split("\\.");
+            if (names.length == 1) {
+                graph.addAttributeNodes(names[0]);
+                continue;
+            }
+            Subgraph<?> subgraph = graph.addSubgraph(names[0]);
+            for (int i = 1; i < names.length - 1; i++) {
+                subgraph = subgraph.addSubgraph(names[i]);
+            }
+            subgraph.addAttributeNodes(names[names.length - 1]);
+        }
+        return graph;
+    }
+
+    @Override
+    public String toString() {
+        return isEmpty() ? "none" : type + (graphName != null ? "(" + graphName + ")" : attributePaths.toString());
+    }
+}
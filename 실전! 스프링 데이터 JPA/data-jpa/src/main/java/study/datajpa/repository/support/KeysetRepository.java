@@ -0,0 +1,27 @@
+package study.datajpa.repository.support;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.repository.NoRepositoryBean;
+
+/**
+ * 키셋(커서) 페이징
+ * - offset 페이징은 앞의 row 를 모두 읽고 버리므로 뒤 페이지로 갈수록 느려진다.
+ * - 키셋 페이징은 마지막으로 본 row 의 정렬 키 다음부터 limit 건만 읽는다.
+ *   정렬 컬럼 순서대로 복합 인덱스가 있으면 깊이와 상관없이 일정한 비용
+ *
+ * 구현체는 KeysetSimpleJpaRepository (@EnableJpaRepositories(repositoryBaseClass))
+ */
+@NoRepositoryBean
+public interface KeysetRepository<T, ID> extends JpaRepository<T, ID> {
+
+    /**
+     * @param sort     정렬 (유일하지 않으면 식별자가 마지막 정렬 키로 추가된다), 정렬 키는 NOT NULL 이어야 한다.
+     * @param position 마지막으로 본 row 의 정렬 키 (ScrollPosition.keyset() 이면 처음부터)
+     * @param limit    조회할 건수 (1 이상)
+     * @return 각 row 의 ScrollPosition 을 가진 Window, 다음 조회는 window.positionAt(window.size() - 1)
+     */
+    Window<T> scroll(Sort sort, KeysetScrollPosition position, int limit);
+}
@@ -0,0 +1,139 @@
+package study.datajpa.repository.support;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.metamodel.EntityType;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.support.JpaEntityInformation;
+import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
+import org.springframework.data.util.DirectFieldAccessFallbackBeanWrapper;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * 모든 리파지토리의 기반 클래스 (SimpleJpaRepository + 키셋 페이징)
+ *
+ * 정렬 (username desc, id desc), 마지막 키 (u, i) 일 때 JPQL
+ *   where m.username <= :k0 and (m.username < :k0 or (m.username = :k0 and m.id < :k1))
+ *   order by m.username desc, m.id desc
+ *   - 앞의 username <= :k0 는 없어도 결과가 같지만, OR 로 풀린 조건만 있으면
+ *     옵티마이저가 (username, member_id) 인덱스 range scan 을 못 쓰는 경우가 있다.
+ *   - Criteria 대신 JPQL 문자열을 만드는 이유: 하이버네이트는 JPQL 의 쿼리 플랜만 캐시한다.
+ *
+ * 정렬 키는 NOT NULL 컬럼이어야 한다.
+ *   - 비교 조건(<, =, <=)은 null 에 대해 항상 거짓이라 null 인 row 는 다음 Window 에서 빠지고,
+ *     null 의 정렬 위치(nulls first/last)도 DB 마다 다르다.
+ *   - 커서를 만들 row 의 정렬 키가 null 이면 IllegalStateException
+ */
+public class KeysetSimpleJpaRepository<T, ID> extends SimpleJpaRepository<T, ID> implements KeysetRepository<T, ID> {
+
+    private final JpaEntityInformation<T, ?> entityInformation;
+    private final EntityManager em;
+    private final ConversionService conversionService = DefaultConversionService.getSharedInstance();
+
+    public KeysetSimpleJpaRepository(JpaEntityInformation<T, ?> entityInformation, EntityManager em) {
+        super(entityInformation, em);
+        this.entityInformation = entityInformation;
+        this.em = em;
+    }
+
+    @Override
+    public Window<T> scroll(Sort sort, KeysetScrollPosition position, int limit) {
+        if (position.scrollsBackward()) {
+            throw new IllegalArgumentException("역방향 키셋 페이징은 지원하지 않음");
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit 은 1 이상이어야 함: " + limit);
+        }
+        List<Sort.Order> orders = keysetOrders(sort);
+
+        TypedQuery<T> query = em.createQuery(jpql(orders, position.isInitial()), getDomainClass());
+        if (!position.isInitial()) {
+            bindKeys(query, orders, position.getKeys());
+        }
+        List<T> rows = query
+                .setMaxResults(limit + 1) // 다음 Window 존재 여부
+                .getResultList();
+        boolean hasNext = rows.size() > limit;
+        List<T> content = hasNext ? rows.subList(0, limit) : rows;
+        return Window.from(content, i -> positionOf(content.get(i), orders), hasNext);
+    }
+
+    /**
+     * 정렬 키가 유일해야 같은 값의 row 를 건너뛰거나 중복 조회하지 않는다.
+     * 정렬 속성은 JPQL 에 그대로 들어가므로 엔티티 속성인지 확인한다.
+     */
+    private List<Sort.Order> keysetOrders(Sort sort) {
+        EntityType<T> entityType = em.getMetamodel().entity(getDomainClass());
+        String idAttribute = entityInformation.getIdAttribute().getName();
+        List<Sort.Order> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            entityType.getAttribute(order.getProperty());
+            orders.add(order);
+        }
+        if (orders.stream().noneMatch(o -> o.getProperty().equals(idAttribute))) {
+            Sort.Direction direction = orders.isEmpty() ? Sort.Direction.ASC : orders.get(orders.size() - 1).getDirection();
+            orders.add(new Sort.Order(direction, idAttribute));
+        }
+        return orders;
+    }
+
+    private String jpql(List<Sort.Order> orders, boolean initial) {
+        StringBuilder jpql = new StringBuilder("select e from ").append(entityInformation.getEntityName()).append(" e");
+        if (!initial) {
+            Sort.Order first = orders.get(0);
+            jpql.append(" where e.").append(first.getProperty()).append(first.isAscending() ? " >= " : " <= ").append(":k0 and (");
+            StringJoiner or = new StringJoiner(" or ");
+            for (int i = 0; i < orders.size(); i++) {
+                StringJoiner and = new StringJoiner(" and ", "(", ")");
+                for (int j = 0; j < i; j++) {
+                    and.add("e." + orders.get(j).getProperty() + " = :k" + j);
+                }
+                Sort.Order order = orders.get(i);
+                and.add("e." + order.getProperty() + (order.isAscending() ? " > " : " < ") + ":k" + i);
+                or.add(and.toString());
+            }
+            jpql.append(or).append(")");
+        }
+        StringJoiner orderBy = new StringJoiner(", ", " order by ", "");
+        for (Sort.Order order : orders) {
+            orderBy.add("e." + order.getProperty() + (order.isAscending() ? " asc" : " desc"));
+        }
+        return jpql.append(orderBy).toString();
+    }
+
+    // 커서를 거치면 Long 이 Integer 로 오는 등 타입이 바뀌므로 속성 타입으로 맞춘다.
+    private void bindKeys(TypedQuery<T> query, List<Sort.Order> orders, Map<String, Object> keys) {
+        EntityType<T> entityType = em.getMetamodel().entity(getDomainClass());
+        for (int i = 0; i < orders.size(); i++) {
+            String property = orders.get(i).getProperty();
+            Object value = keys.get(property);
+            if (value == null) {
+                throw new IllegalArgumentException("키셋에 정렬 키가 없거나 null 임: " + property);
+            }
+            query.setParameter("k" + i, conversionService.convert(value, entityType.getAttribute(property).getJavaType()));
+        }
+    }
+
+    private ScrollPosition positionOf(T entity, List<Sort.Order> orders) {
+        DirectFieldAccessFallbackBeanWrapper wrapper = new DirectFieldAccessFallbackBeanWrapper(entity);
+        Map<String, Object> keys = new LinkedHashMap<>();
+        for (Sort.Order order : orders) {
+            Object value = wrapper.getPropertyValue(order.getProperty());
+            if (value == null) {
+                throw new IllegalStateException("정렬 키가 null 이라 키셋 위치를 만들 수 없음: " + order.getProperty());
+            }
+            keys.put(order.getProperty(), value);
+        }
+        return ScrollPosition.forward(keys);
+    }
+}
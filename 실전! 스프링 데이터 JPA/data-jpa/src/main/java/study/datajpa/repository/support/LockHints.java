@@ -0,0 +1,29 @@
+package study.datajpa.repository.support;
+
+import jakarta.persistence.Query;
+
+import java.time.Duration;
+
+/**
+ * 비관적 락 쿼리 힌트 (@QueryHints 의 값 또는 Query.setHint)
+ * - jakarta.persistence.lock.timeout (ms)
+ *   SKIP_LOCKED : 다른 트랜잭션이 잠근 row 는 건너뜀 -> FOR UPDATE SKIP LOCKED (MariaDB 10.6+)
+ *   NO_WAIT     : 기다리지 않고 바로 실패 -> FOR UPDATE NOWAIT
+ *   그 외       : 최대 대기 시간 -> FOR UPDATE WAIT n (MariaDB 는 초 단위)
+ * - 힌트가 없으면 DB 기본값(innodb_lock_wait_timeout, 기본 50초)만큼 기다린다.
+ * - DB 가 지원하지 않는 힌트는 하이버네이트가 무시하고 FOR UPDATE 로 실행한다.
+ */
+public abstract class LockHints {
+
+    public static final String TIMEOUT = "jakarta.persistence.lock.timeout";
+    public static final String SKIP_LOCKED = "-2";
+    public static final String NO_WAIT = "0";
+
+    /**
+     * 호출 시점에 정하는 대기 시간 (설정 값 등), Duration.ZERO 면 NOWAIT
+     */
+    public static <Q extends Query> Q timeout(Q query, Duration timeout) {
+        query.setHint(TIMEOUT, (int) timeout.toMillis());
+        return query;
+    }
+}
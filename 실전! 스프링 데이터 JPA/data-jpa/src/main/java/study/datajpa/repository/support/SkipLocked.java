@@ -0,0 +1,29 @@
+package study.datajpa.repository.support;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 작업 큐의 "잠기지 않은 row N 건 가져가기" (FOR UPDATE SKIP LOCKED)
+ *   @SkipLocked
+ *   @Query("select w from WorkItem w where w.status = :status order by w.id")
+ *   List<WorkItem> claim(@Param("status") WorkStatus status, Pageable pageable);
+ * - 여러 worker 가 동시에 호출해도 서로 다른 row 를 가져가고 서로 기다리지 않는다.
+ * - 트랜잭션 안에서 호출해야 하고, 잠금은 커밋/롤백까지 유지된다.
+ * - @Lock(PESSIMISTIC_WRITE) + @QueryHints(lock.timeout = -2) 를 합친 메타 어노테이션
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Lock(LockModeType.PESSIMISTIC_WRITE)
+@QueryHints(@QueryHint(name = LockHints.TIMEOUT, value = LockHints.SKIP_LOCKED))
+public @interface SkipLocked {
+}
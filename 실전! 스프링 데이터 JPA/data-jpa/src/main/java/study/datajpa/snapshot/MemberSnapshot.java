@@ -0,0 +1,8 @@
+package study.datajpa.snapshot;
+
+/**
+ * 회원 읽기 전용 스냅샷 (영속성 컨텍스트에 올리지 않는 값)
+ * - 수정하려면 엔티티를 다시 조회한다.
+ */
+public record MemberSnapshot(Long id, String username, int age, Long teamId) {
+}
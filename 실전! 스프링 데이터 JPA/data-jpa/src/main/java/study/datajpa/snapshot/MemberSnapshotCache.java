@@ -0,0 +1,138 @@
+package study.datajpa.snapshot;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * id -> MemberSnapshot read-through 캐시
+ * - 없는 id 는 모아서 in 쿼리 한 번(batch-size 단위)으로 조회한다.
+ * - max-entries 에 닿으면 만료된 값을 먼저 비우고, 그래도 모자라면 임의의 값을 내보내서 max-entries 의 1/10 만큼 자리를 만든다.
+ *   (가득 찬 뒤에도 전체를 훑는 것은 그만큼 담을 때마다 한 번)
+ * - 수정/삭제는 MemberSnapshotListener 가 evict 한다. 조회 중에 evict 가 일어나면 조회한 값은 담지 않는다.
+ * - 적중률: datajpa.snapshot.cache{result}
+ */
+public class MemberSnapshotCache {
+
+    private final SnapshotProperties properties;
+    private final Function<Collection<Long>, List<MemberSnapshot>> loader;
+
+    private final Map<Long, CachedSnapshot> cache = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final Counter hits;
+    private final Counter misses;
+
+    public MemberSnapshotCache(SnapshotProperties properties, Function<Collection<Long>, List<MemberSnapshot>> loader,
+                               MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.loader = loader;
+        this.hits = Counter.builder("datajpa.snapshot.cache").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("datajpa.snapshot.cache").tag("result", "miss").register(meterRegistry);
+    }
+
+    /**
+     * @return 없는 회원이면 null
+     */
+    public MemberSnapshot get(Long id) {
+        List<MemberSnapshot> found = getAll(List.of(id));
+        return found.isEmpty() ? null : found.get(0);
+    }
+
+    /**
+     * @return 요청한 id 순서대로, 없는 회원은 빠진다.
+     */
+    public List<MemberSnapshot> getAll(Collection<Long> ids) {
+        long now = System.nanoTime();
+        Map<Long, MemberSnapshot> found = new HashMap<>();
+        Set<Long> missing = new LinkedHashSet<>();
+        for (Long id : ids) {
+            CachedSnapshot cached = cache.get(id);
+            if (cached != null && now - cached.expiresAt() < 0) {
+                found.put(id, cached.snapshot());
+            } else if (!found.containsKey(id)) {
+                missing.add(id);
+            }
+        }
+        hits.increment(found.size());
+        misses.increment(missing.size());
+
+        if (!missing.isEmpty()) {
+            load(missing, now).forEach(s -> found.put(s.id(), s));
+        }
+
+        List<MemberSnapshot> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            MemberSnapshot snapshot = found.get(id);
+            if (snapshot != null) {
+                result.add(snapshot);
+            }
+        }
+        return result;
+    }
+
+    public void evict(Long id) {
+        generation.incrementAndGet();
+        cache.remove(id);
+    }
+
+    /**
+     * 벌크 수정/삭제처럼 리스너를 거치지 않는 변경 후 TTL 을 기다리지 않고 캐시를 비운다.
+     */
+    public void evictAll() {
+        generation.incrementAndGet();
+        cache.clear();
+    }
+
+    int size() {
+        return cache.size();
+    }
+
+    private List<MemberSnapshot> load(Set<Long> ids, long now) {
+        long loadedAt = generation.get();
+        List<Long> pending = new ArrayList<>(ids);
+        List<MemberSnapshot> loaded = new ArrayList<>(ids.size());
+        for (int from = 0; from < pending.size(); from += properties.getBatchSize()) {
+            int to = Math.min(from + properties.getBatchSize(), pending.size());
+            loaded.addAll(loader.apply(pending.subList(from, to)));
+        }
+
+        long expiresAt = now + properties.getTtl().toNanos();
+        for (MemberSnapshot snapshot : loaded) {
+            if (cache.size() >= properties.getMaxEntries()) {
+                makeRoom(now);
+            }
+            CachedSnapshot cached = new CachedSnapshot(snapshot, expiresAt);
+            cache.put(snapshot.id(), cached);
+            // 담은 뒤에 확인 -> 확인과 담기 사이에 evict 가 끼어들어도 조회 전 값이 남지 않는다.
+            if (generation.get() != loadedAt) {
+                cache.remove(snapshot.id(), cached);
+                break;
+            }
+        }
+        return loaded;
+    }
+
+    private void makeRoom(long now) {
+        int target = properties.getMaxEntries() - Math.max(1, properties.getMaxEntries() / 10);
+        cache.values().removeIf(c -> now - c.expiresAt() >= 0);
+        Iterator<Long> keys = cache.keySet().iterator();
+        while (cache.size() > target && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private record CachedSnapshot(MemberSnapshot snapshot, long expiresAt) {
+    }
+}
@@ -0,0 +1,21 @@
+package study.datajpa.snapshot;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.convert.converter.Converter;
+
+/**
+ * @PathVariable("id") MemberSnapshot member
+ * - 도메인 클래스 컨버터(findById)와 같은 자리에서 동작하지만 캐시에서 꺼낸다.
+ * - 없는 회원이면 null (도메인 클래스 컨버터와 동일)
+ */
+@RequiredArgsConstructor
+public class MemberSnapshotConverter implements Converter<String, MemberSnapshot> {
+
+    private final MemberSnapshotCache cache;
+
+    @Override
+    public MemberSnapshot convert(String source) {
+        String id = source.trim();
+        return id.isEmpty() ? null : cache.get(Long.valueOf(id));
+    }
+}
@@ -0,0 +1,51 @@
+package study.datajpa.snapshot;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.core.convert.converter.ConditionalGenericConverter;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * @RequestParam("ids") List<MemberSnapshot> members (ids=1,2,3 또는 ids=1&ids=2)
+ * - 기본 컬렉션 컨버터는 원소마다 MemberSnapshotConverter 를 부르므로, 캐시에 없는 id 를 모아서 한 번에 조회하도록 먼저 가로챈다.
+ */
+@RequiredArgsConstructor
+public class MemberSnapshotListConverter implements ConditionalGenericConverter {
+
+    private final MemberSnapshotCache cache;
+
+    @Override
+    public Set<ConvertiblePair> getConvertibleTypes() {
+        return Set.of(new ConvertiblePair(String.class, Collection.class),
+                new ConvertiblePair(String[].class, Collection.class));
+    }
+
+    @Override
+    public boolean matches(TypeDescriptor sourceType, TypeDescriptor targetType) {
+        TypeDescriptor elementType = targetType.getElementTypeDescriptor();
+        return elementType != null && elementType.getType() == MemberSnapshot.class
+                && targetType.getType().isAssignableFrom(List.class);
+    }
+
+    @Override
+    public Object convert(Object source, TypeDescriptor sourceType, TypeDescriptor targetType) {
+        if (source == null) {
+            return null;
+        }
+        String[] values = source instanceof String[] array ? array : new String[]{(String) source};
+        List<Long> ids = new ArrayList<>();
+        for (String value : values) {
+            for (String id : StringUtils.commaDelimitedListToStringArray(value)) {
+                if (StringUtils.hasText(id)) {
+                    ids.add(Long.valueOf(id.trim()));
+                }
+            }
+        }
+        return cache.getAll(ids);
+    }
+}
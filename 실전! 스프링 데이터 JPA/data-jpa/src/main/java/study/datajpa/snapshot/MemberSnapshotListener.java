@@ -0,0 +1,42 @@
+package study.datajpa.snapshot;
+
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import study.datajpa.entity.Member;
+
+/**
+ * Member 수정/삭제(save, delete, 변경 감지) 시 스냅샷 캐시에서 뺀다.
+ * - flush 시점에 한 번, 트랜잭션이 끝난 뒤 한 번 더 뺀다.
+ *   (flush 와 커밋 사이에 다른 요청이 커밋 전 값을 다시 담을 수 있으므로)
+ * - 벌크 수정(@Modifying, ChunkedUpdateExecutor)은 리스너를 거치지 않는다. -> MemberSnapshotCache.evictAll()
+ */
+public class MemberSnapshotListener {
+
+    private final ObjectProvider<MemberSnapshotCache> cache;
+
+    public MemberSnapshotListener(ObjectProvider<MemberSnapshotCache> cache) {
+        this.cache = cache;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void evict(Member member) {
+        MemberSnapshotCache snapshots = cache.getIfAvailable();
+        if (snapshots == null || member.getId() == null) {
+            return;
+        }
+        Long id = member.getId();
+        snapshots.evict(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    snapshots.evict(id);
+                }
+            });
+        }
+    }
+}
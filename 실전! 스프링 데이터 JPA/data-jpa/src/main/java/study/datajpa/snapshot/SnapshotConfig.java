@@ -0,0 +1,31 @@
+package study.datajpa.snapshot;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.format.FormatterRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import study.datajpa.repository.MemberRepository;
+
+@Configuration
+@EnableConfigurationProperties(SnapshotProperties.class)
+public class SnapshotConfig {
+
+    @Bean
+    public MemberSnapshotCache memberSnapshotCache(SnapshotProperties properties, MemberRepository memberRepository,
+                                                   MeterRegistry meterRegistry) {
+        return new MemberSnapshotCache(properties, memberRepository::findSnapshots, meterRegistry);
+    }
+
+    @Bean
+    public WebMvcConfigurer memberSnapshotConverters(MemberSnapshotCache cache) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addFormatters(FormatterRegistry registry) {
+                registry.addConverter(new MemberSnapshotConverter(cache));
+                registry.addConverter(new MemberSnapshotListConverter(cache));
+            }
+        };
+    }
+}
@@ -0,0 +1,22 @@
+package study.datajpa.snapshot;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * datajpa.snapshot.*
+ */
+@Getter @Setter
+@ConfigurationProperties(prefix = "datajpa.snapshot")
+public class SnapshotProperties {
+
+    // 캐시에 담을 최대 회원 수
+    private int maxEntries = 10_000;
+    // 리스너를 거치지 않는 변경(벌크 수정, 다른 서버)이 보일 때까지 걸리는 최대 시간
+    private Duration ttl = Duration.ofSeconds(60);
+    // 한 번의 in 쿼리로 조회할 최대 id 수
+    private int batchSize = 500;
+}
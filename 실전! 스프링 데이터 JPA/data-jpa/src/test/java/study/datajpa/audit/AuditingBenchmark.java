@@ -0,0 +1,116 @@
+package study.datajpa.audit;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.auditing.AuditingHandler;
+import org.springframework.data.jpa.mapping.JpaMetamodelMappingContext;
+import org.springframework.data.mapping.context.PersistentEntities;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.DataJpaApplication;
+import study.datajpa.entity.Member;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * 스프링 데이터 auditing vs FastAuditingHandler
+ * - JUnit 테스트가 아니다. main 으로 직접 실행한다. (application.properties 의 DB 사용)
+ * - JMH 대신 워밍업 후 반복 측정한다.
+ * 1. audit 처리만: Member 100,000 건에 markCreated (1,000 건마다 flush 한 것처럼 AuditClock 초기화)
+ * 2. 배치 insert: Member 100,000 건 persist (jdbc batch 1,000, 1,000 건마다 flush/clear), engine 별로 컨텍스트를 새로 띄운다.
+ */
+public class AuditingBenchmark {
+
+    static final int ENTITIES = 100_000;
+    static final int FLUSH_EVERY = 1_000;
+    static final int WARMUP = 3;
+    static final int ROUNDS = 5;
+
+    public static void main(String[] args) {
+        for (AuditEngine engine : AuditEngine.values()) {
+            try (ConfigurableApplicationContext context = start(engine, args)) {
+                if (engine == AuditEngine.SPRING) {
+                    handlerOnly(context);
+                }
+                insert(context, engine);
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start(AuditEngine engine, String[] args) {
+        String[] overrides = {
+                "--datajpa.audit.engine=" + engine.name().toLowerCase(),
+                "--spring.jpa.properties.hibernate.jdbc.batch_size=" + FLUSH_EVERY,
+                "--spring.jpa.properties.hibernate.order_inserts=true",
+                "--logging.level.org.hibernate.SQL=warn",
+                "--logging.level.root=warn"};
+        String[] all = new String[overrides.length + args.length];
+        System.arraycopy(overrides, 0, all, 0, overrides.length);
+        System.arraycopy(args, 0, all, overrides.length, args.length);
+        return new SpringApplicationBuilder(DataJpaApplication.class).web(WebApplicationType.NONE).run(all);
+    }
+
+    private static void handlerOnly(ConfigurableApplicationContext context) {
+        AuditingHandler spring = context.getBean(AuditingHandler.class);
+        AuditingHandler springWithUuid = new AuditingHandler(PersistentEntities.of(context.getBean(JpaMetamodelMappingContext.class)));
+        springWithUuid.setAuditorAware(() -> Optional.of(UUID.randomUUID().toString()));
+        FastAuditingHandler fast = context.getBean(FastAuditingHandler.class);
+
+        System.out.println("audit 처리만 (Member " + ENTITIES + " 건)");
+        report("spring + UUID.randomUUID", measure(() -> markAll(springWithUuid::markCreated)));
+        report("spring + RequestAuditor", measure(() -> markAll(spring::markCreated)));
+        report("fast", measure(() -> markAll(fast::markCreated)));
+    }
+
+    private static void markAll(Consumer<Object> markCreated) {
+        for (int i = 0; i < ENTITIES; i++) {
+            if (i % FLUSH_EVERY == 0) {
+                AuditClock.reset();
+            }
+            markCreated.accept(new Member("member", i));
+        }
+        AuditClock.reset();
+    }
+
+    private static void insert(ConfigurableApplicationContext context, AuditEngine engine) {
+        EntityManager em = context.getBean(EntityManager.class);
+        TransactionTemplate tx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        if (engine == AuditEngine.SPRING) {
+            System.out.println("배치 insert (Member " + ENTITIES + " 건)");
+        }
+        report(engine.name().toLowerCase(), measure(() -> tx.executeWithoutResult(s -> {
+            for (int i = 0; i < ENTITIES; i++) {
+                em.persist(new Member("member" + i, i % 100));
+                if ((i + 1) % FLUSH_EVERY == 0) {
+                    em.flush();
+                    em.clear();
+                }
+            }
+        })));
+    }
+
+    private static long[] measure(Runnable task) {
+        for (int i = 0; i < WARMUP; i++) {
+            task.run();
+        }
+        long best = Long.MAX_VALUE;
+        long total = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            long start = System.nanoTime();
+            task.run();
+            long elapsed = System.nanoTime() - start;
+            best = Math.min(best, elapsed);
+            total += elapsed;
+        }
+        return new long[]{best, total / ROUNDS};
+    }
+
+    private static void report(String name, long[] result) {
+        System.out.printf("  %-26s avg %8.1f ms   best %8.1f ms   (%6.0f ns/entity)%n",
+                name, result[1] / 1e6, result[0] / 1e6, (double) result[1] / ENTITIES);
+    }
+}
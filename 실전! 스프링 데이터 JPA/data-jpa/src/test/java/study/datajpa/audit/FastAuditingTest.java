@@ -0,0 +1,58 @@
+package study.datajpa.audit;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class FastAuditingTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Test
+    public void sharedTimestampPerFlush() throws Exception {
+        //given
+        Team team = new Team("teamA");
+        Member member1 = new Member("member1", 10, team);
+        Member member2 = new Member("member2", 20, team);
+
+        //when
+        em.persist(team);
+        Thread.sleep(5);
+        em.persist(member1);
+        em.persist(member2);
+        em.flush();
+
+        //then (같은 flush 에서 등록된 엔티티는 같은 시간)
+        assertThat(member1.getCreatedDate()).isNotNull()
+                .isEqualTo(member2.getCreatedDate())
+                .isEqualTo(team.getCreatedDate())
+                .isEqualTo(member1.getLastModifiedDate());
+        assertThat(member1.getCreatedBy()).isEqualTo(RequestAuditor.SYSTEM);
+        assertThat(member1.getLastModifiedBy()).isEqualTo(RequestAuditor.SYSTEM);
+    }
+
+    @Test
+    public void modifiedAfterFlush() throws Exception {
+        //given
+        Member member = new Member("member1", 10);
+        em.persist(member);
+        em.flush();
+
+        //when (flush 후에는 새로 시간을 읽음)
+        Thread.sleep(5);
+        member.setUsername("member2");
+        em.flush();
+
+        //then
+        assertThat(member.getLastModifiedDate()).isAfter(member.getCreatedDate());
+    }
+}
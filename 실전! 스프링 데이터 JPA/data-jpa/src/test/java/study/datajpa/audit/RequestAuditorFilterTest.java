@@ -0,0 +1,42 @@
+package study.datajpa.audit;
+
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestAuditorFilterTest {
+
+    @Test
+    public void headerIgnoredByDefault() throws Exception {
+        String auditor = auditorOf(new RequestAuditorFilter(new AuditProperties().getAuditorHeader()));
+
+        //클라이언트가 보낸 헤더 대신 요청 id
+        assertThat(auditor).isNotEqualTo("admin").isNotEqualTo(RequestAuditor.SYSTEM);
+    }
+
+    @Test
+    public void trustedHeader() throws Exception {
+        assertThat(auditorOf(new RequestAuditorFilter("X-User-Id"))).isEqualTo("admin");
+    }
+
+    private String auditorOf(RequestAuditorFilter filter) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("X-User-Id", "admin");
+        AtomicReference<String> auditor = new AtomicReference<>();
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain() {
+            @Override
+            public void doFilter(ServletRequest req, ServletResponse res) {
+                auditor.set(RequestAuditor.current());
+            }
+        });
+        assertThat(RequestAuditor.current()).isEqualTo(RequestAuditor.SYSTEM); //요청이 끝나면 지움
+        return auditor.get();
+    }
+}
@@ -0,0 +1,135 @@
+package study.datajpa.bulk;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberRepository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 구간마다 커밋하므로 @Transactional 을 붙이지 않고 직접 정리한다.
+ */
+@SpringBootTest
+class ChunkedUpdateExecutorTest {
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    BulkUpdateCheckpointRepository checkpointRepository;
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    ChunkedUpdateExecutor executor;
+    List<Long> ids = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 10; i++) {
+            ids.add(memberRepository.save(new Member("chunked" + i, 20)).getId());
+        }
+        BulkUpdateProperties properties = new BulkUpdateProperties();
+        properties.setSliceSize(3);
+        executor = new ChunkedUpdateExecutor(em, new TransactionTemplate(transactionManager), checkpointRepository,
+                properties, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        memberRepository.deleteAllById(ids);
+        checkpointRepository.deleteAll();
+    }
+
+    @Test
+    public void sliceCommit() {
+        ChunkedUpdateResult result = executor.execute(agePlus("slice"));
+
+        assertThat(result.completed()).isTrue();
+        assertThat(result.rows()).isEqualTo(10);
+        assertThat(result.slices()).isGreaterThanOrEqualTo(4);
+        assertThat(memberRepository.findAllById(ids)).extracting(Member::getAge).containsOnly(21);
+    }
+
+    @Test
+    public void resume() {
+        //given (앞의 5명까지 커밋하고 중단된 상태)
+        long lastId = ids.get(4);
+        checkpointRepository.save(new BulkUpdateCheckpoint("resume", lastId, ids.get(9)));
+
+        //when
+        ChunkedUpdateResult result = executor.execute(agePlus("resume"));
+        ChunkedUpdateResult again = executor.execute(agePlus("resume"));
+
+        //then
+        assertThat(result.resumedFrom()).isEqualTo(lastId);
+        assertThat(result.rows()).isEqualTo(5);
+        assertThat(memberRepository.findAllById(ids)).extracting(Member::getAge).containsOnly(20, 21);
+        // 완료된 작업은 다시 실행하지 않음
+        assertThat(again.rows()).isZero();
+        assertThat(again.completed()).isTrue();
+    }
+
+    @Test
+    public void concurrentResume() throws Exception {
+        //given (중단된 작업을 두 곳에서 동시에 이어서 실행, 구간 사이에 쉬어서 두 실행이 겹치도록)
+        checkpointRepository.save(new BulkUpdateCheckpoint("concurrent", ids.get(0) - 1, ids.get(9)));
+        BulkUpdateProperties properties = new BulkUpdateProperties();
+        properties.setSliceSize(3);
+        properties.setPause(Duration.ofMillis(50));
+        ChunkedUpdateExecutor slow = new ChunkedUpdateExecutor(em, new TransactionTemplate(transactionManager),
+                checkpointRepository, properties, new SimpleMeterRegistry());
+
+        //when
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<ChunkedUpdateResult>> runs = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            runs.add(pool.submit(() -> {
+                start.await();
+                return slow.execute(agePlus("concurrent"));
+            }));
+        }
+        start.countDown();
+        int failed = 0;
+        for (Future<ChunkedUpdateResult> run : runs) {
+            try {
+                run.get();
+            } catch (ExecutionException e) {
+                failed++; // 체크포인트를 먼저 잠그지 못한 쪽은 구간 위치 확인에서 실패
+            }
+        }
+        pool.shutdown();
+
+        //then (한쪽만 끝까지 실행, 두 번 적용되지 않음)
+        assertThat(failed).isEqualTo(1);
+        assertThat(memberRepository.findAllById(ids)).extracting(Member::getAge).containsOnly(21);
+    }
+
+    private ChunkedUpdate agePlus(String jobName) {
+        return new ChunkedUpdate(jobName, Member.class,
+                "update Member m set m.age = m.age + 1 where m.username like :prefix and m.id > :from and m.id <= :to",
+                Map.of("prefix", "chunked%"));
+    }
+}
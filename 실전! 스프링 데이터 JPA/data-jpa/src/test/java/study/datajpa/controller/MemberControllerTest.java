@@ -0,0 +1,78 @@
+package study.datajpa.controller;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class MemberControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    EntityManager em;
+
+    Long memberId;
+
+    @BeforeEach
+    void setUp() {
+        Team team = new Team("teamA");
+        em.persist(team);
+        Member member = new Member("teamMember", 10, team);
+        em.persist(member);
+        memberId = member.getId();
+        em.flush();
+        em.clear(); // 응답을 만들 때 team 이 초기화되지 않은 프록시가 되도록
+    }
+
+    @Test
+    public void listWithoutExpand() throws Exception {
+        mockMvc.perform(get("/members").param("sort", "id,desc").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(memberId))
+                .andExpect(jsonPath("$.content[0].username").value("teamMember"))
+                .andExpect(jsonPath("$.content[0].teamName").value(nullValue()));
+    }
+
+    @Test
+    public void listWithExpand() throws Exception {
+        mockMvc.perform(get("/members").param("sort", "id,desc").param("size", "1").param("expand", "team"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(memberId))
+                .andExpect(jsonPath("$.content[0].teamName").value("teamA"));
+    }
+
+    @Test
+    public void sparseFields() throws Exception {
+        mockMvc.perform(get("/members_page").param("fields", "id,teamName").param("sort", "id,desc").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(memberId))
+                .andExpect(jsonPath("$.content[0].teamName").value("teamA"))
+                .andExpect(jsonPath("$.content[0].username").doesNotExist());
+    }
+
+    @Test
+    public void unknownFieldOrSort() throws Exception {
+        mockMvc.perform(get("/members_page").param("fields", "id,password"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/members_page").param("fields", "id,username").param("sort", "password"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/members_page").param("fields", "id,teamName").param("sort", "teamName")) //join 한 필드
+                .andExpect(status().isBadRequest());
+    }
+}
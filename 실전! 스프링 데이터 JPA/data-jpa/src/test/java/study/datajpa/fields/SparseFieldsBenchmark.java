@@ -0,0 +1,90 @@
+package study.datajpa.fields;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import study.datajpa.DataJpaApplication;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * /members 응답 크기와 DB 시간: 엔티티 전체 vs fields= 전체 필드 vs fields= 좁은 필드
+ * - JUnit 테스트가 아니다. main 으로 직접 실행한다. (application.properties 의 DB 사용)
+ * - 회원 10,000 명, 페이지 크기 1,000, DB 시간은 하이버네이트 통계의 쿼리 실행 시간
+ */
+public class SparseFieldsBenchmark {
+
+    static final int MEMBERS = 10_000;
+    static final int WARMUP = 30;
+    static final int ITERATIONS = 100;
+
+    public static void main(String[] args) throws Exception {
+        String[] overrides = {"--server.port=0", "--spring.jpa.properties.hibernate.generate_statistics=true",
+                "--datajpa.count.endpoints.members=cached",
+                "--logging.level.org.hibernate.SQL=warn", "--logging.level.root=warn"};
+        String[] all = new String[overrides.length + args.length];
+        System.arraycopy(overrides, 0, all, 0, overrides.length);
+        System.arraycopy(args, 0, all, overrides.length, args.length);
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(DataJpaApplication.class).run(all)) {
+            prepare(context.getBean(JdbcTemplate.class));
+            Statistics statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            HttpClient client = HttpClient.newHttpClient();
+
+            System.out.printf("%-46s %12s %12s %12s%n", "request", "bytes", "db(ms)", "total(ms)");
+            String base = "http://localhost:" + port + "/members?size=1000&sort=id,desc";
+            run(client, statistics, "entity", base);
+            run(client, statistics, "fields=(8 fields)", base + "&fields=id,username,age,teamName,createdDate,"
+                    + "lastModifiedDate,createdBy,lastModifiedBy");
+            run(client, statistics, "fields=id,username", base + "&fields=id,username");
+        }
+    }
+
+    private static void prepare(JdbcTemplate jdbcTemplate) {
+        List<Object[]> batch = new ArrayList<>();
+        for (int i = 0; i < MEMBERS; i++) {
+            batch.add(new Object[]{20_000_000L + i, "bench" + i, i % 100, "bench-user", "bench-user"});
+        }
+        jdbcTemplate.batchUpdate("insert into member (member_id, username, age, created_by, last_modified_by,"
+                + " created_date, last_modified_date) values (?, ?, ?, ?, ?, current_timestamp, current_timestamp)", batch);
+    }
+
+    private static void run(HttpClient client, Statistics statistics, String name, String url) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url)).build();
+        for (int i = 0; i < WARMUP; i++) {
+            client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        }
+
+        statistics.clear();
+        long bytes = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException(response.statusCode() + " " + new String(response.body()));
+            }
+            bytes += response.body().length;
+        }
+        double total = (System.nanoTime() - start) / 1e6 / ITERATIONS;
+        double db = (double) queryTime(statistics) / ITERATIONS;
+        System.out.printf("%-46s %12d %12.2f %12.2f%n", name, bytes / ITERATIONS, db, total);
+    }
+
+    private static long queryTime(Statistics statistics) {
+        long total = 0;
+        for (String query : statistics.getQueries()) {
+            total += statistics.getQueryStatistics(query).getExecutionTotalTime();
+        }
+        return total;
+    }
+}
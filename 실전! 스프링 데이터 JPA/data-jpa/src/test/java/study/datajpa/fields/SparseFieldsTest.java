@@ -0,0 +1,64 @@
+package study.datajpa.fields;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+import study.datajpa.repository.MemberRepository;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Transactional
+class SparseFieldsTest {
+
+    @Autowired
+    SparseFields memberFields;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    EntityManager em;
+
+    @Test
+    public void shapeIsCachedPerFieldSet() {
+        FieldShape shape = memberFields.shape("username,id");
+
+        assertThat(memberFields.shape(" id, username,id")).isSameAs(shape);
+        assertThat(shape.fields()).containsExactly("id", "username");
+        assertThat(shape.select()).isEqualTo("select m.id, m.username from Member m");
+        assertThatThrownBy(() -> memberFields.shape("id,password")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void slimJson() throws Exception {
+        //given
+        Team team = new Team("teamA");
+        em.persist(team);
+        Member member = new Member("sparse", 10, team);
+        em.persist(member);
+        em.flush();
+        em.clear();
+
+        //when
+        List<SparseRow> rows = memberRepository.findAll(PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, "id")),
+                memberFields.shape("id,teamName"));
+
+        //then (요청한 필드만, 요청한 순서와 상관없이 허용 목록 순서)
+        assertThat(objectMapper.writeValueAsString(rows))
+                .isEqualTo("[{\"id\":" + member.getId() + ",\"teamName\":\"teamA\"}]");
+    }
+}
@@ -0,0 +1,86 @@
+package study.datajpa.id;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.DataJpaApplication;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * PK 종류별 insert 처리량과 테이블(인덱스 포함) 크기
+ * - JUnit 테스트가 아니다. main 으로 직접 실행한다. (application.properties 의 DB 사용)
+ * - row 수는 -Drows=10000000 으로 변경 (기본 1,000,000)
+ * - 1,000 건 batch 를 한 트랜잭션으로 커밋
+ */
+public class IdInsertBenchmark {
+
+    static final int ROWS = Integer.getInteger("rows", 1_000_000);
+    static final int BATCH = 1_000;
+
+    public static void main(String[] args) {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(DataJpaApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(concat(new String[]{"--logging.level.root=warn", "--logging.level.org.hibernate.SQL=warn"}, args))) {
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            TransactionTemplate tx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+            System.out.printf("%-32s %12s %12s%n", "pk (" + ROWS + " rows)", "rows/s", "size(MB)");
+            run(jdbcTemplate, tx, "bench_uuid_random", "varchar(36)", () -> UUID.randomUUID().toString());
+            run(jdbcTemplate, tx, "bench_ulid", "varchar(26)", TimeOrderedId::nextString);
+            run(jdbcTemplate, tx, "bench_uuid7_binary", "binary(16)", () -> TimeOrderedId.next().toBytes());
+        }
+    }
+
+    private static void run(JdbcTemplate jdbcTemplate, TransactionTemplate tx, String table, String pkType, Supplier<Object> ids) {
+        jdbcTemplate.execute("drop table if exists " + table);
+        jdbcTemplate.execute("create table " + table + " (id " + pkType + " not null primary key, name varchar(50), age int)");
+
+        long start = System.nanoTime();
+        for (int done = 0; done < ROWS; done += BATCH) {
+            List<Object[]> batch = new ArrayList<>(BATCH);
+            for (int i = 0; i < BATCH; i++) {
+                batch.add(new Object[]{ids.get(), "item" + (done + i), i});
+            }
+            tx.executeWithoutResult(s -> jdbcTemplate.batchUpdate("insert into " + table + " (id, name, age) values (?, ?, ?)", batch));
+        }
+        double rowsPerSecond = ROWS * 1e9 / (System.nanoTime() - start);
+
+        System.out.printf("%-32s %12.0f %12.1f%n", table + " " + pkType, rowsPerSecond, size(jdbcTemplate, table) / 1024.0 / 1024);
+    }
+
+    /**
+     * MariaDB: data_length(클러스터드 PK) + index_length, H2: DISK_SPACE_USED
+     */
+    private static long size(JdbcTemplate jdbcTemplate, String table) {
+        try {
+            jdbcTemplate.execute("analyze table " + table);
+            Long size = jdbcTemplate.queryForObject("select data_length + index_length from information_schema.tables" +
+                    " where table_schema = database() and table_name = ?", Long.class, table);
+            if (size != null) {
+                return size;
+            }
+        } catch (DataAccessException e) {
+            // MariaDB 가 아님
+        }
+        try {
+            return jdbcTemplate.queryForObject("select disk_space_used(?)", Long.class, table.toUpperCase());
+        } catch (DataAccessException e) {
+            return -1;
+        }
+    }
+
+    private static String[] concat(String[] a, String[] b) {
+        String[] result = new String[a.length + b.length];
+        System.arraycopy(a, 0, result, 0, a.length);
+        System.arraycopy(b, 0, result, a.length, b.length);
+        return result;
+    }
+}
@@ -0,0 +1,57 @@
+package study.datajpa.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class TimeOrderedIdTest {
+
+    @Test
+    public void monotonicInThread() {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            ids.add(TimeOrderedId.nextString());
+        }
+
+        assertThat(ids).isSorted().doesNotHaveDuplicates();
+        assertThat(ids.get(0)).hasSize(26).matches("[0-9A-HJKMNP-TV-Z]{26}");
+    }
+
+    @Test
+    public void binaryForm() {
+        TimeOrderedId id = TimeOrderedId.next();
+        UUID uuid = id.toUuid();
+
+        assertThat(uuid.version()).isEqualTo(7);
+        assertThat(uuid.variant()).isEqualTo(2);
+        assertThat(id.toBytes()).hasSize(16);
+        assertThat(id.getTimestamp()).isCloseTo(System.currentTimeMillis(), within(1_000L));
+    }
+
+    @Test
+    public void uniqueAcrossThreads() throws Exception {
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 50_000; i++) {
+                    ids.add(TimeOrderedId.nextString());
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(ids).hasSize(200_000);
+    }
+}
@@ -0,0 +1,88 @@
+package study.datajpa.paging;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberRepository;
+import study.datajpa.repository.support.FetchPlan;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class CountingPagerTest {
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    CountProperties properties = new CountProperties();
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    CountingPager pager;
+
+    AtomicInteger countQueries = new AtomicInteger();
+    PageRequest secondPage = PageRequest.of(1, 3, Sort.by("id"));
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 10; i++) {
+            memberRepository.save(new Member("pager" + i, i));
+        }
+        pager = new CountingPager(properties, jdbcTemplate, meterRegistry);
+    }
+
+    @Test
+    public void cached() {
+        properties.getEndpoints().put("members", CountStrategy.CACHED);
+
+        Page<Member> first = (Page<Member>) page();
+        Page<Member> second = (Page<Member>) page();
+
+        assertThat(countQueries.get()).isEqualTo(1);
+        assertThat(second.getTotalElements()).isEqualTo(first.getTotalElements()).isEqualTo(memberRepository.count());
+        assertThat(meterRegistry.get("datajpa.count.cache").tag("result", "hit").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void slice() {
+        properties.getEndpoints().put("members", CountStrategy.SLICE);
+
+        Slice<Member> slice = page();
+
+        assertThat(slice).isNotInstanceOf(Page.class);
+        assertThat(slice.getContent()).hasSize(3);
+        assertThat(slice.hasNext()).isTrue();
+        assertThat(countQueries.get()).isZero();
+    }
+
+    @Test
+    public void estimatedBelowThresholdCountsExactly() {
+        properties.getEndpoints().put("members", CountStrategy.ESTIMATED);
+
+        Page<Member> page = (Page<Member>) page();
+
+        assertThat(countQueries.get()).isEqualTo(1);
+        assertThat(page.getTotalElements()).isEqualTo(memberRepository.count());
+    }
+
+    private Slice<Member> page() {
+        return pager.page("members", secondPage, p -> memberRepository.findAll(p, FetchPlan.none()),
+                CountQuery.table("member", () -> {
+                    countQueries.incrementAndGet();
+                    return memberRepository.count();
+                }));
+    }
+}
@@ -0,0 +1,100 @@
+package study.datajpa.paging;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.DataJpaApplication;
+import study.datajpa.repository.MemberRepository;
+import study.datajpa.repository.support.FetchPlan;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * offset 페이징 vs 키셋 페이징, 깊이별 응답 시간
+ * - JUnit 테스트가 아니다. main 으로 직접 실행한다. (application.properties 의 DB 사용)
+ * - 페이지 크기 20, 정렬 (username desc, id desc)
+ */
+public class KeysetBenchmark {
+
+    static final int ROWS = 200_000;
+    static final int SIZE = 20;
+    static final int[] DEPTHS = {0, 1_000, 10_000, 100_000, 199_000};
+    static final int WARMUP = 50;
+    static final int ITERATIONS = 200;
+    static final Sort SORT = Sort.by(Sort.Direction.DESC, "username", "id");
+
+    public static void main(String[] args) {
+        String[] overrides = {"--logging.level.org.hibernate.SQL=warn", "--logging.level.root=warn"};
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(DataJpaApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(concat(overrides, args))) {
+            MemberRepository memberRepository = context.getBean(MemberRepository.class);
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            TransactionTemplate tx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+            tx.setReadOnly(true);
+
+            prepare(jdbcTemplate);
+
+            System.out.printf("%-8s %14s %14s%n", "depth", "offset(ms)", "keyset(ms)");
+            for (int depth : DEPTHS) {
+                KeysetScrollPosition after = positionAt(jdbcTemplate, depth);
+                double offset = measure(() -> tx.execute(s ->
+                        memberRepository.findAll(PageRequest.of(depth / SIZE, SIZE, SORT), FetchPlan.none()).size()));
+                double keyset = measure(() -> tx.execute(s ->
+                        memberRepository.scroll(SORT, after, SIZE).size()));
+                System.out.printf("%-8d %14.3f %14.3f%n", depth, offset, keyset);
+            }
+        }
+    }
+
+    private static void prepare(JdbcTemplate jdbcTemplate) {
+        List<Object[]> batch = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            batch.add(new Object[]{10_000_000L + i, String.format("bench%07d", (i * 7919L) % ROWS), i % 100});
+            if (batch.size() == 1_000) {
+                jdbcTemplate.batchUpdate("insert into member (member_id, username, age) values (?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private static KeysetScrollPosition positionAt(JdbcTemplate jdbcTemplate, int depth) {
+        if (depth == 0) {
+            return ScrollPosition.keyset();
+        }
+        return jdbcTemplate.queryForObject(
+                "select username, member_id from member order by username desc, member_id desc limit 1 offset ?",
+                (rs, n) -> ScrollPosition.forward(Map.of("username", rs.getString(1), "id", rs.getLong(2))),
+                depth - 1);
+    }
+
+    private static double measure(Supplier<Integer> page) {
+        for (int i = 0; i < WARMUP; i++) {
+            page.get();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            if (page.get() != SIZE) {
+                throw new IllegalStateException("페이지 크기가 다름");
+            }
+        }
+        return (System.nanoTime() - start) / 1e6 / ITERATIONS;
+    }
+
+    private static String[] concat(String[] a, String[] b) {
+        String[] result = new String[a.length + b.length];
+        System.arraycopy(a, 0, result, 0, a.length);
+        System.arraycopy(b, 0, result, a.length, b.length);
+        return result;
+    }
+}
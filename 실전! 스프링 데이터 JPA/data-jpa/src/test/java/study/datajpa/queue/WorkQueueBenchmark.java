@@ -0,0 +1,126 @@
+package study.datajpa.queue;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.DataJpaApplication;
+import study.datajpa.repository.support.LockHints;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * worker 수에 따른 작업 큐 처리량: SKIP LOCKED (WorkQueue) vs FOR UPDATE (잠금 대기)
+ * - JUnit 테스트가 아니다. main 으로 직접 실행한다. (application.properties 의 DB 사용)
+ * - 작업 하나의 처리 시간은 -Dwork.micros (기본 200us) 만큼 쉬어서 흉내 낸다.
+ */
+public class WorkQueueBenchmark {
+
+    static final int ITEMS = Integer.getInteger("items", 20_000);
+    static final long WORK_NANOS = Long.getLong("work.micros", 200) * 1_000;
+    static final int[] WORKERS = {1, 2, 4, 8};
+
+    public static void main(String[] args) throws Exception {
+        String[] overrides = {"--logging.level.org.hibernate.SQL=warn", "--logging.level.root=warn",
+                "--spring.datasource.hikari.maximum-pool-size=16"};
+        String[] all = new String[overrides.length + args.length];
+        System.arraycopy(overrides, 0, all, 0, overrides.length);
+        System.arraycopy(args, 0, all, overrides.length, args.length);
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(DataJpaApplication.class)
+                .web(WebApplicationType.NONE).run(all)) {
+            WorkQueue workQueue = context.getBean(WorkQueue.class);
+            WorkItemRepository repository = context.getBean(WorkItemRepository.class);
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            TransactionTemplate tx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+            tx.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+            EntityManager em = context.getBean(EntityManager.class);
+            int claimSize = context.getBean(QueueProperties.class).getClaimSize();
+
+            Consumer<WorkItem> work = item -> LockSupport.parkNanos(WORK_NANOS);
+            Worker skipLocked = name -> workQueue.drain(name, work);
+            Worker forUpdate = name -> {
+                while (Boolean.TRUE.equals(tx.execute(status -> {
+                    List<WorkItem> items = LockHints.timeout(em.createQuery(
+                                    "select w from WorkItem w where w.status = :status order by w.id", WorkItem.class)
+                            .setParameter("status", WorkStatus.READY)
+                            .setMaxResults(claimSize)
+                            .setLockMode(LockModeType.PESSIMISTIC_WRITE), Duration.ofSeconds(30))
+                            .getResultList();
+                    List<Long> processed = new ArrayList<>();
+                    for (WorkItem item : items) {
+                        if (item.getStatus() == WorkStatus.READY) {
+                            work.accept(item);
+                            processed.add(item.getId());
+                        }
+                    }
+                    if (!processed.isEmpty()) {
+                        repository.markProcessed(processed, WorkStatus.DONE, name, LocalDateTime.now());
+                    }
+                    return !items.isEmpty();
+                }))) {
+                }
+            };
+
+            System.out.printf("items=%d claim-size=%d work=%dus%n", ITEMS, claimSize, WORK_NANOS / 1_000);
+            System.out.printf("%-12s %8s %12s %12s%n", "mode", "workers", "items/s", "speedup");
+            for (String mode : List.of("skip-locked", "for-update")) {
+                double base = 0;
+                for (int workers : WORKERS) {
+                    prepare(repository, jdbcTemplate);
+                    double rate = run(mode.equals("skip-locked") ? skipLocked : forUpdate, workers);
+                    if (repository.countByStatus(WorkStatus.READY) != 0) {
+                        throw new IllegalStateException("남은 작업이 있음");
+                    }
+                    base = workers == 1 ? rate : base;
+                    System.out.printf("%-12s %8d %12.0f %11.2fx%n", mode, workers, rate, rate / base);
+                }
+            }
+            repository.deleteAllInBatch();
+        }
+    }
+
+    interface Worker {
+        void drain(String name);
+    }
+
+    private static void prepare(WorkItemRepository repository, JdbcTemplate jdbcTemplate) {
+        repository.deleteAllInBatch();
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i++) {
+            rows.add(new Object[]{10_000_000L + i, "job" + i});
+        }
+        jdbcTemplate.batchUpdate("insert into work_item (work_item_id, payload, status) values (?, ?, 'READY')", rows);
+    }
+
+    private static double run(Worker worker, int workers) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        try {
+            long start = System.nanoTime();
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < workers; i++) {
+                String name = "worker" + i;
+                futures.add(executor.submit(() -> worker.drain(name)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            return ITEMS / ((System.nanoTime() - start) / 1e9);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
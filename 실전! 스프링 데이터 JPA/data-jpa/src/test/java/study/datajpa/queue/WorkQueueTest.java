@@ -0,0 +1,71 @@
+package study.datajpa.queue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * worker 마다 트랜잭션을 커밋하므로 @Transactional 을 붙이지 않고 직접 정리한다.
+ */
+@SpringBootTest
+class WorkQueueTest {
+
+    static final int ITEMS = 500;
+    static final int WORKERS = 4;
+
+    @Autowired
+    WorkQueue workQueue;
+
+    @Autowired
+    WorkItemRepository workItemRepository;
+
+    @BeforeEach
+    void setUp() {
+        List<WorkItem> items = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i++) {
+            items.add(new WorkItem("job" + i));
+        }
+        workItemRepository.saveAll(items);
+    }
+
+    @AfterEach
+    void tearDown() {
+        workItemRepository.deleteAllInBatch();
+    }
+
+    @Test
+    public void multiWorkerDrain() throws Exception {
+        Map<Long, AtomicInteger> handled = new ConcurrentHashMap<>();
+
+        ExecutorService executor = Executors.newFixedThreadPool(WORKERS);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int i = 0; i < WORKERS; i++) {
+            String worker = "worker" + i;
+            workers.add(executor.submit(() -> workQueue.drain(worker,
+                    item -> handled.computeIfAbsent(item.getId(), id -> new AtomicInteger()).incrementAndGet())));
+        }
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+        executor.shutdown();
+
+        //모든 작업을 한 번씩만 처리
+        assertThat(handled).hasSize(ITEMS);
+        assertThat(handled.values()).allMatch(count -> count.get() == 1);
+        assertThat(workItemRepository.countByStatus(WorkStatus.READY)).isZero();
+        assertThat(workItemRepository.findAll()).allMatch(item -> item.getWorker() != null);
+    }
+}
@@ -5,6 +5,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import study.datajpa.entity.Item;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest
@@ -18,4 +19,13 @@ class ItemRepositoryTest {
         itemRepository.save(item);
     }
 
+    @Test
+    public void saveTimeOrderedId() throws Exception {
+        Item item = Item.create();
+        itemRepository.save(item); // isNew() -> persist (merge 안 함)
+
+        assertThat(itemRepository.findById(item.getId())).isPresent();
+        assertThat(item.getId()).isLessThan(Item.create().getId());
+    }
+
 }
\ No newline at end of file
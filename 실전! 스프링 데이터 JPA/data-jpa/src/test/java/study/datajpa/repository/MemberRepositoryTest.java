@@ -1,19 +1,27 @@
 package study.datajpa.repository;
 
 import jakarta.persistence.EntityManager;
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.test.annotation.Rollback;
 import org.springframework.transaction.annotation.Transactional;
 import study.datajpa.dto.MemberDto;
 import study.datajpa.entity.Member;
 import study.datajpa.entity.Team;
+import study.datajpa.paging.KeysetCursor;
+import study.datajpa.repository.support.FetchPlan;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
@@ -189,4 +197,53 @@ class MemberRepositoryTest {
         System.out.println("findMember.createdBy = " + findMember.getCreatedBy());
         System.out.println("findMember.updatedBy = " + findMember.getLastModifiedBy());
     }
-}
\ No newline at end of file
+
+    @Test
+    @Rollback
+    public void keysetScroll() {
+        //given (username 이 같은 회원이 페이지 경계에 걸치도록)
+        for (int i = 0; i < 10; i++) {
+            memberRepository.save(new Member("keyset" + (i % 3), i));
+        }
+        em.flush();
+        em.clear();
+        Sort sort = Sort.by(Sort.Direction.DESC, "username", "id");
+
+        //when (커서 문자열을 거쳐서 끝까지 스크롤)
+        List<Long> scrolled = new ArrayList<>();
+        String after = null;
+        do {
+            Window<Member> window = memberRepository.scroll(sort, KeysetCursor.decode(after), 4);
+            window.forEach(m -> scrolled.add(m.getId()));
+            after = window.hasNext() ? KeysetCursor.encode(window.positionAt(window.size() - 1)) : null;
+        } while (after != null);
+
+        //then (offset 없이 조회해도 전체 정렬 결과와 같음)
+        List<Long> sorted = memberRepository.findAll(sort).stream().map(Member::getId).toList();
+        assertThat(scrolled).isEqualTo(sorted);
+        assertThat(memberRepository.scroll(sort, ScrollPosition.keyset(), 4).hasNext()).isTrue();
+        assertThrows(InvalidDataAccessApiUsageException.class, () -> memberRepository.scroll(sort, ScrollPosition.keyset(), 0));
+    }
+
+    @Test
+    @Rollback
+    public void fetchPlan() {
+        //given
+        Team team = new Team("teamA");
+        teamRepository.save(team);
+        memberRepository.save(new Member("fetchPlan", 10, team));
+        em.flush();
+        em.clear();
+        PageRequest pageRequest = PageRequest.of(0, 2000, Sort.by(Sort.Direction.DESC, "id"));
+
+        //when
+        Member lazy = memberRepository.findAll(pageRequest, FetchPlan.none()).get(0);
+        em.clear();
+        Member expanded = memberRepository.findAll(pageRequest, FetchPlan.expand("team", Set.of("team"))).get(0);
+
+        //then (기본은 team join 없음, expand=team 이면 함께 조회)
+        assertThat(Hibernate.isInitialized(lazy.getTeam())).isFalse();
+        assertThat(Hibernate.isInitialized(expanded.getTeam())).isTrue();
+        assertThat(new MemberDto(expanded).getTeamName()).isEqualTo("teamA");
+    }
+}
@@ -0,0 +1,129 @@
+package study.datajpa.repository.support;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.DataJpaApplication;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+import study.datajpa.repository.MemberRepository;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 페치 전략별로 실행된 SQL 수, select 컬럼 수, 조회 row 수, 응답 시간
+ * - JUnit 테스트가 아니다. main 으로 직접 실행한다. (application.properties 의 DB 사용)
+ * - 회원 10,000 명 / 팀 100 개, 1,000 명 페이지
+ */
+public class FetchPlanBenchmark {
+
+    static final int MEMBERS = 10_000;
+    static final int TEAMS = 100;
+    static final PageRequest PAGE = PageRequest.of(0, 1_000, Sort.by(Sort.Direction.DESC, "id"));
+    static final int WARMUP = 20;
+    static final int ITERATIONS = 50;
+
+    public static void main(String[] args) {
+        String[] overrides = {
+                "--spring.jpa.properties.hibernate.session_factory.statement_inspector=" + SqlCapture.class.getName(),
+                "--logging.level.org.hibernate.SQL=warn", "--logging.level.root=warn"};
+        String[] all = new String[overrides.length + args.length];
+        System.arraycopy(overrides, 0, all, 0, overrides.length);
+        System.arraycopy(args, 0, all, overrides.length, args.length);
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(DataJpaApplication.class)
+                .web(WebApplicationType.NONE).run(all)) {
+            EntityManager em = context.getBean(EntityManager.class);
+            MemberRepository memberRepository = context.getBean(MemberRepository.class);
+            TransactionTemplate tx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+            prepare(em, tx);
+
+            System.out.printf("%-34s %6s %8s %6s %10s%n", "mode", "sql", "columns", "rows", "avg(ms)");
+            run(tx, "none (join 없음)", () -> memberRepository.findAll(PAGE, FetchPlan.none()), Member::getUsername);
+            run(tx, "expand=team (fetch graph)", () -> memberRepository.findAll(PAGE, FetchPlan.expand("team", Set.of("team"))),
+                    FetchPlanBenchmark::teamName);
+            run(tx, "none + team 접근 (지연 로딩 N+1)", () -> memberRepository.findAll(PAGE, FetchPlan.none()),
+                    FetchPlanBenchmark::teamName);
+        }
+    }
+
+    private static String teamName(Member member) {
+        return member.getTeam() != null ? member.getTeam().getName() : "";
+    }
+
+    private static void prepare(EntityManager em, TransactionTemplate tx) {
+        tx.executeWithoutResult(s -> {
+            Team[] teams = new Team[TEAMS];
+            for (int i = 0; i < TEAMS; i++) {
+                teams[i] = new Team("team" + i);
+                em.persist(teams[i]);
+            }
+            for (int i = 0; i < MEMBERS; i++) {
+                em.persist(new Member("bench" + i, i % 100, teams[i % TEAMS]));
+                if (i % 1_000 == 0) {
+                    em.flush();
+                }
+            }
+        });
+    }
+
+    private static void run(TransactionTemplate tx, String mode, Supplier<List<Member>> query,
+                            Function<Member, String> use) {
+        for (int i = 0; i < WARMUP; i++) {
+            tx.execute(s -> touch(query.get(), use));
+        }
+
+        SqlCapture.statements.clear();
+        long rows = tx.execute(s -> touch(query.get(), use));
+        List<String> statements = List.copyOf(SqlCapture.statements);
+        int columns = statements.stream().mapToInt(FetchPlanBenchmark::selectColumns).sum();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            tx.execute(s -> touch(query.get(), use));
+        }
+        double avg = (System.nanoTime() - start) / 1e6 / ITERATIONS;
+        System.out.printf("%-34s %6d %8d %6d %10.2f%n", mode, statements.size(), columns, rows, avg);
+    }
+
+    // 응답을 만들 때처럼 조회한 회원의 값을 모두 읽는다.
+    private static long touch(List<Member> members, Function<Member, String> use) {
+        long rows = 0;
+        for (Member member : members) {
+            if (use.apply(member) != null) {
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    // select 와 첫 from 사이의 컬럼 수
+    private static int selectColumns(String sql) {
+        String lower = sql.toLowerCase();
+        int from = lower.indexOf(" from ");
+        return from < 0 ? 0 : lower.substring(lower.indexOf("select") + 6, from).split(",").length;
+    }
+
+    public static class SqlCapture implements StatementInspector {
+
+        private static final long serialVersionUID = 1L;
+
+        static final List<String> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package study.datajpa.snapshot;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.format.support.FormattingConversionService;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 커밋 후 evict 를 확인하므로 @Transactional 을 붙이지 않고 직접 정리한다.
+ */
+@SpringBootTest
+class MemberSnapshotCacheTest {
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    MemberSnapshotCache cache;
+
+    @Autowired
+    FormattingConversionService mvcConversionService;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    List<Long> ids = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        cache.evictAll();
+        for (int i = 0; i < 3; i++) {
+            ids.add(memberRepository.save(new Member("snapshot" + i, 10 + i)).getId());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        memberRepository.deleteAllById(ids);
+    }
+
+    @Test
+    public void evictOnSaveAndDelete() {
+        Long id = ids.get(0);
+        MemberSnapshot first = cache.get(id);
+        assertThat(first.username()).isEqualTo("snapshot0");
+        assertThat(cache.get(id)).isSameAs(first);
+
+        //변경 감지로 수정
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                memberRepository.findById(id).get().setUsername("renamed"));
+        assertThat(cache.get(id).username()).isEqualTo("renamed");
+
+        memberRepository.deleteById(id);
+        ids.remove(id);
+        assertThat(cache.get(id)).isNull();
+    }
+
+    @Test
+    public void batchConvert() {
+        cache.get(ids.get(1));
+        String source = ids.get(2) + ", 0," + ids.get(1) + "," + ids.get(0);
+
+        Object converted = mvcConversionService.convert(source, TypeDescriptor.valueOf(String.class),
+                TypeDescriptor.collection(List.class, TypeDescriptor.valueOf(MemberSnapshot.class)));
+
+        //요청 순서대로, 없는 id(0)는 빠짐
+        assertThat(converted).asList()
+                .extracting("username")
+                .containsExactly("snapshot2", "snapshot1", "snapshot0");
+        assertThat(cache.size()).isEqualTo(3);
+    }
+
+    @Test
+    public void makeRoomInBatches() {
+        SnapshotProperties properties = new SnapshotProperties();
+        properties.setMaxEntries(20);
+        MemberSnapshotCache small = new MemberSnapshotCache(properties,
+                ids -> ids.stream().map(id -> new MemberSnapshot(id, "m" + id, 0, null)).toList(),
+                new SimpleMeterRegistry());
+
+        small.getAll(LongStream.rangeClosed(1, 20).boxed().toList());
+        assertThat(small.size()).isEqualTo(20);
+
+        //가득 차면 한 건이 아니라 1/10(2건)만큼 비운다 -> 다음 한 건은 비우지 않고 담는다
+        small.get(21L);
+        assertThat(small.size()).isEqualTo(19);
+        small.get(22L);
+        assertThat(small.size()).isEqualTo(20);
+    }
+
+    @Test
+    public void evictDuringLoad() {
+        MemberSnapshotCache[] holder = new MemberSnapshotCache[1];
+        holder[0] = new MemberSnapshotCache(new SnapshotProperties(), ids -> {
+            holder[0].evict(ids.iterator().next()); //조회 중 수정
+            return ids.stream().map(id -> new MemberSnapshot(id, "stale", 0, null)).toList();
+        }, new SimpleMeterRegistry());
+
+        assertThat(holder[0].get(1L).username()).isEqualTo("stale");
+        assertThat(holder[0].size()).isZero();
+    }
+}
@@ -0,0 +1,89 @@
+package study.datajpa.snapshot;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import study.datajpa.DataJpaApplication;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberRepository;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * 도메인 클래스 컨버터(/members2/{id}) vs 스냅샷 캐시 컨버터(/members3/{id}, /members3?ids=)
+ * - JUnit 테스트가 아니다. main 으로 직접 실행한다. (application.properties 의 DB 사용)
+ * - 자주 조회되는 회원 100명을 돌아가며 조회, 요청당 SQL 수와 응답 시간
+ */
+public class SnapshotConverterBenchmark {
+
+    static final int HOT_MEMBERS = 100;
+    static final int WARMUP = 2_000;
+    static final int REQUESTS = 10_000;
+
+    public static void main(String[] args) throws Exception {
+        String[] overrides = {"--server.port=0", "--spring.jpa.properties.hibernate.generate_statistics=true",
+                "--logging.level.org.hibernate.SQL=warn", "--logging.level.root=warn"};
+        String[] all = new String[overrides.length + args.length];
+        System.arraycopy(overrides, 0, all, 0, overrides.length);
+        System.arraycopy(args, 0, all, overrides.length, args.length);
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(DataJpaApplication.class).run(all)) {
+            MemberRepository memberRepository = context.getBean(MemberRepository.class);
+            List<Long> ids = new ArrayList<>();
+            for (int i = 0; i < HOT_MEMBERS; i++) {
+                ids.add(memberRepository.save(new Member("hot" + i, i)).getId());
+            }
+            Statistics statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+            String base = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+            HttpClient client = HttpClient.newHttpClient();
+
+            StringJoiner batch = new StringJoiner(",");
+            ids.stream().limit(20).forEach(id -> batch.add(id.toString()));
+
+            System.out.printf("%-28s %14s %14s%n", "request", "sql/request", "us/request");
+            run(client, statistics, "/members2/{id} (findById)", i -> base + "/members2/" + ids.get(i % HOT_MEMBERS));
+            run(client, statistics, "/members3/{id} (snapshot)", i -> base + "/members3/" + ids.get(i % HOT_MEMBERS));
+            context.getBean(MemberSnapshotCache.class).evictAll();
+            run(client, statistics, "/members3?ids= (20, cold)", i -> {
+                if (i % 50 == 0) {
+                    context.getBean(MemberSnapshotCache.class).evictAll();
+                }
+                return base + "/members3?ids=" + batch;
+            });
+        }
+    }
+
+    interface Url {
+        String get(int i);
+    }
+
+    private static void run(HttpClient client, Statistics statistics, String name, Url url) throws Exception {
+        for (int i = 0; i < WARMUP; i++) {
+            send(client, url.get(i));
+        }
+        statistics.clear();
+        long start = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            send(client, url.get(i));
+        }
+        double micros = (System.nanoTime() - start) / 1e3 / REQUESTS;
+        System.out.printf("%-28s %14.3f %14.1f%n", name, (double) statistics.getPrepareStatementCount() / REQUESTS, micros);
+    }
+
+    private static void send(HttpClient client, String url) throws Exception {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(url)).build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(url + " " + response.statusCode() + " " + response.body());
+        }
+    }
+}
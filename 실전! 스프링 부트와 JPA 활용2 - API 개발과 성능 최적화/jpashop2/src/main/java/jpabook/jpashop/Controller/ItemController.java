@@ -1,7 +1,8 @@
 package jpabook.jpashop.Controller;
 
 import jpabook.jpashop.domain.item.Book;
-import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.repository.query.ItemListDto;
+import jpabook.jpashop.repository.query.ItemQueryRepository;
 import jpabook.jpashop.service.ItemService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Controller;
@@ -10,6 +11,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.thymeleaf.context.LazyContextVariable;
 
 import java.util.List;
 
@@ -18,6 +20,7 @@ import java.util.List;
 public class ItemController {
 
     private final ItemService itemService;
+    private final ItemQueryRepository itemQueryRepository;
 
     @GetMapping(value = "/items/new")
     public String createForm(Model model) {
@@ -39,10 +42,18 @@ public class ItemController {
         return "redirect:/items";
     }
 
+    /**
+     * 상품 목록 - 표는 jpashop:cache 로 캐시된다. (item 테이블이 바뀔 때까지)
+     * items 는 화면에서 처음 참조할 때 조회하므로 캐시 히트면 쿼리가 나가지 않는다.
+     */
     @GetMapping("/items")
     public String list(Model model) {
-        List<Item> items = itemService.findItems();
-        model.addAttribute("items", items);
+        model.addAttribute("items", new LazyContextVariable<List<ItemListDto>>() {
+            @Override
+            protected List<ItemListDto> loadValue() {
+                return itemQueryRepository.findItemListDtos();
+            }
+        });
         return "items/itemList";
     }
 
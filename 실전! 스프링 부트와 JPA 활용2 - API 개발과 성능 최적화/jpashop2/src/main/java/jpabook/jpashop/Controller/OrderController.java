@@ -1,36 +1,31 @@
 package jpabook.jpashop.Controller;
 
-import jpabook.jpashop.domain.Member;
-import jpabook.jpashop.domain.Order;
 import jpabook.jpashop.domain.OrderSearch;
-import jpabook.jpashop.domain.item.Item;
-import jpabook.jpashop.service.ItemService;
-import jpabook.jpashop.service.MemberService;
+import jpabook.jpashop.repository.query.OrderListPage;
+import jpabook.jpashop.repository.query.OrderQueryRepository;
+import jpabook.jpashop.service.GroupCommitOrderService;
 import jpabook.jpashop.service.OrderService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @Controller
 @RequiredArgsConstructor
 public class OrderController {
 
     private final OrderService orderService;
-    private final MemberService memberService;
-    private final ItemService itemService;
-
-    @GetMapping("/order")
-    public String createForm(Model model) {
-
-        List<Member> members = memberService.findMembers();
-        List<Item> items = itemService.findItems();
+    private final GroupCommitOrderService groupCommitOrderService;
+    private final OrderQueryRepository orderQueryRepository;
 
-        model.addAttribute("members", members);
-        model.addAttribute("items", items);
+    private static final int MAX_PAGE_SIZE = 100;
 
+    /**
+     * 주문 폼 - 회원/상품은 자동완성(/api/members/suggest, /api/items/suggest)으로 고른다.
+     * 전체 목록을 select 에 그리지 않으므로 테이블 크기와 상관없이 쿼리 없이 렌더링
+     */
+    @GetMapping("/order")
+    public String createForm() {
         return "order/orderForm";
     }
 
@@ -39,15 +34,24 @@ public class OrderController {
                         @RequestParam("itemId") Long itemId,
                         @RequestParam("count") int count) {
 
-        orderService.order(memberId, itemId, count);
+        groupCommitOrderService.order(memberId, itemId, count); // 그룹 커밋이 꺼져 있으면 orderService.order
         return "redirect:/orders";
     }
 
+    /**
+     * 주문 목록 - 키셋 페이징, 화면 컬럼만 DTO 로 조회 (페이지당 쿼리 1번)
+     */
     @GetMapping("/orders")
-    public String list(@ModelAttribute("orderSearch") OrderSearch orderSearch, Model model) {
+    public String list(@ModelAttribute("orderSearch") OrderSearch orderSearch,
+                       @RequestParam(value = "before", required = false) Long before,
+                       @RequestParam(value = "after", required = false) Long after,
+                       @RequestParam(value = "size", defaultValue = "20") int size,
+                       Model model) {
 
-        List<Order> orders = orderService.findOrders(orderSearch);
-        model.addAttribute("orders", orders);
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        OrderListPage page = orderQueryRepository.findOrderListPage(orderSearch, before, after, pageSize);
+        model.addAttribute("page", page);
+        model.addAttribute("size", pageSize);
         return "order/orderList";
     }
 
@@ -56,4 +60,10 @@ public class OrderController {
         orderService.cancelOrder(orderId);
         return "redirect:/orders";
     }
+
+    @PostMapping("/orders/{orderId}/complete")
+    public String completeDelivery(@PathVariable("orderId") Long orderId) {
+        orderService.completeDelivery(orderId);
+        return "redirect:/orders";
+    }
 }
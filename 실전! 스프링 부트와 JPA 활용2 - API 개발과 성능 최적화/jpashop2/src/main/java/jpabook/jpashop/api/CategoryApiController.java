@@ -0,0 +1,93 @@
+package jpabook.jpashop.api;
+
+import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.etag.ConditionalGet;
+import jpabook.jpashop.service.CategoryService;
+import jpabook.jpashop.service.CategoryTree;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@RestController
+@RequiredArgsConstructor
+public class CategoryApiController {
+
+    private final CategoryService categoryService;
+
+    /**
+     * 카테고리 트리 - 메모리 스냅샷을 그대로 반환 (쿼리 없음)
+     */
+    @ConditionalGet(tables = "category")
+    @GetMapping("/api/categories")
+    public Result<List<CategoryTree.Node>> categories() {
+        return new Result<>(categoryService.categoryTree().getRoots());
+    }
+
+    /**
+     * 카테고리 상품 목록 - 데이터 쿼리 1번 + count 쿼리 1번
+     * subtree=true(기본) 이면 하위 카테고리의 상품까지 포함
+     */
+    @ConditionalGet(tables = {"category", "category_path", "category_item", "item"})
+    @GetMapping("/api/categories/{id}/items")
+    public ItemPage categoryItems(@PathVariable("id") Long id,
+                                  @RequestParam(value = "subtree", defaultValue = "true") boolean subtree,
+                                  @RequestParam(value = "offset", defaultValue = "0") int offset,
+                                  @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        List<Item> found = subtree
+                ? categoryService.findItemsInSubtree(id, offset, limit)
+                : categoryService.findItemsInCategory(id, offset, limit);
+        long totalCount = subtree
+                ? categoryService.countItemsInSubtree(id)
+                : categoryService.countItemsInCategory(id);
+
+        List<CategoryItemDto> items = found.stream()
+                .map(CategoryItemDto::new)
+                .collect(Collectors.toList());
+        return new ItemPage(items, totalCount);
+    }
+
+    /**
+     * 상품 연결 / 해제 - 각각 INSERT, DELETE 1번
+     */
+    @PostMapping("/api/categories/{id}/items/{itemId}")
+    public void addItem(@PathVariable("id") Long id, @PathVariable("itemId") Long itemId) {
+        categoryService.addItem(id, itemId);
+    }
+
+    @DeleteMapping("/api/categories/{id}/items/{itemId}")
+    public void removeItem(@PathVariable("id") Long id, @PathVariable("itemId") Long itemId) {
+        categoryService.removeItem(id, itemId);
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class Result<T> {
+        private T data;
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class ItemPage {
+        private List<CategoryItemDto> data;
+        private long totalCount;
+    }
+
+    @Data
+    static class CategoryItemDto {
+        private Long itemId;
+        private String name;
+        private int price;
+        private int stockQuantity;
+
+        public CategoryItemDto(Item item) {
+            itemId = item.getId();
+            name = item.getName();
+            price = item.getPrice();
+            stockQuantity = item.getStockQuantity();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package jpabook.jpashop.api;
+
+import jpabook.jpashop.domain.item.Album;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.domain.item.Movie;
+import jpabook.jpashop.repository.query.ItemQueryRepository;
+import jpabook.jpashop.search.ItemSearchIndex;
+import jpabook.jpashop.search.ItemSearchService;
+import jpabook.jpashop.typeahead.Suggestion;
+import jpabook.jpashop.typeahead.TypeaheadService;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@RestController
+@RequiredArgsConstructor
+public class ItemApiController {
+
+    private static final int MAX_LIMIT = 100;
+
+    private final ItemSearchService itemSearchService;
+    private final ItemQueryRepository itemQueryRepository;
+    private final TypeaheadService typeaheadService;
+
+    /**
+     * 상품 목록 - 엔티티 대신 필요한 컬럼만 DTO 로 조회
+     * dtype 없음       : 전체 상품 공통 뷰 (id, name, price), id 순
+     * dtype=B|A|M     : 해당 타입 상세 뷰 (Book: author, isbn / Album: artist, etc / Movie: director, actor)
+     * dtype + summary : 해당 타입 공통 뷰 (커버링 인덱스만 읽음)
+     */
+    @GetMapping("/api/items")
+    public Result<List<?>> items(@RequestParam(value = "dtype", required = false) String dtype,
+                                 @RequestParam(value = "summary", defaultValue = "false") boolean summary,
+                                 @RequestParam(value = "offset", defaultValue = "0") int offset,
+                                 @RequestParam(value = "limit", defaultValue = "100") int limit) {
+        if (offset < 0 || limit < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "offset, limit must not be negative");
+        }
+        int size = Math.min(limit, MAX_LIMIT);
+        if (dtype == null) {
+            return new Result<>(itemQueryRepository.findItemSummaryPage(offset, size));
+        }
+        if (summary) {
+            return new Result<>(itemQueryRepository.findItemSummaries(itemType(dtype), offset, size));
+        }
+        return new Result<>(switch (dtype) {
+            case "B" -> itemQueryRepository.findBooks(offset, size);
+            case "A" -> itemQueryRepository.findAlbums(offset, size);
+            case "M" -> itemQueryRepository.findMovies(offset, size);
+            default -> throw unknownType(dtype);
+        });
+    }
+
+    private static Class<? extends Item> itemType(String dtype) {
+        return switch (dtype) {
+            case "B" -> Book.class;
+            case "A" -> Album.class;
+            case "M" -> Movie.class;
+            default -> throw unknownType(dtype);
+        };
+    }
+
+    private static ResponseStatusException unknownType(String dtype) {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, "unknown dtype: " + dtype);
+    }
+
+    /**
+     * 상품 검색 - 상품명, 저자/ISBN(책), 아티스트(앨범), 감독/배우(영화)
+     * DB 조회 없이 메모리 역색인에서 점수 상위 limit 건
+     * 모든 단어를 접두어로도 찾는다. ex) q=jpa kim -> 상품명에 jpa..., 저자에 kim... 이 모두 있는 상품
+     */
+    @GetMapping("/api/items/search")
+    public Result<List<ItemSearchDto>> search(@RequestParam("q") String q,
+                                              @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        List<ItemSearchDto> collect = itemSearchService.search(q, Math.min(limit, MAX_LIMIT)).stream()
+                .map(ItemSearchDto::new)
+                .collect(Collectors.toList());
+        return new Result<>(collect);
+    }
+
+    /**
+     * 상품명 자동완성 (주문 화면) - 메모리 접두어 인덱스에서 limit 건
+     */
+    @GetMapping("/api/items/suggest")
+    public Result<List<Suggestion>> suggest(@RequestParam("q") String q,
+                                            @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        return new Result<>(typeaheadService.suggestItems(q, Math.max(1, Math.min(limit, MAX_LIMIT))));
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class Result<T> {
+        private T data;
+    }
+
+    @Data
+    static class ItemSearchDto {
+        private Long itemId;
+        private String type;
+        private String name;
+        private int price;
+        private int score;
+
+        public ItemSearchDto(ItemSearchIndex.Hit hit) {
+            itemId = hit.document().id();
+            type = hit.document().type();
+            name = hit.document().name();
+            price = hit.document().price();
+            score = hit.score();
+        }
+    }
+}
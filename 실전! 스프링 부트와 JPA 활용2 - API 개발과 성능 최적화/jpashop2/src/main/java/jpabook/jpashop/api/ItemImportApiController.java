@@ -0,0 +1,48 @@
+package jpabook.jpashop.api;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jpabook.jpashop.importer.ImportJob;
+import jpabook.jpashop.importer.ImportMode;
+import jpabook.jpashop.importer.ItemImportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+
+@RestController
+@RequiredArgsConstructor
+public class ItemImportApiController {
+
+    private final ItemImportService itemImportService;
+
+    /**
+     * 책 CSV 대량 가져오기 - 본문을 그대로 스트리밍으로 받는다. (multipart 크기 제한, 메모리 적재 없음)
+     * curl -X POST --data-binary @books.csv -H "Content-Type: text/csv" "localhost:8080/api/items/import?mode=upsert"
+     *
+     * 헤더 : name,price,stockQuantity,author,isbn
+     * 202 Accepted + 작업 상태, 진행 상황은 GET /api/items/import/{id}
+     */
+    @PostMapping(value = "/api/items/import", consumes = "text/csv")
+    public ResponseEntity<ImportJob> importItems(@RequestParam(value = "mode", defaultValue = "insert") String mode,
+                                                 HttpServletRequest request) throws IOException {
+        ImportJob job = itemImportService.submit(request.getInputStream(), importMode(mode));
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+    }
+
+    private static ImportMode importMode(String mode) {
+        try {
+            return ImportMode.valueOf(mode.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "unknown mode: " + mode);
+        }
+    }
+
+    @GetMapping("/api/items/import/{id}")
+    public ResponseEntity<ImportJob> importStatus(@PathVariable("id") String id) {
+        ImportJob job = itemImportService.findJob(id);
+        return job == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(job);
+    }
+}
@@ -3,7 +3,10 @@ package jpabook.jpashop.api;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotEmpty;
 import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.etag.ConditionalGet;
 import jpabook.jpashop.service.MemberService;
+import jpabook.jpashop.typeahead.Suggestion;
+import jpabook.jpashop.typeahead.TypeaheadService;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
@@ -16,7 +19,10 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class MemberApiController {
 
+    private static final int MAX_SUGGEST_LIMIT = 100;
+
     private final MemberService memberService;
+    private final TypeaheadService typeaheadService;
 
     /**
      * 회원 생성 - 요청 값으로 엔티티를 직접 받음.
@@ -84,7 +90,11 @@ public class MemberApiController {
      * Result 클래스로 컬렉션을 감싸서 향후 필요한 필드를 추가 할 수 있음.
      * collect => 배열
      * new Result(collect) => 객체? 겉을 감쌈
+     *
+     * == ETag ==
+     * member 테이블이 변경되지 않았으면 If-None-Match 요청에 쿼리 없이 304 응답
      */
+    @ConditionalGet(tables = "member")
     @GetMapping("api/v2/members")
     public Result membersV2() {
         List<Member> findMembers = memberService.findMembers();
@@ -95,6 +105,15 @@ public class MemberApiController {
         return new Result(collect);
     }
 
+    /**
+     * 회원 이름 자동완성 (주문 화면) - 메모리 접두어 인덱스에서 limit 건
+     */
+    @GetMapping("api/members/suggest")
+    public Result<List<Suggestion>> suggest(@RequestParam("q") String q,
+                                            @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        return new Result<>(typeaheadService.suggestMembers(q, Math.max(1, Math.min(limit, MAX_SUGGEST_LIMIT))));
+    }
+
     @Data
     @AllArgsConstructor
     static class Result<T> {
@@ -1,6 +1,7 @@
 package jpabook.jpashop.api;
 
 import jpabook.jpashop.domain.*;
+import jpabook.jpashop.etag.ConditionalGet;
 import jpabook.jpashop.repository.query.OrderFlatDto;
 import jpabook.jpashop.repository.query.OrderItemQueryDto;
 import jpabook.jpashop.repository.query.OrderQueryDto;
@@ -200,7 +201,9 @@ public class OrderApiController {
     /**
      * V5. JPA에서 DTO로 바로 조회, 컬렉션 1 조회 최적화 버전 (1 + 1 Query)
      * - 페이징 가능
+     * - ETag 지원 : 관련 테이블이 변경되지 않았으면 쿼리 없이 304 응답 (폴링 대응)
      */
+    @ConditionalGet(tables = {"orders", "order_item", "member", "delivery", "item"})
     @GetMapping("/api/v5/orders")
     public List<OrderQueryDto> ordersV5() {
         return orderQueryRepository.findAllByDto_optimization();
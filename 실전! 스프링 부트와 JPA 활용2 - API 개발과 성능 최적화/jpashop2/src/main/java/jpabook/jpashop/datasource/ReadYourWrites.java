@@ -0,0 +1,54 @@
+package jpabook.jpashop.datasource;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+
+/**
+ * read-your-writes 보장
+ * - 쓰기 트랜잭션이 커밋되면 stickyWindow 동안 같은 요청자의 읽기를 primary 로 보낸다.
+ * - 같은 스레드(요청) 안에서는 ThreadLocal, 이후 요청은 쿠키로 이어간다. (ReadYourWritesFilter)
+ */
+public abstract class ReadYourWrites {
+
+    public static final String COOKIE_NAME = "rw-sticky";
+
+    private static final ThreadLocal<Long> stickyUntil = new ThreadLocal<>();
+
+    public static boolean isSticky() {
+        Long until = stickyUntil.get();
+        return until != null && until > System.currentTimeMillis();
+    }
+
+    public static void stickUntil(long epochMillis) {
+        stickyUntil.set(epochMillis);
+    }
+
+    public static void clear() {
+        stickyUntil.remove();
+    }
+
+    /**
+     * 현재 스레드(요청)에 쓰기가 커밋됐음을 남긴다. 요청 처리 중이면 응답에 쿠키도 추가한다.
+     */
+    public static void markWritten(Duration stickyWindow) {
+        long until = System.currentTimeMillis() + stickyWindow.toMillis();
+        stickyUntil.set(until);
+
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            HttpServletResponse response = servletAttributes.getResponse();
+            if (response != null && !response.isCommitted()) {
+                Cookie cookie = new Cookie(COOKIE_NAME, Long.toString(until));
+                cookie.setPath("/");
+                cookie.setHttpOnly(true);
+                cookie.setMaxAge((int) Math.max(1, stickyWindow.toSeconds()));
+                response.addCookie(cookie);
+            }
+        }
+    }
+}
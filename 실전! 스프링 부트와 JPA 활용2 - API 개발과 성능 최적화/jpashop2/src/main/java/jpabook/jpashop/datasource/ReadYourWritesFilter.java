@@ -0,0 +1,47 @@
+package jpabook.jpashop.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * 이전 요청에서 쓰기가 있었으면(쿠키) 남은 시간 동안 읽기를 primary 로 고정한다.
+ * - 쿠키 값은 클라이언트가 바꿀 수 있으므로 지금부터 stickyWindow 이후까지로 제한한다.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private final Duration stickyWindow;
+
+    public ReadYourWritesFilter(Duration stickyWindow) {
+        this.stickyWindow = stickyWindow;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if (ReadYourWrites.COOKIE_NAME.equals(cookie.getName())) {
+                    try {
+                        long until = Long.parseLong(cookie.getValue());
+                        ReadYourWrites.stickUntil(Math.min(until, System.currentTimeMillis() + stickyWindow.toMillis()));
+                    } catch (NumberFormatException ignored) {
+                    }
+                }
+            }
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadYourWrites.clear();
+        }
+    }
+}
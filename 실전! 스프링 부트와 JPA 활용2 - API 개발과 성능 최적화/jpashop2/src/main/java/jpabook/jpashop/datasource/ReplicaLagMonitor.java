@@ -0,0 +1,74 @@
+package jpabook.jpashop.datasource;
+
+import jpabook.jpashop.datasource.ReplicationRoutingDataSource.Replica;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.util.StringUtils;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 주기적으로 replica 복제 지연을 조회해서 maxLag 를 넘으면 라우팅 대상에서 제외한다.
+ * - MariaDB : SHOW SLAVE STATUS 의 Seconds_Behind_Master (null 이면 복제 중단으로 보고 제외)
+ * - lagQuery 가 비어있으면 검사하지 않음
+ */
+@Slf4j
+public class ReplicaLagMonitor implements DisposableBean {
+
+    private final List<Replica> replicas;
+    private final ReplicationProperties properties;
+    private final ScheduledExecutorService scheduler;
+
+    public ReplicaLagMonitor(List<Replica> replicas, ReplicationProperties properties) {
+        this.replicas = replicas;
+        this.properties = properties;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "replica-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (StringUtils.hasText(properties.getLagQuery()) && !replicas.isEmpty()) {
+            long interval = properties.getLagCheckInterval().toMillis();
+            scheduler.scheduleWithFixedDelay(this::checkAll, 0, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    void checkAll() {
+        for (Replica replica : replicas) {
+            boolean available = check(replica);
+            if (available != replica.isAvailable()) {
+                log.warn("replica {} {}", replica.getName(), available ? "back in rotation" : "excluded (replication lag)");
+            }
+            replica.setAvailable(available);
+        }
+    }
+
+    private boolean check(Replica replica) {
+        try (Connection con = replica.getDataSource().getConnection();
+             Statement stmt = con.createStatement();
+             ResultSet rs = stmt.executeQuery(properties.getLagQuery())) {
+            if (!rs.next()) {
+                return true; // 복제 설정이 없는 단독 DB
+            }
+            long lagSeconds = rs.getLong(properties.getLagColumn());
+            if (rs.wasNull()) {
+                return false;
+            }
+            return lagSeconds <= properties.getMaxLag().toSeconds();
+        } catch (Exception e) {
+            log.warn("replica {} lag check failed: {}", replica.getName(), e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,5 @@
+package jpabook.jpashop.datasource;
+
+public enum ReplicaSelection {
+    ROUND_ROBIN, LEAST_LOADED
+}
@@ -0,0 +1,79 @@
+package jpabook.jpashop.datasource;
+
+import jpabook.jpashop.datasource.ReplicationRoutingDataSource.Replica;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * jpashop.datasource.replication.enabled=true 일 때만 라우팅 DataSource 등록
+ * (기본은 스프링 부트 DataSource 자동 설정 그대로 사용)
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "jpashop.datasource.replication", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicationProperties.class)
+public class ReplicationDataSourceConfig {
+
+    @Bean
+    public ReplicationRoutingDataSource routingDataSource(DataSourceProperties dataSourceProperties,
+                                                          ReplicationProperties properties) {
+        DataSource primary = dataSourceProperties.initializeDataSourceBuilder().build();
+
+        List<Replica> replicas = new ArrayList<>();
+        for (int i = 0; i < properties.getReplicas().size(); i++) {
+            ReplicationProperties.Replica config = properties.getReplicas().get(i);
+            String name = StringUtils.hasText(config.getName()) ? config.getName() : "replica-" + i;
+            DataSource dataSource = DataSourceBuilder.create()
+                    .url(config.getUrl())
+                    .username(config.getUsername())
+                    .password(config.getPassword())
+                    .driverClassName(config.getDriverClassName())
+                    .build();
+            replicas.add(new Replica(name, dataSource));
+        }
+
+        return new ReplicationRoutingDataSource(primary, replicas, properties.getSelection(), properties.getStickyWindow());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicationRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    /**
+     * open-in-view(기본 on)이면 요청 내내 EntityManager 가 열려 있고, 스프링 기본값(DELAYED_ACQUISITION_AND_HOLD)은
+     * 처음 가져온 커넥션을 요청이 끝날 때까지 쥐고 있다. -> readOnly 조회 다음의 쓰기 트랜잭션이 replica 커넥션을 그대로 사용
+     * 트랜잭션이 끝날 때마다 커넥션을 반납해서 트랜잭션마다 라우팅을 다시 결정하게 한다.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionAfterTransaction() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(ReplicationRoutingDataSource routingDataSource,
+                                               ReplicationProperties properties) {
+        return new ReplicaLagMonitor(routingDataSource.getReplicas(), properties);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(ReplicationProperties properties) {
+        return new FilterRegistrationBean<>(new ReadYourWritesFilter(properties.getStickyWindow()));
+    }
+}
@@ -0,0 +1,45 @@
+package jpabook.jpashop.datasource;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 읽기 전용 복제본(replica) 설정
+ * - primary 는 기존 spring.datasource 설정을 그대로 사용한다.
+ */
+@Getter @Setter
+@ConfigurationProperties(prefix = "jpashop.datasource.replication")
+public class ReplicationProperties {
+
+    private boolean enabled = false;
+
+    private ReplicaSelection selection = ReplicaSelection.ROUND_ROBIN;
+
+    // 허용 복제 지연, 초과한 replica 는 lag 이 회복될 때까지 라우팅에서 제외
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    private Duration lagCheckInterval = Duration.ofSeconds(2);
+
+    // 지연 조회 쿼리, 비워두면 검사하지 않음(내장 DB 등)
+    private String lagQuery = "SHOW SLAVE STATUS";
+    private String lagColumn = "Seconds_Behind_Master";
+
+    // 쓰기 트랜잭션 커밋 후 이 시간 동안은 읽기도 primary 로 보냄 (read-your-writes)
+    private Duration stickyWindow = Duration.ofSeconds(3);
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    @Getter @Setter
+    public static class Replica {
+        private String name;
+        private String url;
+        private String username;
+        private String password;
+        private String driverClassName;
+    }
+}
@@ -0,0 +1,131 @@
+package jpabook.jpashop.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.Getter;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @Transactional(readOnly = true) -> replica, 그 외 -> primary
+ *
+ * 주의: 트랜잭션의 readOnly 여부는 커넥션 획득 이후에 설정되므로
+ *      반드시 LazyConnectionDataSourceProxy 로 감싸서 실제 쿼리 시점에 커넥션을 가져와야 한다.
+ *
+ * - replica 선택 : ROUND_ROBIN, LEAST_LOADED(활성 커넥션 수가 가장 적은 replica)
+ * - 복제 지연이 maxLag 를 넘은 replica 는 제외, 사용할 replica 가 없으면 primary
+ * - 쓰기 커밋 직후 stickyWindow 동안은 primary 로 읽음 (ReadYourWrites)
+ */
+public class ReplicationRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+
+    private final List<Replica> replicas;
+    private final ReplicaSelection selection;
+    private final Duration stickyWindow;
+    private final AtomicInteger counter = new AtomicInteger();
+
+    public ReplicationRoutingDataSource(DataSource primary, List<Replica> replicas,
+                                        ReplicaSelection selection, Duration stickyWindow) {
+        this.replicas = List.copyOf(replicas);
+        this.selection = selection;
+        this.stickyWindow = stickyWindow;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (Replica replica : replicas) {
+            targets.put(replica.getName(), replica.getDataSource());
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            registerStickyAfterCommit();
+            return PRIMARY;
+        }
+        if (ReadYourWrites.isSticky()) {
+            return PRIMARY;
+        }
+        Replica replica = selectReplica();
+        return replica == null ? PRIMARY : replica.getName();
+    }
+
+    private void registerStickyAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()
+                && TransactionSynchronizationManager.isActualTransactionActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    ReadYourWrites.markWritten(stickyWindow);
+                }
+            });
+        }
+    }
+
+    private Replica selectReplica() {
+        int size = replicas.size();
+        if (size == 0) {
+            return null;
+        }
+
+        if (selection == ReplicaSelection.LEAST_LOADED) {
+            Replica selected = null;
+            for (Replica replica : replicas) {
+                if (replica.isAvailable()
+                        && (selected == null || replica.activeConnections() < selected.activeConnections())) {
+                    selected = replica;
+                }
+            }
+            return selected;
+        }
+
+        int start = Math.floorMod(counter.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.isAvailable()) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    @Getter
+    public static class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean available = true; // 복제 지연 검사 결과 (ReplicaLagMonitor)
+
+        public Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        public void setAvailable(boolean available) {
+            this.available = available;
+        }
+
+        int activeConnections() {
+            if (dataSource instanceof HikariDataSource hikari) {
+                HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+                return pool == null ? 0 : pool.getActiveConnections();
+            }
+            return 0;
+        }
+    }
+}
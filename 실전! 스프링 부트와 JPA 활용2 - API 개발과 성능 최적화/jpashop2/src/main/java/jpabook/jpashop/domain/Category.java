@@ -1,7 +1,6 @@
 package jpabook.jpashop.domain;
 
 import jakarta.persistence.*;
-import jpabook.jpashop.domain.item.Item;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -18,12 +17,6 @@ public class Category {
 
     private String name;
 
-    @ManyToMany // 예제일 뿐, 사용하지 말자
-    @JoinTable(name = "category_item",
-            joinColumns = @JoinColumn(name = "category_id"),
-            inverseJoinColumns = @JoinColumn(name = "item_id"))
-    private List<Item> items = new ArrayList<>();
-
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "parent_id")
     private Category parent;
@@ -31,9 +24,41 @@ public class Category {
     @OneToMany(mappedBy = "parent")
     private List<Category> child = new ArrayList<>();
 
+    // 이 카테고리가 자손인 경로 (자기 자신 포함) -> 클로저 테이블
+    @OneToMany(mappedBy = "descendant", cascade = CascadeType.ALL)
+    private List<CategoryPath> ancestorPaths = new ArrayList<>();
+
     //== 연관관계 편의 메서드 ==//
+    /**
+     * 자식 추가 + 클로저 테이블 경로 추가
+     * child 아래에 이미 만들어 둔 하위 트리가 있으면 그 노드들의 경로도 함께 추가한다.
+     * (다른 부모 아래에서 옮겨오는 경우는 지원하지 않음)
+     */
     public void addChildCategory(Category child) {
+        if (child.getParent() != null) {
+            throw new IllegalStateException("이미 부모가 있는 카테고리입니다.");
+        }
         this.child.add(child);
         child.setParent(this);
+
+        addSelfPath();
+        addPathsFromAncestors(child, 1);
+    }
+
+    private void addPathsFromAncestors(Category node, int distance) {
+        node.addSelfPath();
+        for (CategoryPath path : ancestorPaths) {
+            node.ancestorPaths.add(new CategoryPath(path.getAncestor(), node, path.getDepth() + distance));
+        }
+        for (Category grandChild : node.getChild()) {
+            addPathsFromAncestors(grandChild, distance + 1);
+        }
+    }
+
+    @PrePersist
+    private void addSelfPath() {
+        if (ancestorPaths.stream().noneMatch(p -> p.getDepth() == 0)) {
+            ancestorPaths.add(new CategoryPath(this, this, 0));
+        }
     }
 }
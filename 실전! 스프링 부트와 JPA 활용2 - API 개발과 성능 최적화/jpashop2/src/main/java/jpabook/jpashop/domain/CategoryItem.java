@@ -0,0 +1,40 @@
+package jpabook.jpashop.domain;
+
+import jakarta.persistence.*;
+import jpabook.jpashop.domain.item.Item;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 카테고리 - 상품 연결 엔티티 (@ManyToMany 대체)
+ * - @ManyToMany List(bag)는 한 건만 추가/삭제해도 연결 테이블의 해당 카테고리 행을 전부 지우고 다시 넣는다.
+ * - 연결 한 건 = 엔티티 한 건이므로 추가는 INSERT 1번, 삭제는 DELETE 1번
+ * - 양쪽 엔티티에 컬렉션을 두지 않는다. 연결 추가를 위해 컬렉션 전체를 로딩할 일이 없도록 CategoryRepository 로만 다룬다.
+ */
+@Entity
+@Table(name = "category_item",
+        indexes = @Index(name = "idx_category_item_item", columnList = "item_id, category_id"))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class CategoryItem {
+
+    @EmbeddedId
+    private CategoryItemId id;
+
+    @MapsId("categoryId")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "category_id")
+    private Category category;
+
+    @MapsId("itemId")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "item_id")
+    private Item item;
+
+    public CategoryItem(Category category, Item item) {
+        this.id = new CategoryItemId(category.getId(), item.getId());
+        this.category = category;
+        this.item = item;
+    }
+}
@@ -0,0 +1,33 @@
+package jpabook.jpashop.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.io.Serializable;
+
+/**
+ * CategoryItem 복합 키 (category_id, item_id) -> PK 인덱스가 카테고리 -> 상품 방향 조회를 커버
+ */
+@Embeddable
+@Getter
+@EqualsAndHashCode
+public class CategoryItemId implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Column(name = "category_id")
+    private Long categoryId;
+
+    @Column(name = "item_id")
+    private Long itemId;
+
+    protected CategoryItemId() {
+    }
+
+    public CategoryItemId(Long categoryId, Long itemId) {
+        this.categoryId = categoryId;
+        this.itemId = itemId;
+    }
+}
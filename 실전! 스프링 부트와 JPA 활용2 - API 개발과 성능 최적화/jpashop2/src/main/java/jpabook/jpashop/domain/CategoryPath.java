@@ -0,0 +1,40 @@
+package jpabook.jpashop.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 카테고리 클로저 테이블 : 조상 -> 자손 모든 경로를 한 행씩 저장 (자기 자신도 depth 0 으로 포함)
+ * - 하위 트리 전체 = ancestor_id 로 한 번 조회, 부모를 따라 한 단계씩 지연 로딩할 필요가 없다.
+ * - Category.addChildCategory() 에서만 만든다.
+ */
+@Entity
+@Table(name = "category_path",
+        uniqueConstraints = @UniqueConstraint(name = "uk_category_path", columnNames = {"ancestor_id", "descendant_id"}),
+        indexes = @Index(name = "idx_category_path_descendant", columnList = "descendant_id, depth"))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class CategoryPath {
+
+    @Id @GeneratedValue
+    @Column(name = "category_path_id")
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "ancestor_id", nullable = false)
+    private Category ancestor;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "descendant_id", nullable = false)
+    private Category descendant;
+
+    private int depth;
+
+    CategoryPath(Category ancestor, Category descendant, int depth) {
+        this.ancestor = ancestor;
+        this.descendant = descendant;
+        this.depth = depth;
+    }
+}
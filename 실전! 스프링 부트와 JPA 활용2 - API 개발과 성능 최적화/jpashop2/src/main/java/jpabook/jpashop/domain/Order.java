@@ -1,6 +1,7 @@
 package jpabook.jpashop.domain;
 
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import org.hibernate.annotations.BatchSize;
@@ -10,7 +11,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = @Index(name = "idx_orders_status", columnList = "status, order_id")) // 상태 검색 + 키셋 페이징
 @Getter @Setter
 public class Order {
 
@@ -35,6 +36,11 @@ public class Order {
     @Enumerated(EnumType.STRING)
     private OrderStatus status; // 주문상태 [ORDER, CANCEL]
 
+    // 아직 발행하지 않은 도메인 이벤트 (id 가 정해진 뒤 pullEvents() 에서 만든다)
+    @Transient
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    private final List<OrderEvent.Type> pendingEvents = new ArrayList<>();
+
     //== 연관관계 편의 메서드 ==//
     public void setMember(Member member) {
         this.member = member;
@@ -61,6 +67,7 @@ public class Order {
         }
         order.setStatus(OrderStatus.ORDER);
         order.setOrderDate(LocalDateTime.now());
+        order.pendingEvents.add(OrderEvent.Type.CREATED);
         return order;
     }
 
@@ -75,6 +82,35 @@ public class Order {
         for (OrderItem orderItem : orderItems) {
             orderItem.cancel();
         }
+        pendingEvents.add(OrderEvent.Type.CANCELED);
+    }
+
+    // 배송 완료
+    public void completeDelivery() {
+        if (status == OrderStatus.CANCEL) {
+            throw new IllegalStateException("취소된 주문은 배송완료 처리할 수 없습니다.");
+        }
+        if (delivery.getStatus() == DeliveryStatus.COMP) {
+            throw new IllegalStateException("이미 배송완료된 주문입니다.");
+        }
+
+        delivery.setStatus(DeliveryStatus.COMP);
+        pendingEvents.add(OrderEvent.Type.DELIVERY_COMPLETED);
+    }
+
+    //== 이벤트 ==//
+    // 쌓인 이벤트를 꺼낸다. persist 이후에 호출해야 orderId 가 채워진다.
+    public List<OrderEvent> pullEvents() {
+        if (pendingEvents.isEmpty()) {
+            return List.of();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<OrderEvent> events = new ArrayList<>(pendingEvents.size());
+        for (OrderEvent.Type type : pendingEvents) {
+            events.add(new OrderEvent(type, id, member.getId(), getTotalPrice(), now));
+        }
+        pendingEvents.clear();
+        return events;
     }
 
     //== 조회 로직 ==//
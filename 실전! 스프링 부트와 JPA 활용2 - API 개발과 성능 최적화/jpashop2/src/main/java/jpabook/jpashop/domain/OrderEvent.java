@@ -0,0 +1,13 @@
+package jpabook.jpashop.domain;
+
+import java.time.LocalDateTime;
+
+/**
+ * 주문 도메인 이벤트 - 다른 스레드에서 처리되므로 엔티티 대신 값만 담는다.
+ */
+public record OrderEvent(Type type, Long orderId, Long memberId, int totalPrice, LocalDateTime occurredAt) {
+
+    public enum Type {
+        CREATED, CANCELED, DELIVERY_COMPLETED
+    }
+}
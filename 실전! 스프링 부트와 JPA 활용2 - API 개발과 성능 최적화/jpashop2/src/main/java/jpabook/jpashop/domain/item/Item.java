@@ -1,15 +1,16 @@
 package jpabook.jpashop.domain.item;
 
 import jakarta.persistence.*;
-import jpabook.jpashop.domain.Category;
 import jpabook.jpashop.exception.NotEnoughStockException;
 import lombok.Getter;
 import lombok.Setter;
 
-import java.util.ArrayList;
-import java.util.List;
-
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_item_name_price", columnList = "name, price"), // 공통 뷰 커버링 (InnoDB 보조 인덱스는 PK 포함)
+        @Index(name = "idx_item_dtype_name", columnList = "dtype, name, price"), // 타입별 뷰 커버링
+        @Index(name = "idx_item_isbn", columnList = "isbn") // 가져오기 upsert 키 (Book)
+})
 @Inheritance(strategy = InheritanceType.SINGLE_TABLE) // 상속인 클래스 -> 하나의 테이블로 생성
 @DiscriminatorColumn(name = "dtype")
 @Getter @Setter
@@ -25,9 +26,6 @@ public abstract class Item {
 
     private int stockQuantity; // 재고
 
-    @ManyToMany(mappedBy = "items")
-    private List<Category> categories = new ArrayList<>();
-
     //== 비즈니스 로직 ==// @Setter 대신 로직 구현
     // stock 증가
     public void addStock(int quantity) {
@@ -0,0 +1,18 @@
+package jpabook.jpashop.etag;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 조회 API 에 테이블 버전 기반 ETag 를 붙인다.
+ * - tables : 응답을 만드는 데 사용하는 테이블 이름 (하나라도 변경되면 ETag 가 바뀜)
+ * - If-None-Match 가 현재 ETag 와 같으면 컨트롤러(쿼리) 실행 없이 304 응답
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConditionalGet {
+
+    String[] tables();
+}
@@ -0,0 +1,70 @@
+package jpabook.jpashop.etag;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 테이블별 변경 버전
+ * - 커밋된 insert/update/delete 마다 해당 테이블의 버전을 1 증가시킨다. (TableVersionEventListener)
+ * - ETag 는 응답 본문을 해싱하지 않고 관련 테이블 버전만으로 만든다. -> 쿼리 없이 계산 가능
+ *
+ * 주의: 벌크 연산(JPQL update/delete, 네이티브 쿼리)은 이벤트 리스너를 거치지 않으므로
+ *      벌크 연산 후에는 bump() 또는 bumpAfterCommit()을 직접 호출해야 한다.
+ */
+@Component
+public class TableVersions {
+
+    // 재시작하면 버전이 0부터 다시 시작하므로, 이전 프로세스가 발급한 ETag 와 겹치지 않도록 기동 시각을 섞는다.
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    public void bump(String table) {
+        versions.computeIfAbsent(normalize(table), t -> new AtomicLong()).incrementAndGet();
+    }
+
+    /**
+     * 벌크 연산용 : 트랜잭션 안이면 커밋 후에 증가시킨다.
+     * 커밋 전에 올리면 그 사이 조회가 이전 데이터에 새 ETag 를 붙일 수 있다.
+     */
+    public void bumpAfterCommit(String table) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            bump(table);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                bump(table);
+            }
+        });
+    }
+
+    public long version(String table) {
+        AtomicLong version = versions.get(normalize(table));
+        return version == null ? 0 : version.get();
+    }
+
+    /**
+     * 테이블 버전들을 조합한 강한(strong) ETag, ex) "lq3k1x-3.0.12"
+     */
+    public String etag(String... tables) {
+        StringBuilder sb = new StringBuilder("\"").append(epoch).append('-');
+        for (int i = 0; i < tables.length; i++) {
+            if (i > 0) {
+                sb.append('.');
+            }
+            sb.append(version(tables[i]));
+        }
+        return sb.append('"').toString();
+    }
+
+    private static String normalize(String table) {
+        return table.toLowerCase();
+    }
+}
@@ -0,0 +1,16 @@
+package jpabook.jpashop.event;
+
+/**
+ * 링 버퍼가 가득 찼을 때 발행하는 쪽(커밋한 요청 스레드)의 처리 방법
+ */
+public enum BackpressurePolicy {
+
+    // 빈 자리가 날 때까지 기다린다. block-timeout 이 지나면 버리고 rejected 로 센다.
+    BLOCK,
+
+    // 새 이벤트를 바로 버리고 rejected 로 센다. 요청 지연이 가장 중요할 때
+    DROP,
+
+    // 발행한 스레드에서 핸들러를 직접 실행한다. 유실은 없지만 그만큼 요청이 느려진다.
+    CALLER_RUNS
+}
@@ -0,0 +1,16 @@
+package jpabook.jpashop.event;
+
+import java.util.List;
+
+/**
+ * 이벤트를 모아서 받는 핸들러. 소비 스레드 하나에서 순서대로 호출된다.
+ * 예외를 던져도 다음 배치는 계속 처리된다. (로그 + jpashop.events.handler.errors)
+ */
+public interface BatchHandler<E> {
+
+    void handle(List<E> batch);
+
+    default String name() {
+        return getClass().getSimpleName();
+    }
+}
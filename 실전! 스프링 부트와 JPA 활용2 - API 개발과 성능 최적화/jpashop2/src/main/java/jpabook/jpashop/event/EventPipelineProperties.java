@@ -0,0 +1,23 @@
+package jpabook.jpashop.event;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter @Setter
+@ConfigurationProperties(prefix = "jpashop.events")
+public class EventPipelineProperties {
+
+    // 링 버퍼 크기 (2의 거듭제곱으로 올림)
+    private int capacity = 4096;
+
+    // 핸들러에 한 번에 넘기는 최대 이벤트 수
+    private int maxBatch = 256;
+
+    private BackpressurePolicy backpressure = BackpressurePolicy.BLOCK;
+
+    // BLOCK 일 때 최대 대기 시간
+    private Duration blockTimeout = Duration.ofSeconds(1);
+}
@@ -0,0 +1,41 @@
+package jpabook.jpashop.event;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jpabook.jpashop.domain.OrderEvent;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * OrderService 가 발행한 OrderEvent 를 커밋 후에 링 버퍼로 넘긴다. (롤백되면 버려진다)
+ * 핸들러(BatchHandler<OrderEvent> 빈)는 요청 스레드가 아닌 소비 스레드에서 배치로 실행되므로 주문 응답 시간에 더해지지 않는다.
+ */
+@Component
+@EnableConfigurationProperties(EventPipelineProperties.class)
+public class OrderEventDispatcher implements DisposableBean {
+
+    private final RingBufferExecutor<OrderEvent> executor;
+
+    public OrderEventDispatcher(List<BatchHandler<OrderEvent>> handlers, EventPipelineProperties properties,
+                                MeterRegistry registry) {
+        this.executor = new RingBufferExecutor<>("order", properties.getCapacity(), properties.getMaxBatch(),
+                properties.getBackpressure(), properties.getBlockTimeout(), handlers, registry);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderEvent(OrderEvent event) {
+        executor.publish(event);
+    }
+
+    public int queueDepth() {
+        return executor.queueDepth();
+    }
+
+    @Override
+    public void destroy() {
+        executor.close();
+    }
+}
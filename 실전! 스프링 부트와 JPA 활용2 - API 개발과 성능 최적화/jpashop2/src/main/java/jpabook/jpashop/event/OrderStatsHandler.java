@@ -0,0 +1,45 @@
+package jpabook.jpashop.event;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jpabook.jpashop.domain.OrderEvent;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 주문 통계 카운터 - jpashop.orders{event} : 건수, jpashop.orders.amount{event} : 금액 합계
+ */
+@Component
+public class OrderStatsHandler implements BatchHandler<OrderEvent> {
+
+    private final Map<OrderEvent.Type, Counter> counts = new EnumMap<>(OrderEvent.Type.class);
+    private final Map<OrderEvent.Type, Counter> amounts = new EnumMap<>(OrderEvent.Type.class);
+
+    public OrderStatsHandler(MeterRegistry registry) {
+        for (OrderEvent.Type type : OrderEvent.Type.values()) {
+            String tag = type.name().toLowerCase();
+            counts.put(type, Counter.builder("jpashop.orders").tag("event", tag).register(registry));
+            amounts.put(type, Counter.builder("jpashop.orders.amount").tag("event", tag).register(registry));
+        }
+    }
+
+    @Override
+    public void handle(List<OrderEvent> batch) {
+        // 배치 안에서 먼저 합산하고 카운터는 종류별로 한 번씩만 올린다.
+        long[] count = new long[OrderEvent.Type.values().length];
+        long[] amount = new long[count.length];
+        for (OrderEvent event : batch) {
+            count[event.type().ordinal()]++;
+            amount[event.type().ordinal()] += event.totalPrice();
+        }
+        for (OrderEvent.Type type : OrderEvent.Type.values()) {
+            if (count[type.ordinal()] > 0) {
+                counts.get(type).increment(count[type.ordinal()]);
+                amounts.get(type).increment(amount[type.ordinal()]);
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package jpabook.jpashop.event;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 락 없는 다중 생산자 / 단일 소비자 고정 크기 링 버퍼 (Vyukov bounded queue)
+ * - 칸마다 시퀀스를 두고, 생산자는 tail 을 CAS 로 선점한 뒤 값을 쓰고 시퀀스를 올려 공개한다.
+ * - 소비자는 시퀀스가 공개된 칸까지만 읽고, 칸의 시퀀스를 한 바퀴 뒤로 돌려 생산자에게 돌려준다.
+ */
+class RingBuffer<E> {
+
+    private final int mask;
+    private final Object[] buffer;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong(); // 소비자만 쓴다. 크기 조회용으로 원자 변수
+
+    RingBuffer(int capacity) {
+        int size = capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = size - 1;
+        this.buffer = new Object[size];
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * @return 가득 찼으면 false
+     */
+    boolean offer(E element) {
+        while (true) {
+            long position = tail.get();
+            int index = (int) (position & mask);
+            long diff = sequences.get(index) - position;
+            if (diff == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    buffer[index] = element;
+                    sequences.set(index, position + 1); // volatile 쓰기로 값 공개
+                    return true;
+                }
+            } else if (diff < 0) {
+                return false;
+            }
+            // diff > 0 : 다른 생산자가 먼저 선점, 다시 시도
+        }
+    }
+
+    /**
+     * 공개된 이벤트를 최대 max 건 꺼내 담는다. 소비자 스레드에서만 호출
+     */
+    @SuppressWarnings("unchecked")
+    int drainTo(List<E> sink, int max) {
+        long position = head.get();
+        int count = 0;
+        while (count < max) {
+            int index = (int) (position & mask);
+            if (sequences.get(index) != position + 1) {
+                break;
+            }
+            sink.add((E) buffer[index]);
+            buffer[index] = null;
+            sequences.set(index, position + mask + 1);
+            position++;
+            count++;
+        }
+        head.lazySet(position);
+        return count;
+    }
+
+    int size() {
+        return (int) Math.max(0, tail.get() - head.get());
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+}
@@ -0,0 +1,169 @@
+package jpabook.jpashop.event;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 링 버퍼 + 소비 스레드 하나
+ * - publish() 는 락 없이 버퍼에 넣고 바로 돌아온다. 가득 차면 BackpressurePolicy 를 따른다.
+ * - 소비 스레드는 쌓인 이벤트를 maxBatch 건씩 꺼내 모든 핸들러에 같은 배치를 순서대로 넘긴다.
+ * - 메트릭 (name 태그)
+ *   jpashop.events.queue.depth / capacity, jpashop.events.published, jpashop.events.rejected,
+ *   jpashop.events.batch.size, jpashop.events.handler{handler} : 배치 처리 시간, jpashop.events.handler.errors{handler}
+ */
+@Slf4j
+public class RingBufferExecutor<E> implements AutoCloseable {
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final String name;
+    private final RingBuffer<E> buffer;
+    private final List<BatchHandler<E>> handlers;
+    private final int maxBatch;
+    private final BackpressurePolicy policy;
+    private final long blockTimeoutNanos;
+    private final Thread consumer;
+
+    private final Counter published;
+    private final Counter rejected;
+    private final DistributionSummary batchSize;
+    private final List<Timer> handlerTimers = new ArrayList<>();
+    private final List<Counter> handlerErrors = new ArrayList<>();
+
+    private volatile boolean running = true;
+    private volatile boolean idle;
+
+    public RingBufferExecutor(String name, int capacity, int maxBatch, BackpressurePolicy policy,
+                              Duration blockTimeout, List<? extends BatchHandler<E>> handlers, MeterRegistry registry) {
+        this.name = name;
+        this.buffer = new RingBuffer<>(capacity);
+        this.handlers = List.copyOf(handlers);
+        this.maxBatch = maxBatch;
+        this.policy = policy;
+        this.blockTimeoutNanos = blockTimeout.toNanos();
+
+        Gauge.builder("jpashop.events.queue.depth", buffer, RingBuffer::size).tag("name", name).register(registry);
+        Gauge.builder("jpashop.events.queue.capacity", buffer, RingBuffer::capacity).tag("name", name).register(registry);
+        this.published = Counter.builder("jpashop.events.published").tag("name", name).register(registry);
+        this.rejected = Counter.builder("jpashop.events.rejected").tag("name", name)
+                .tag("policy", policy.name()).register(registry);
+        this.batchSize = DistributionSummary.builder("jpashop.events.batch.size").tag("name", name).register(registry);
+        for (BatchHandler<E> handler : this.handlers) {
+            handlerTimers.add(Timer.builder("jpashop.events.handler").tag("name", name)
+                    .tag("handler", handler.name()).publishPercentileHistogram().register(registry));
+            handlerErrors.add(Counter.builder("jpashop.events.handler.errors").tag("name", name)
+                    .tag("handler", handler.name()).register(registry));
+        }
+
+        this.consumer = new Thread(this::consume, name + "-events");
+        this.consumer.setDaemon(true);
+        this.consumer.start();
+    }
+
+    /**
+     * @return 버퍼에 넣었거나 직접 처리했으면 true, 버렸으면 false
+     */
+    public boolean publish(E event) {
+        if (running && buffer.offer(event)) {
+            published.increment();
+            if (idle) {
+                LockSupport.unpark(consumer);
+            }
+            return true;
+        }
+        return switch (policy) {
+            case BLOCK -> block(event);
+            case DROP -> reject(event);
+            case CALLER_RUNS -> {
+                published.increment();
+                dispatch(List.of(event));
+                yield true;
+            }
+        };
+    }
+
+    private boolean block(E event) {
+        long deadline = System.nanoTime() + blockTimeoutNanos;
+        while (running && System.nanoTime() < deadline) {
+            LockSupport.unpark(consumer);
+            LockSupport.parkNanos(FULL_PARK_NANOS);
+            if (buffer.offer(event)) {
+                published.increment();
+                return true;
+            }
+        }
+        return reject(event);
+    }
+
+    private boolean reject(E event) {
+        rejected.increment();
+        log.warn("[{}] event rejected ({}), queue full: {}", name, policy, event);
+        return false;
+    }
+
+    public int queueDepth() {
+        return buffer.size();
+    }
+
+    private void consume() {
+        List<E> batch = new ArrayList<>(maxBatch);
+        while (running || buffer.size() > 0) {
+            if (buffer.drainTo(batch, maxBatch) == 0) {
+                idle = true;
+                if (buffer.size() == 0 && running) { // idle 표시 후 다시 확인해서 깨우기 신호를 놓치지 않는다.
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+                idle = false;
+                continue;
+            }
+            batchSize.record(batch.size());
+            dispatch(batch);
+            batch.clear();
+        }
+    }
+
+    /**
+     * CALLER_RUNS 로 요청 스레드에서도 호출될 수 있다. 핸들러는 동시 호출에 안전해야 한다.
+     */
+    private void dispatch(List<E> batch) {
+        List<E> view = List.copyOf(batch);
+        for (int i = 0; i < handlers.size(); i++) {
+            BatchHandler<E> handler = handlers.get(i);
+            long start = System.nanoTime();
+            try {
+                handler.handle(view);
+            } catch (RuntimeException e) {
+                handlerErrors.get(i).increment();
+                log.error("[{}] handler {} failed for {} events", name, handler.name(), view.size(), e);
+            } finally {
+                handlerTimers.get(i).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    /**
+     * 새 이벤트는 더 받지 않고, 남은 이벤트를 모두 처리한 뒤 소비 스레드를 끝낸다.
+     * 기다리는 중 인터럽트되면 인터럽트 상태만 되돌려 놓고 바로 반환한다.
+     */
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(consumer);
+        try {
+            consumer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package jpabook.jpashop.fragmentcache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jpabook.jpashop.etag.TableVersions;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 렌더링된 템플릿 조각 캐시
+ * - 키 = 조각 이름 + 의존 테이블 버전 (TableVersions). 커밋된 변경이 있으면 버전이 바뀌어 자동으로 다시 렌더링된다.
+ *   ex) ItemService.saveItem/updateItem 커밋 -> item 버전 증가 -> itemList 조각 무효화
+ * - 이름마다 최신 버전 한 건만 보관하므로 조각 수 이상으로 커지지 않는다.
+ * - jpashop.fragment.cache{name, result=hit|miss} : 조회 수, jpashop.fragment.render{name} : 미스 시 렌더링 시간
+ */
+public class FragmentCache {
+
+    private final TableVersions tableVersions;
+    private final MeterRegistry registry;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, Meters> meters = new ConcurrentHashMap<>();
+
+    public FragmentCache(TableVersions tableVersions, MeterRegistry registry) {
+        this.tableVersions = tableVersions;
+        this.registry = registry;
+        Gauge.builder("jpashop.fragment.cache.size", entries, Map::size).register(registry);
+    }
+
+    /**
+     * 캐시된 조각을 돌려주거나, 없으면 렌더링해서 저장한다.
+     * 버전은 렌더링 전에 읽는다. 렌더링 중 변경이 커밋되면 이전 버전으로 저장되고 다음 요청에서 다시 렌더링된다.
+     */
+    public String get(String name, String[] tables, Supplier<String> renderer) {
+        String version = version(tables);
+        Meters meter = meters.computeIfAbsent(name, this::meters);
+        Entry entry = entries.get(name);
+        if (entry != null && entry.version().equals(version)) {
+            meter.hits.increment();
+            return entry.html();
+        }
+        meter.misses.increment();
+        long start = System.nanoTime();
+        String html = renderer.get();
+        meter.render.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        entries.put(name, new Entry(version, html));
+        return html;
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    private String version(String[] tables) {
+        StringBuilder sb = new StringBuilder();
+        for (String table : tables) {
+            sb.append(tableVersions.version(table)).append('.');
+        }
+        return sb.toString();
+    }
+
+    private Meters meters(String name) {
+        return new Meters(
+                Counter.builder("jpashop.fragment.cache").tag("name", name).tag("result", "hit").register(registry),
+                Counter.builder("jpashop.fragment.cache").tag("name", name).tag("result", "miss").register(registry),
+                Timer.builder("jpashop.fragment.render").tag("name", name).register(registry));
+    }
+
+    private record Entry(String version, String html) {
+    }
+
+    private record Meters(Counter hits, Counter misses, Timer render) {
+    }
+}
@@ -0,0 +1,26 @@
+package jpabook.jpashop.fragmentcache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jpabook.jpashop.etag.TableVersions;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * IDialect 빈은 스프링 부트가 템플릿 엔진에 등록한다.
+ * 템플릿이 jpashop:cache 를 쓰므로 방언은 항상 등록하고, 캐시 사용 여부만 설정으로 끈다.
+ */
+@Configuration
+@EnableConfigurationProperties(FragmentCacheProperties.class)
+public class FragmentCacheConfig {
+
+    @Bean
+    public FragmentCache fragmentCache(TableVersions tableVersions, MeterRegistry registry) {
+        return new FragmentCache(tableVersions, registry);
+    }
+
+    @Bean
+    public FragmentCacheDialect fragmentCacheDialect(FragmentCache fragmentCache, FragmentCacheProperties properties) {
+        return new FragmentCacheDialect(fragmentCache, properties);
+    }
+}
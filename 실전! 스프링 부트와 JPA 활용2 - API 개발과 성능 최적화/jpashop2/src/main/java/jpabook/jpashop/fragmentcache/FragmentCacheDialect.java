@@ -0,0 +1,28 @@
+package jpabook.jpashop.fragmentcache;
+
+import org.thymeleaf.dialect.AbstractProcessorDialect;
+import org.thymeleaf.processor.IProcessor;
+
+import java.util.Set;
+
+/**
+ * jpashop: 접두어 속성. Standard 방언(1000)보다 먼저 처리되도록 우선순위를 낮게 둔다.
+ */
+public class FragmentCacheDialect extends AbstractProcessorDialect {
+
+    private static final String PREFIX = "jpashop";
+
+    private final FragmentCache cache;
+    private final FragmentCacheProperties properties;
+
+    public FragmentCacheDialect(FragmentCache cache, FragmentCacheProperties properties) {
+        super("Jpashop Fragment Cache", PREFIX, 900);
+        this.cache = cache;
+        this.properties = properties;
+    }
+
+    @Override
+    public Set<IProcessor> getProcessors(String dialectPrefix) {
+        return Set.of(new FragmentCacheProcessor(dialectPrefix, cache, properties));
+    }
+}
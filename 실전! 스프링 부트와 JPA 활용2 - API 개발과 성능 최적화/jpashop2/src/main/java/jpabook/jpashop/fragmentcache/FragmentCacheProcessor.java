@@ -0,0 +1,88 @@
+package jpabook.jpashop.fragmentcache;
+
+import org.thymeleaf.context.ITemplateContext;
+import org.thymeleaf.engine.AttributeName;
+import org.thymeleaf.engine.TemplateManager;
+import org.thymeleaf.engine.TemplateModel;
+import org.thymeleaf.model.IModel;
+import org.thymeleaf.model.IModelFactory;
+import org.thymeleaf.model.IProcessableElementTag;
+import org.thymeleaf.processor.element.AbstractAttributeModelProcessor;
+import org.thymeleaf.processor.element.IElementModelStructureHandler;
+import org.thymeleaf.templatemode.TemplateMode;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+
+/**
+ * jpashop:cache="이름" [jpashop:cache-tables="테이블,..."]
+ * 요소(본문 포함)를 렌더링한 결과를 캐시하고, 다음 요청부터는 본문을 평가하지 않고 그대로 출력한다.
+ * - 본문에서 쓰는 모델 값을 LazyContextVariable 로 넘기면 캐시 히트 시 조회 쿼리도 나가지 않는다.
+ * - 캐시된 결과는 th:inline="none" 으로 감싸서 출력한다. 상품명 등에 들어있는 [[...]] 가 다시 평가되지 않도록
+ */
+class FragmentCacheProcessor extends AbstractAttributeModelProcessor {
+
+    static final String ATTRIBUTE = "cache";
+    static final String TABLES_ATTRIBUTE = "cache-tables";
+    private static final int PRECEDENCE = 10;
+
+    private final FragmentCache cache;
+    private final FragmentCacheProperties properties;
+
+    FragmentCacheProcessor(String dialectPrefix, FragmentCache cache, FragmentCacheProperties properties) {
+        super(TemplateMode.HTML, dialectPrefix, null, false, ATTRIBUTE, true, PRECEDENCE, false);
+        this.cache = cache;
+        this.properties = properties;
+    }
+
+    @Override
+    protected void doProcess(ITemplateContext context, IModel model, AttributeName attributeName,
+                             String attributeValue, IElementModelStructureHandler structureHandler) {
+        IModelFactory modelFactory = context.getModelFactory();
+        IProcessableElementTag first = (IProcessableElementTag) model.get(0);
+        String prefix = attributeName.getPrefix();
+        String tables = first.getAttributeValue(prefix, TABLES_ATTRIBUTE);
+
+        IProcessableElementTag stripped = modelFactory.removeAttribute(
+                modelFactory.removeAttribute(first, prefix, ATTRIBUTE), prefix, TABLES_ATTRIBUTE);
+        model.replace(0, stripped);
+        if (!properties.isEnabled()) {
+            return; // 나머지 속성/본문은 평소처럼 처리된다.
+        }
+
+        String html = cache.get(attributeValue.trim(), split(tables), () -> render(context, model));
+        model.reset();
+        model.add(modelFactory.createOpenElementTag("th:block", "th:inline", "none"));
+        model.add(modelFactory.createText(html));
+        model.add(modelFactory.createCloseElementTag("th:block"));
+    }
+
+    /**
+     * 요소를 현재 컨텍스트(모델 변수, th:each 지역 변수 등)로 따로 렌더링해서 문자열로 받는다.
+     */
+    private static String render(ITemplateContext context, IModel model) {
+        StringWriter markup = new StringWriter();
+        try {
+            model.write(markup);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // StringWriter 는 던지지 않는다.
+        }
+
+        TemplateManager templateManager = context.getConfiguration().getTemplateManager();
+        IProcessableElementTag first = (IProcessableElementTag) model.get(0);
+        TemplateModel fragment = templateManager.parseString(context.getTemplateData(), markup.toString(),
+                first.getLine(), first.getCol(), context.getTemplateMode(), false);
+
+        StringWriter out = new StringWriter();
+        templateManager.process(fragment, context, out);
+        return out.toString();
+    }
+
+    private static String[] split(String tables) {
+        if (tables == null || tables.isBlank()) {
+            return new String[0];
+        }
+        return tables.trim().split("\\s*,\\s*");
+    }
+}
@@ -0,0 +1,13 @@
+package jpabook.jpashop.fragmentcache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter @Setter
+@ConfigurationProperties(prefix = "jpashop.fragment-cache")
+public class FragmentCacheProperties {
+
+    // false 면 jpashop:cache 속성만 지우고 매번 렌더링한다. (비교/장애 대응용)
+    private boolean enabled = true;
+}
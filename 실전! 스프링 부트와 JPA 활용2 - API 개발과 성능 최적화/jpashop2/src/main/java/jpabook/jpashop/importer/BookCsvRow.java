@@ -0,0 +1,77 @@
+package jpabook.jpashop.importer;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 검증된 CSV 한 행
+ * 헤더 : name, price, stockQuantity(stock_quantity), author, isbn (순서 무관, 대소문자 무관)
+ */
+record BookCsvRow(long line, String name, int price, int stockQuantity, String author, String isbn) {
+
+    static final int MAX_LENGTH = 255;
+
+    /**
+     * 헤더 이름 -> 컬럼 위치
+     */
+    static Map<String, Integer> header(List<String> fields) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < fields.size(); i++) {
+            String name = fields.get(i).replace("\uFEFF", "").replace("_", "").toLowerCase(Locale.ROOT);
+            columns.put(name, i);
+        }
+        for (String required : List.of("name", "price", "stockquantity")) {
+            if (!columns.containsKey(required)) {
+                throw new IllegalArgumentException("헤더에 " + required + " 컬럼이 없습니다.");
+            }
+        }
+        return columns;
+    }
+
+    static BookCsvRow of(long line, List<String> fields, Map<String, Integer> header, ImportMode mode) {
+        if (fields.size() != header.size()) {
+            throw new IllegalArgumentException("컬럼 수 " + fields.size() + ", 헤더 " + header.size());
+        }
+        String name = text(fields, header, "name");
+        if (name == null) {
+            throw new IllegalArgumentException("name 이 비어있습니다.");
+        }
+        String isbn = text(fields, header, "isbn");
+        if (mode == ImportMode.UPSERT && isbn == null) {
+            throw new IllegalArgumentException("upsert 모드에서는 isbn 이 필요합니다.");
+        }
+        return new BookCsvRow(line, name,
+                number(fields, header, "price"),
+                number(fields, header, "stockquantity"),
+                text(fields, header, "author"),
+                isbn);
+    }
+
+    private static String text(List<String> fields, Map<String, Integer> header, String column) {
+        Integer index = header.get(column);
+        if (index == null || fields.get(index).isEmpty()) {
+            return null;
+        }
+        String value = fields.get(index);
+        if (value.length() > MAX_LENGTH) {
+            throw new IllegalArgumentException(column + " 길이 " + value.length() + " > " + MAX_LENGTH);
+        }
+        return value;
+    }
+
+    private static int number(List<String> fields, Map<String, Integer> header, String column) {
+        String value = fields.get(header.get(column));
+        int number;
+        try {
+            number = Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + " 숫자가 아닙니다: " + value);
+        }
+        if (number < 0) {
+            throw new IllegalArgumentException(column + " 음수입니다: " + number);
+        }
+        return number;
+    }
+}
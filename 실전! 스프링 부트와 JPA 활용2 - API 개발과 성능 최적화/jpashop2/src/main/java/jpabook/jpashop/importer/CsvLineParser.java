@@ -0,0 +1,43 @@
+package jpabook.jpashop.importer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CSV 한 줄 파싱 (RFC 4180)
+ * - 쉼표 구분, 큰따옴표로 감싼 필드 안의 쉼표 허용, "" 는 " 로
+ * - 필드 안 줄바꿈은 지원하지 않음 (상품 데이터에는 없음)
+ */
+abstract class CsvLineParser {
+
+    static List<String> parse(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("닫히지 않은 따옴표");
+        }
+        fields.add(field.toString().trim());
+        return fields;
+    }
+}
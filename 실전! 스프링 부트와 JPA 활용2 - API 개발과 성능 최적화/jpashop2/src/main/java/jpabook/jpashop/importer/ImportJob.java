@@ -0,0 +1,83 @@
+package jpabook.jpashop.importer;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 가져오기 진행 상황 (GET /api/items/import/{id})
+ * 작업 스레드 하나만 값을 바꾸고, 조회는 다른 스레드에서 하므로 volatile
+ */
+@Getter
+public class ImportJob {
+
+    public enum Status { RUNNING, COMPLETED, FAILED }
+
+    private final String id;
+    private final ImportMode mode;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    @JsonIgnore
+    private final long startNanos = System.nanoTime();
+
+    private volatile Status status = Status.RUNNING;
+    private volatile LocalDateTime finishedAt;
+    private volatile String failure;
+
+    private volatile long rowsRead;
+    private volatile long inserted;
+    private volatile long updated;
+    private volatile long rejected;
+    private volatile int chunks;
+    private volatile double lastChunkRowsPerSecond;
+
+    private final List<String> errors = Collections.synchronizedList(new ArrayList<>());
+
+    ImportJob(String id, ImportMode mode) {
+        this.id = id;
+        this.mode = mode;
+    }
+
+    public List<String> getErrors() {
+        synchronized (errors) {
+            return List.copyOf(errors);
+        }
+    }
+
+    public double getRowsPerSecond() {
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        return seconds == 0 ? 0 : (inserted + updated) / seconds;
+    }
+
+    void rowRead() {
+        rowsRead++;
+    }
+
+    void reject(long line, String message, int maxErrors) {
+        rejected++;
+        if (errors.size() < maxErrors) {
+            errors.add("line " + line + ": " + message);
+        }
+    }
+
+    void chunkDone(int inserted, int updated, long elapsedNanos) {
+        this.inserted += inserted;
+        this.updated += updated;
+        this.chunks++;
+        this.lastChunkRowsPerSecond = (inserted + updated) / (elapsedNanos / 1e9);
+    }
+
+    void complete() {
+        finishedAt = LocalDateTime.now();
+        status = Status.COMPLETED;
+    }
+
+    void fail(String message) {
+        finishedAt = LocalDateTime.now();
+        failure = message;
+        status = Status.FAILED;
+    }
+}
@@ -0,0 +1,6 @@
+package jpabook.jpashop.importer;
+
+public enum ImportMode {
+    INSERT, // 모든 행을 새 상품으로
+    UPSERT  // ISBN 이 같은 책이 있으면 수정, 없으면 추가
+}
@@ -0,0 +1,19 @@
+package jpabook.jpashop.importer;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter @Setter
+@ConfigurationProperties(prefix = "jpashop.item-import")
+public class ItemImportProperties {
+
+    // 트랜잭션 하나에서 처리할 행 수, 실패하면 이 단위로 롤백된다.
+    private int chunkSize = 5_000;
+
+    // JDBC batch 크기, 이 단위로 flush + clear (영속성 컨텍스트가 커지지 않도록)
+    private int batchSize = 500;
+
+    // 보관할 검증 오류 메시지 수 (거부된 행 수는 모두 센다)
+    private int maxErrors = 100;
+}
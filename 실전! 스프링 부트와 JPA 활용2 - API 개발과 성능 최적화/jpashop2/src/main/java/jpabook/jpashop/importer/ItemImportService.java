@@ -0,0 +1,220 @@
+package jpabook.jpashop.importer;
+
+import jakarta.persistence.EntityManager;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.repository.ItemRepository;
+import jpabook.jpashop.service.ItemsBulkChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * CSV 상품(책) 대량 가져오기
+ *
+ * ItemService.saveItem 을 행마다 호출하면 행마다 트랜잭션, merge 시 SELECT 가 붙어서 수십만 건은 불가능하다.
+ * - 파일을 통째로 메모리에 올리지 않고 FileChannel 에서 한 줄씩 읽는다.
+ * - 검증에 실패한 행은 건너뛰고 기록만 한다.
+ * - chunkSize 행마다 트랜잭션 하나, 그 안에서 batchSize 행마다 JDBC batch 로 flush 후 clear
+ * - upsert 모드 : batch 마다 ISBN in (...) 조회 1번으로 기존 책을 찾아 변경 감지로 수정, 없으면 추가
+ * - DB 오류가 나면 해당 chunk 만 롤백되고 작업은 FAILED (이전 chunk 는 이미 커밋됨)
+ *
+ * 작업은 단일 스레드에서 하나씩 실행된다. (동시에 여러 개 돌리면 DB 부하만 커진다)
+ */
+@Slf4j
+@Service
+@EnableConfigurationProperties(ItemImportProperties.class)
+public class ItemImportService implements DisposableBean {
+
+    private static final int MAX_JOBS = 20;
+
+    private final EntityManager em;
+    private final ItemRepository itemRepository;
+    private final TransactionTemplate tx;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ItemImportProperties properties;
+
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "item-import");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ItemImportService(EntityManager em, ItemRepository itemRepository, PlatformTransactionManager transactionManager,
+                             ApplicationEventPublisher eventPublisher, ItemImportProperties properties) {
+        this.em = em;
+        this.itemRepository = itemRepository;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW); // 호출한 쪽 트랜잭션과 상관없이 chunk 마다 커밋
+        this.eventPublisher = eventPublisher;
+        this.properties = properties;
+    }
+
+    /**
+     * 요청 본문을 임시 파일로 옮긴 뒤(스트리밍 복사) 백그라운드에서 가져온다.
+     */
+    public ImportJob submit(InputStream csv, ImportMode mode) throws IOException {
+        Path file = Files.createTempFile("item-import-", ".csv");
+        Files.copy(csv, file, StandardCopyOption.REPLACE_EXISTING);
+
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), mode);
+        evictFinishedJobs();
+        jobs.put(job.getId(), job);
+        executor.execute(() -> {
+            try {
+                run(job, file);
+            } finally {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    log.warn("failed to delete {}", file, e);
+                }
+            }
+        });
+        return job;
+    }
+
+    public ImportJob findJob(String id) {
+        return jobs.get(id);
+    }
+
+    void run(ImportJob job, Path file) {
+        log.info("import {} started ({})", job.getId(), job.getMode());
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+             BufferedReader reader = new BufferedReader(Channels.newReader(channel, StandardCharsets.UTF_8.newDecoder(), -1))) {
+
+            String headerLine = reader.readLine();
+            if (headerLine == null) {
+                throw new IllegalArgumentException("빈 파일입니다.");
+            }
+            Map<String, Integer> header = BookCsvRow.header(CsvLineParser.parse(headerLine));
+
+            List<BookCsvRow> chunk = new ArrayList<>(properties.getChunkSize());
+            long line = 1;
+            String text;
+            while ((text = reader.readLine()) != null) {
+                line++;
+                if (text.isBlank()) {
+                    continue;
+                }
+                job.rowRead();
+                try {
+                    chunk.add(BookCsvRow.of(line, CsvLineParser.parse(text), header, job.getMode()));
+                } catch (IllegalArgumentException e) {
+                    job.reject(line, e.getMessage(), properties.getMaxErrors());
+                }
+                if (chunk.size() == properties.getChunkSize()) {
+                    writeChunk(job, chunk);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                writeChunk(job, chunk);
+            }
+            job.complete();
+            log.info("import {} completed: read {}, inserted {}, updated {}, rejected {}, {} rows/s",
+                    job.getId(), job.getRowsRead(), job.getInserted(), job.getUpdated(), job.getRejected(),
+                    String.format("%.0f", job.getRowsPerSecond()));
+        } catch (Exception e) {
+            log.error("import {} failed", job.getId(), e);
+            job.fail(e.getMessage());
+        } finally {
+            if (job.getInserted() + job.getUpdated() > 0) {
+                eventPublisher.publishEvent(new ItemsBulkChangedEvent(job.getInserted() + job.getUpdated()));
+            }
+        }
+    }
+
+    private void writeChunk(ImportJob job, List<BookCsvRow> chunk) {
+        long start = System.nanoTime();
+        int[] counts = tx.execute(status -> {
+            em.unwrap(Session.class).setJdbcBatchSize(properties.getBatchSize());
+            int inserted = 0;
+            int updated = 0;
+            for (int from = 0; from < chunk.size(); from += properties.getBatchSize()) {
+                List<BookCsvRow> batch = chunk.subList(from, Math.min(from + properties.getBatchSize(), chunk.size()));
+                boolean upsert = job.getMode() == ImportMode.UPSERT;
+                Map<String, Book> existing = upsert ? findExisting(batch) : Map.of();
+                for (BookCsvRow row : batch) {
+                    Book book = row.isbn() == null ? null : existing.get(row.isbn());
+                    if (book == null) {
+                        book = new Book();
+                        apply(book, row); // persist 전에 값을 채워야 INSERT 뒤에 UPDATE 가 붙지 않는다.
+                        em.persist(book);
+                        inserted++;
+                        if (upsert && row.isbn() != null) {
+                            existing.put(row.isbn(), book); // 같은 batch 안의 중복 ISBN (INSERT 는 batch 경계와 상관없이 모두 추가)
+                        }
+                    } else {
+                        apply(book, row);
+                        updated++;
+                    }
+                }
+                em.flush();
+                em.clear();
+            }
+            return new int[]{inserted, updated};
+        });
+        long elapsed = System.nanoTime() - start;
+        job.chunkDone(counts[0], counts[1], elapsed);
+        log.info("import {} chunk {} (line {}): {} rows in {}ms, {} rows/s", job.getId(), job.getChunks(),
+                chunk.get(chunk.size() - 1).line(), chunk.size(), elapsed / 1_000_000,
+                String.format("%.0f", job.getLastChunkRowsPerSecond()));
+    }
+
+    private Map<String, Book> findExisting(List<BookCsvRow> batch) {
+        List<String> isbns = batch.stream().map(BookCsvRow::isbn).distinct().toList();
+        return itemRepository.findBooksByIsbn(isbns).stream()
+                .collect(Collectors.toMap(Book::getIsbn, Function.identity(), (a, b) -> a, HashMap::new)); // 중복 ISBN 을 더 넣음
+    }
+
+    private static void apply(Book book, BookCsvRow row) {
+        book.setName(row.name());
+        book.setPrice(row.price());
+        book.setStockQuantity(row.stockQuantity());
+        book.setAuthor(row.author());
+        book.setIsbn(row.isbn());
+    }
+
+    private void evictFinishedJobs() {
+        if (jobs.size() < MAX_JOBS) {
+            return;
+        }
+        jobs.values().stream()
+                .filter(j -> j.getStatus() != ImportJob.Status.RUNNING)
+                .min((a, b) -> a.getStartedAt().compareTo(b.getStartedAt()))
+                .ifPresent(j -> jobs.remove(j.getId()));
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,31 @@
+package jpabook.jpashop.jdbc;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+@Configuration
+public class JdbcInterceptionConfig {
+
+    /**
+     * "dataSource" 빈만 한 번 감싼다. (replica 라우팅 사용 시 내부 DataSource 까지 중복으로 감싸지 않도록)
+     * 등록된 StatementListener 가 없으면 감싸지 않는다.
+     */
+    @Bean
+    public static BeanPostProcessor jdbcInterceptionPostProcessor(ObjectProvider<StatementListener> listenerProvider) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && "dataSource".equals(beanName)) {
+                    List<StatementListener> listeners = listenerProvider.orderedStream().toList();
+                    return listeners.isEmpty() ? bean : InterceptingDataSource.wrap(dataSource, listeners);
+                }
+                return bean;
+            }
+        };
+    }
+}
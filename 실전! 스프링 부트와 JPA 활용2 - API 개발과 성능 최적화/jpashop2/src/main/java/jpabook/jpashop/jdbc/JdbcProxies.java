@@ -0,0 +1,31 @@
+package jpabook.jpashop.jdbc;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * JDBC 객체(DataSource, Connection, Statement, ResultSet)를 감싸는 JDK 동적 프록시 공통 처리
+ */
+public abstract class JdbcProxies {
+
+    // equals/hashCode 는 프록시 기준 (하이버네이트가 Statement 를 HashMap 에 보관함)
+    @SuppressWarnings("unchecked")
+    public static <T> T proxy(Class<?> type, InvocationHandler handler) {
+        InvocationHandler identity = (proxy, method, args) -> switch (method.getName()) {
+            case "equals" -> args.length == 1 ? proxy == args[0] : handler.invoke(proxy, method, args);
+            case "hashCode" -> args == null ? System.identityHashCode(proxy) : handler.invoke(proxy, method, args);
+            default -> handler.invoke(proxy, method, args);
+        };
+        return (T) Proxy.newProxyInstance(JdbcProxies.class.getClassLoader(), new Class<?>[]{type}, identity);
+    }
+
+    public static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package jpabook.jpashop.jdbc;
+
+import java.util.Arrays;
+
+/**
+ * Statement 실행 한 번의 정보
+ */
+public final class StatementExecution {
+
+    private final String sql;
+    private final Object[] parameters;
+    private final int maxIndex;
+    private final long elapsedNanos;
+    private final boolean failed;
+
+    StatementExecution(String sql, Object[] parameters, int maxIndex, long elapsedNanos, boolean failed) {
+        this.sql = sql;
+        this.parameters = parameters;
+        this.maxIndex = maxIndex;
+        this.elapsedNanos = elapsedNanos;
+        this.failed = failed;
+    }
+
+    public String sql() {
+        return sql;
+    }
+
+    /**
+     * 바인딩 파라미터 복사본 (1부터 사용). 파라미터를 모으지 않았으면 빈 배열
+     */
+    public Object[] parameters() {
+        return parameters == null ? new Object[0] : Arrays.copyOf(parameters, maxIndex + 1);
+    }
+
+    public long elapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public boolean failed() {
+        return failed;
+    }
+}
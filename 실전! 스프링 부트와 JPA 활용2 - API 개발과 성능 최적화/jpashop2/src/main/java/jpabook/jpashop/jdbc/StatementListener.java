@@ -0,0 +1,29 @@
+package jpabook.jpashop.jdbc;
+
+import javax.sql.DataSource;
+
+/**
+ * InterceptingDataSource 가 Statement 실행마다 호출하는 리스너 (SQL 추적, 슬로우 쿼리 기록 등)
+ * - 실행 시간은 체인에서 한 번만 잰다. 리스너마다 DataSource 를 따로 감싸지 않는다.
+ */
+public interface StatementListener {
+
+    /**
+     * 감싸기 전 DataSource. (리스너가 직접 SQL 을 실행해도 자기 자신이 기록되지 않도록)
+     */
+    default void attach(DataSource target) {
+    }
+
+    /**
+     * true 인 리스너가 하나라도 있을 때만 바인딩 파라미터를 모은다.
+     */
+    default boolean capturesParameters() {
+        return false;
+    }
+
+    /**
+     * 실행 직후 호출. 실패한 경우 result 는 null 이고 반환값은 무시된다.
+     * ResultSet 을 감싸야 하면 감싼 객체를, 아니면 result 를 그대로 반환한다.
+     */
+    Object afterExecute(StatementExecution execution, Object result);
+}
@@ -0,0 +1,28 @@
+package jpabook.jpashop.metrics;
+
+/**
+ * 현재 스레드에서 실행 중인 리포지토리 메서드 (ex. "OrderRepository.findAllByString")
+ * - RepositoryMetricsAspect 가 설정하고, SQL 을 기록하는 쪽(slow query 등)에서 호출 위치로 사용
+ */
+public abstract class RepositoryCallContext {
+
+    private static final ThreadLocal<String> current = new ThreadLocal<>();
+
+    public static String current() {
+        return current.get();
+    }
+
+    static String enter(String caller) {
+        String previous = current.get();
+        current.set(caller);
+        return previous;
+    }
+
+    static void exit(String previous) {
+        if (previous == null) {
+            current.remove();
+        } else {
+            current.set(previous);
+        }
+    }
+}
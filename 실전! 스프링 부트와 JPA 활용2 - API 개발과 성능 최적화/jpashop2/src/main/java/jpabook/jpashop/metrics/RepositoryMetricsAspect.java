@@ -0,0 +1,101 @@
+package jpabook.jpashop.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @Repository 클래스의 모든 메서드에 대해
+ * - jpashop.repository        : 실행 시간 히스토그램 (class, method, outcome 태그)
+ * - jpashop.repository.rows   : 반환 row 수 (컬렉션이면 size, 단건이면 0/1, 벌크 update/count 면 그 값)
+ *
+ * 배포 후 어떤 리포지토리 메서드가 느려졌는지 /actuator/metrics/jpashop.repository 로 확인
+ * 실행 중인 메서드는 RepositoryCallContext 에 남긴다.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class RepositoryMetricsAspect {
+
+    private final MeterRegistry registry;
+
+    // 메서드별 미터 캐시 (매 호출마다 Timer.builder() 로 조회하지 않도록)
+    private final Map<Method, Meters> meters = new ConcurrentHashMap<>();
+
+    @Around("@within(org.springframework.stereotype.Repository)")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Meters m = meters.computeIfAbsent(method, this::register);
+
+        String previous = RepositoryCallContext.enter(m.caller);
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            m.success.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            m.rows.record(rowCount(result));
+            return result;
+        } catch (Throwable e) {
+            m.error.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        } finally {
+            RepositoryCallContext.exit(previous);
+        }
+    }
+
+    private Meters register(Method method) {
+        String className = method.getDeclaringClass().getSimpleName();
+        String methodName = method.getName();
+        return new Meters(
+                className + "." + methodName,
+                timer(className, methodName, "success"),
+                timer(className, methodName, "error"),
+                DistributionSummary.builder("jpashop.repository.rows")
+                        .description("rows returned per repository call")
+                        .tag("class", className)
+                        .tag("method", methodName)
+                        .publishPercentileHistogram()
+                        .register(registry));
+    }
+
+    private Timer timer(String className, String methodName, String outcome) {
+        return Timer.builder("jpashop.repository")
+                .description("repository method latency")
+                .tag("class", className)
+                .tag("method", methodName)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private static long rowCount(Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof Number number) {
+            return number.longValue();
+        }
+        return 1;
+    }
+
+    private record Meters(String caller, Timer success, Timer error, DistributionSummary rows) {
+    }
+}
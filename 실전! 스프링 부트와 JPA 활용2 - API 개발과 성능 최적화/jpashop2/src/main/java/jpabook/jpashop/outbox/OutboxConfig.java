@@ -0,0 +1,42 @@
+package jpabook.jpashop.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@Configuration
+@EnableConfigurationProperties(OutboxProperties.class)
+public class OutboxConfig {
+
+    /**
+     * 기본 sink. 브로커로 보내려면 OutboxSink 빈을 등록하면 된다.
+     */
+    @Bean
+    @ConditionalOnMissingBean(OutboxSink.class)
+    public OutboxSink ndjsonFileOutboxSink(OutboxProperties properties, ObjectMapper objectMapper) {
+        return new NdjsonFileOutboxSink(properties.getFile(), objectMapper);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "jpashop.outbox", name = "relay-enabled", havingValue = "true", matchIfMissing = true)
+    public OutboxRelay outboxRelay(OutboxRepository outboxRepository, OutboxSink sink,
+                                   PlatformTransactionManager transactionManager, OutboxProperties properties,
+                                   MeterRegistry registry) {
+        return new OutboxRelay(outboxRepository, sink, transactionManager, properties, registry);
+    }
+
+    /**
+     * initDb 등 기동 작업이 끝난 뒤 폴링 시작 (종료 시 close() 는 스프링이 호출)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void startRelay(ApplicationReadyEvent event) {
+        event.getApplicationContext().getBeanProvider(OutboxRelay.class).ifAvailable(OutboxRelay::start);
+    }
+}
@@ -0,0 +1,46 @@
+package jpabook.jpashop.outbox;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 아직 외부로 내보내지 않은 이벤트 한 건. 주문과 같은 트랜잭션에서 저장되고, 릴레이가 내보낸 뒤 지운다.
+ */
+@Entity
+@Table(name = "outbox")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class OutboxMessage {
+
+    @Id @GeneratedValue
+    @Column(name = "outbox_id")
+    private Long id;
+
+    @Column(nullable = false, length = 50)
+    private String aggregateType; // ex) Order
+
+    @Column(nullable = false)
+    private Long aggregateId;
+
+    @Column(nullable = false, length = 50)
+    private String eventType; // ex) CREATED
+
+    @Lob
+    @Column(nullable = false)
+    private String payload; // JSON
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    OutboxMessage(String aggregateType, Long aggregateId, String eventType, String payload) {
+        this.aggregateType = aggregateType;
+        this.aggregateId = aggregateId;
+        this.eventType = eventType;
+        this.payload = payload;
+        this.createdAt = LocalDateTime.now();
+    }
+}
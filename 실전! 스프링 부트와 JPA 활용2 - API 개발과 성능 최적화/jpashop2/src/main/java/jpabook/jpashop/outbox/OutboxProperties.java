@@ -0,0 +1,25 @@
+package jpabook.jpashop.outbox;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Getter @Setter
+@ConfigurationProperties(prefix = "jpashop.outbox")
+public class OutboxProperties {
+
+    // false 면 outbox 에 쌓기만 하고 내보내지 않는다. (다른 인스턴스가 릴레이를 맡을 때)
+    private boolean relayEnabled = true;
+
+    // 한 번에 잠그고 보내고 지우는 행 수 (트랜잭션 하나)
+    private int batchSize = 500;
+
+    // 비어 있을 때 다음 폴링까지 대기. 배치가 가득 차면 쉬지 않고 바로 다음 배치를 가져온다.
+    private Duration pollInterval = Duration.ofMillis(200);
+
+    // NdjsonFileOutboxSink 파일 (OutboxSink 빈을 따로 등록하지 않았을 때)
+    private Path file = Path.of("build/outbox/order-events.ndjson");
+}
@@ -0,0 +1,119 @@
+package jpabook.jpashop.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * outbox 폴링 릴레이
+ * 트랜잭션 하나에서 : 배치 잠금(SKIP LOCKED) -> sink 전송 -> ack 되면 한 번에 삭제 -> 커밋
+ * - 전송이 실패하면 롤백되어 행이 그대로 남고 다음 폴링에서 다시 보낸다. (at-least-once)
+ * - 배치가 가득 차 있으면 쉬지 않고 계속 비운다.
+ * - jpashop.outbox.relayed : 보낸 건수, jpashop.outbox.batch : 배치 크기,
+ *   jpashop.outbox.lag : 저장부터 전송 완료까지, jpashop.outbox.failures : 전송 실패 배치 수
+ */
+@Slf4j
+public class OutboxRelay implements AutoCloseable {
+
+    private final OutboxRepository outboxRepository;
+    private final OutboxSink sink;
+    private final TransactionTemplate tx;
+    private final int batchSize;
+    private final Duration pollInterval;
+    private final ScheduledExecutorService scheduler;
+
+    private final Counter relayed;
+    private final Counter failures;
+    private final DistributionSummary batches;
+    private final Timer lag;
+
+    public OutboxRelay(OutboxRepository outboxRepository, OutboxSink sink, PlatformTransactionManager transactionManager,
+                       OutboxProperties properties, MeterRegistry registry) {
+        this.outboxRepository = outboxRepository;
+        this.sink = sink;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.batchSize = properties.getBatchSize();
+        this.pollInterval = properties.getPollInterval();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "outbox-relay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.relayed = Counter.builder("jpashop.outbox.relayed").register(registry);
+        this.failures = Counter.builder("jpashop.outbox.failures").register(registry);
+        this.batches = DistributionSummary.builder("jpashop.outbox.batch").register(registry);
+        this.lag = Timer.builder("jpashop.outbox.lag").publishPercentileHistogram().register(registry);
+    }
+
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::drain, 0, pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 빌 때까지(배치가 덜 찰 때까지) 보낸다.
+     */
+    void drain() {
+        try {
+            int sent;
+            do {
+                sent = relayBatch();
+            } while (sent == batchSize);
+        } catch (RuntimeException e) {
+            failures.increment();
+            log.warn("outbox relay failed, will retry in {}", pollInterval, e);
+        }
+    }
+
+    /**
+     * @return 보내고 지운 행 수
+     */
+    public int relayBatch() {
+        Integer sent = tx.execute(status -> {
+            List<OutboxMessage> batch = outboxRepository.lockNextBatch(batchSize);
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            try {
+                sink.send(batch);
+            } catch (Exception e) {
+                throw new IllegalStateException("outbox sink failed for " + batch.size() + " messages", e);
+            }
+            outboxRepository.deleteAll(batch.stream().map(OutboxMessage::getId).toList());
+
+            LocalDateTime now = LocalDateTime.now();
+            for (OutboxMessage message : batch) {
+                lag.record(Duration.between(message.getCreatedAt(), now));
+            }
+            return batch.size();
+        });
+        if (sent > 0) {
+            relayed.increment(sent);
+            batches.record(sent);
+        }
+        return sent;
+    }
+
+    /**
+     * 진행 중인 폴링이 끝날 때까지 기다린다. 기다리는 중 인터럽트되면 인터럽트 상태만 되돌려 놓고 반환한다.
+     */
+    @Override
+    public void close() {
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
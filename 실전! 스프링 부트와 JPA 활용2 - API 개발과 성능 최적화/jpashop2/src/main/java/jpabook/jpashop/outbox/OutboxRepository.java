@@ -0,0 +1,43 @@
+package jpabook.jpashop.outbox;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.LockOptions;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class OutboxRepository {
+
+    private final EntityManager em;
+
+    /**
+     * 오래된 순으로 limit 건을 잠그고 가져온다. -> select ... order by outbox_id limit ? for update skip locked
+     * SKIP LOCKED : 다른 릴레이(다른 인스턴스)가 잡고 있는 행은 기다리지 않고 건너뛴다. -> 릴레이를 여러 개 띄워도 겹치지 않는다.
+     * 잠금 구문은 Dialect 가 만든다. (MariaDB 10.6+ 는 skip locked, 지원하지 않는 DB(H2 2.1 등)는 for update 로 대체)
+     */
+    public List<OutboxMessage> lockNextBatch(int limit) {
+        return em.createQuery("select o from OutboxMessage o order by o.id", OutboxMessage.class)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .setHint(AvailableSettings.JAKARTA_LOCK_TIMEOUT, LockOptions.SKIP_LOCKED)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * 보낸 행을 한 번에 삭제 (건별 delete 대신 in 절 하나)
+     */
+    public int deleteAll(List<Long> ids) {
+        return em.createQuery("delete from OutboxMessage o where o.id in :ids")
+                .setParameter("ids", ids)
+                .executeUpdate();
+    }
+
+    public long count() {
+        return em.createQuery("select count(o) from OutboxMessage o", Long.class).getSingleResult();
+    }
+}
@@ -0,0 +1,13 @@
+package jpabook.jpashop.outbox;
+
+import java.util.List;
+
+/**
+ * 릴레이가 꺼낸 배치를 내보낼 곳 (메시지 브로커, 파일 등)
+ * 정상 반환 = 배치 전체 수신 확인(ack), 릴레이가 해당 행을 지운다.
+ * 예외를 던지면 행은 남고 다음 폴링에서 다시 보낸다. -> 수신 쪽은 outbox id 로 중복을 걸러야 한다. (at-least-once)
+ */
+public interface OutboxSink {
+
+    void send(List<OutboxMessage> batch) throws Exception;
+}
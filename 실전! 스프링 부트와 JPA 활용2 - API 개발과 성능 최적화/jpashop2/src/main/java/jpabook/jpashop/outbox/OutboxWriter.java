@@ -0,0 +1,37 @@
+package jpabook.jpashop.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jpabook.jpashop.domain.OrderEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * OrderService 가 발행한 OrderEvent 를 발행한 트랜잭션 안에서 outbox 에 저장한다.
+ * 주문이 커밋되면 outbox 도 커밋되고, 롤백되면 같이 롤백된다. (2PC 없이 주문과 이벤트를 원자적으로)
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxWriter {
+
+    private final EntityManager em;
+    private final ObjectMapper objectMapper;
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onOrderEvent(OrderEvent event) {
+        em.persist(new OutboxMessage("Order", event.orderId(), event.type().name(), toJson(event)));
+    }
+
+    private String toJson(OrderEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("outbox payload 변환 실패: " + event, e);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package jpabook.jpashop.repository;
+
+import jakarta.persistence.EntityManager;
+import jpabook.jpashop.domain.Category;
+import jpabook.jpashop.domain.CategoryItem;
+import jpabook.jpashop.domain.CategoryItemId;
+import jpabook.jpashop.domain.item.Item;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class CategoryRepository {
+
+    private final EntityManager em;
+
+    public void save(Category category) {
+        em.persist(category);
+    }
+
+    public Category findOne(Long id) {
+        return em.find(Category.class, id);
+    }
+
+    public List<Category> findAll() {
+        return em.createQuery("select c from Category c order by c.id", Category.class)
+                .getResultList();
+    }
+
+    /**
+     * 카테고리에 상품 연결 - INSERT 1번
+     * 참조(프록시)만 사용하므로 카테고리, 상품, 기존 연결 목록을 조회하지 않는다.
+     * 이미 연결되어 있으면 flush 시점에 PK 제약 조건 위반
+     */
+    public void link(Long categoryId, Long itemId) {
+        em.persist(new CategoryItem(em.getReference(Category.class, categoryId), em.getReference(Item.class, itemId)));
+    }
+
+    /**
+     * 카테고리에서 상품 연결 해제 - DELETE 1번 (벌크 연산이므로 TableVersions 는 호출하는 쪽에서 갱신)
+     */
+    public int unlink(Long categoryId, Long itemId) {
+        return em.createQuery("delete from CategoryItem ci where ci.id = :id")
+                .setParameter("id", new CategoryItemId(categoryId, itemId))
+                .executeUpdate();
+    }
+
+    /**
+     * 카테고리의 상품 페이징 조회 - PK(category_id, item_id) 인덱스 순서대로 읽는다.
+     */
+    public List<Item> findItemsInCategory(Long categoryId, int offset, int limit) {
+        return em.createQuery(
+                        "select i from CategoryItem ci join ci.item i" +
+                                " where ci.category.id = :categoryId" +
+                                " order by ci.item.id", Item.class)
+                .setParameter("categoryId", categoryId)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    public long countItemsInCategory(Long categoryId) {
+        return em.createQuery("select count(ci) from CategoryItem ci where ci.category.id = :categoryId", Long.class)
+                .setParameter("categoryId", categoryId)
+                .getSingleResult();
+    }
+
+    /**
+     * 하위 트리(자기 자신 포함)에 속한 상품 페이징 조회
+     * - 클로저 테이블(category_path)의 ancestor_id 로 하위 카테고리를 한 번에 찾는다. -> 트리 깊이와 상관없이 쿼리 1번
+     * - 상품이 여러 하위 카테고리에 속해도 중복되지 않도록 join 대신 exists 사용
+     * - 서브쿼리는 category_path - category_item 만 조인한다. (외래 키끼리 비교)
+     */
+    public List<Item> findItemsInSubtree(Long categoryId, int offset, int limit) {
+        return em.createQuery(
+                        "select i from Item i" +
+                                " where exists (" +
+                                "   select 1 from CategoryPath p join CategoryItem ci on ci.category = p.descendant" +
+                                "   where p.ancestor.id = :categoryId and ci.item = i)" +
+                                " order by i.id", Item.class)
+                .setParameter("categoryId", categoryId)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    public long countItemsInSubtree(Long categoryId) {
+        return em.createQuery(
+                        "select count(distinct ci.item.id) from CategoryPath p join CategoryItem ci on ci.category = p.descendant" +
+                                " where p.ancestor.id = :categoryId", Long.class)
+                .setParameter("categoryId", categoryId)
+                .getSingleResult();
+    }
+}
@@ -1,10 +1,12 @@
 package jpabook.jpashop.repository;
 
 import jakarta.persistence.EntityManager;
+import jpabook.jpashop.domain.item.Book;
 import jpabook.jpashop.domain.item.Item;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -25,6 +27,15 @@ public class ItemRepository {
         return em.find(Item.class, id);
     }
 
+    /**
+     * ISBN 으로 책 조회 (가져오기 upsert) - idx_item_isbn
+     */
+    public List<Book> findBooksByIsbn(Collection<String> isbns) {
+        return em.createQuery("select b from Book b where b.isbn in :isbns", Book.class)
+                .setParameter("isbns", isbns)
+                .getResultList();
+    }
+
     public List<Item> findAll() {
         return em.createQuery("select i from Item i", Item.class)
                 .getResultList();
@@ -29,6 +29,20 @@ public class MemberRepository {
                 .getResultList();
     }
 
+    /**
+     * id 순 키셋 조회 (전체 회원을 나눠 읽기) - 엔티티 대신 id, 이름, 도시만
+     */
+    public List<MemberSummaryDto> findSummaries(Long afterId, int limit) {
+        return em.createQuery(
+                        "select new jpabook.jpashop.repository.MemberSummaryDto(m.id, m.name, m.address.city)" +
+                                " from Member m" +
+                                " where m.id > :afterId" +
+                                " order by m.id", MemberSummaryDto.class)
+                .setParameter("afterId", afterId)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
     public List<Member> findByName(String name) {
         return em.createQuery("select m from Member m where m.name = :name", Member.class)
                 .setParameter("name", name)
@@ -0,0 +1,16 @@
+package jpabook.jpashop.repository;
+
+import lombok.Data;
+
+@Data
+public class MemberSummaryDto {
+    private Long id;
+    private String name;
+    private String city;
+
+    public MemberSummaryDto(Long id, String name, String city) {
+        this.id = id;
+        this.name = name;
+        this.city = city;
+    }
+}
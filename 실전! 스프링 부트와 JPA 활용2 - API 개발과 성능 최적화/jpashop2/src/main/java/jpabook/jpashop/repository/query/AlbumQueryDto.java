@@ -0,0 +1,22 @@
+package jpabook.jpashop.repository.query;
+
+import lombok.Data;
+
+@Data
+public class AlbumQueryDto {
+    private Long id;
+    private String name;
+    private int price;
+    private int stockQuantity;
+    private String artist;
+    private String etc;
+
+    public AlbumQueryDto(Long id, String name, int price, int stockQuantity, String artist, String etc) {
+        this.id = id;
+        this.name = name;
+        this.price = price;
+        this.stockQuantity = stockQuantity;
+        this.artist = artist;
+        this.etc = etc;
+    }
+}
@@ -0,0 +1,22 @@
+package jpabook.jpashop.repository.query;
+
+import lombok.Data;
+
+@Data
+public class BookQueryDto {
+    private Long id;
+    private String name;
+    private int price;
+    private int stockQuantity;
+    private String author;
+    private String isbn;
+
+    public BookQueryDto(Long id, String name, int price, int stockQuantity, String author, String isbn) {
+        this.id = id;
+        this.name = name;
+        this.price = price;
+        this.stockQuantity = stockQuantity;
+        this.author = author;
+        this.isbn = isbn;
+    }
+}
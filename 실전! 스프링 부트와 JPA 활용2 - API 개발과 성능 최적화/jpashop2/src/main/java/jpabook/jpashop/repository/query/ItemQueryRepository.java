@@ -0,0 +1,116 @@
+package jpabook.jpashop.repository.query;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * 상품 조회 전용 (DTO 프로젝션)
+ *
+ * Item 은 SINGLE_TABLE 이라 "select i from Item i" 는 모든 하위 타입 컬럼(artist, etc, author, isbn, actor, director)을
+ * 읽고 dtype 에 맞는 엔티티를 만들어 영속성 컨텍스트에 올린다. (스냅샷 포함)
+ * 화면에 필요한 컬럼만 읽어서 DTO 로 바로 받으면 행 너비, 엔티티 생성, 더티 체킹 스냅샷 비용이 모두 줄어든다.
+ *
+ * from Book b 처럼 하위 타입으로 조회하면 where dtype='B' 가 자동으로 붙는다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ItemQueryRepository {
+
+    private final EntityManager em;
+
+    /**
+     * 공통 뷰 (id, 이름, 가격) - 이름 순, 커버링 인덱스 idx_item_name_price(name, price) + PK
+     */
+    public List<ItemSummaryDto> findItemSummaries() {
+        return em.createQuery(
+                "select new jpabook.jpashop.repository.query.ItemSummaryDto(i.id, i.name, i.price)" +
+                        " from Item i" +
+                        " order by i.name", ItemSummaryDto.class)
+                .getResultList();
+    }
+
+    /**
+     * 공통 뷰 페이지 - id 순 (PK 순서로 읽어 정렬 비용 없음)
+     */
+    public List<ItemSummaryDto> findItemSummaryPage(int offset, int limit) {
+        return em.createQuery(
+                "select new jpabook.jpashop.repository.query.ItemSummaryDto(i.id, i.name, i.price)" +
+                        " from Item i" +
+                        " order by i.id", ItemSummaryDto.class)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * id 순 키셋 조회 (전체 상품을 나눠 읽기)
+     */
+    public List<ItemSummaryDto> findItemSummaries(Long afterId, int limit) {
+        return em.createQuery(
+                "select new jpabook.jpashop.repository.query.ItemSummaryDto(i.id, i.name, i.price)" +
+                        " from Item i" +
+                        " where i.id > :afterId" +
+                        " order by i.id", ItemSummaryDto.class)
+                .setParameter("afterId", afterId)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    public List<ItemListDto> findItemListDtos() {
+        return em.createQuery(
+                "select new jpabook.jpashop.repository.query.ItemListDto(i.id, i.name, i.price, i.stockQuantity)" +
+                        " from Item i", ItemListDto.class)
+                .getResultList();
+    }
+
+    /**
+     * 타입별 공통 뷰 - 커버링 인덱스 idx_item_dtype_name(dtype, name, price) + PK
+     */
+    public List<ItemSummaryDto> findItemSummaries(Class<?> type, int offset, int limit) {
+        return em.createQuery(
+                "select new jpabook.jpashop.repository.query.ItemSummaryDto(i.id, i.name, i.price)" +
+                        " from Item i" +
+                        " where type(i) = :type" +
+                        " order by i.name", ItemSummaryDto.class)
+                .setParameter("type", type)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * 타입별 상세 뷰 - dtype 인덱스로 범위를 좁히고 해당 타입 컬럼만 읽는다.
+     */
+    public List<BookQueryDto> findBooks(int offset, int limit) {
+        return em.createQuery(
+                "select new jpabook.jpashop.repository.query.BookQueryDto(b.id, b.name, b.price, b.stockQuantity, b.author, b.isbn)" +
+                        " from Book b" +
+                        " order by b.name", BookQueryDto.class)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    public List<AlbumQueryDto> findAlbums(int offset, int limit) {
+        return em.createQuery(
+                "select new jpabook.jpashop.repository.query.AlbumQueryDto(a.id, a.name, a.price, a.stockQuantity, a.artist, a.etc)" +
+                        " from Album a" +
+                        " order by a.name", AlbumQueryDto.class)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    public List<MovieQueryDto> findMovies(int offset, int limit) {
+        return em.createQuery(
+                "select new jpabook.jpashop.repository.query.MovieQueryDto(m.id, m.name, m.price, m.stockQuantity, m.director, m.actor)" +
+                        " from Movie m" +
+                        " order by m.name", MovieQueryDto.class)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
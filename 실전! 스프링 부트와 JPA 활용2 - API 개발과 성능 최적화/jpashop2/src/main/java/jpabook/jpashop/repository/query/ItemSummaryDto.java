@@ -0,0 +1,19 @@
+package jpabook.jpashop.repository.query;
+
+import lombok.Data;
+
+/**
+ * 모든 상품 공통 뷰 (주문 폼 선택 목록 등) - idx_item_name_price 인덱스만 읽고 끝난다.
+ */
+@Data
+public class ItemSummaryDto {
+    private Long id;
+    private String name;
+    private int price;
+
+    public ItemSummaryDto(Long id, String name, int price) {
+        this.id = id;
+        this.name = name;
+        this.price = price;
+    }
+}
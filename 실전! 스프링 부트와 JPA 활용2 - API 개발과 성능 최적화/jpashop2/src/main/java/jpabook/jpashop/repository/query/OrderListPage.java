@@ -0,0 +1,31 @@
+package jpabook.jpashop.repository.query;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 키셋 페이지 (최신 주문부터, order_id 내림차순)
+ * 다음 페이지 = before=마지막 행 id, 이전 페이지 = after=첫 행 id
+ */
+@Getter
+public class OrderListPage {
+
+    private final List<OrderListDto> orders;
+    private final boolean hasNext;
+    private final boolean hasPrevious;
+
+    public OrderListPage(List<OrderListDto> orders, boolean hasNext, boolean hasPrevious) {
+        this.orders = orders;
+        this.hasNext = hasNext;
+        this.hasPrevious = hasPrevious;
+    }
+
+    public Long getFirstId() {
+        return orders.isEmpty() ? null : orders.get(0).getOrderId();
+    }
+
+    public Long getLastId() {
+        return orders.isEmpty() ? null : orders.get(orders.size() - 1).getOrderId();
+    }
+}
@@ -1,9 +1,14 @@
 package jpabook.jpashop.repository.query;
 
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jpabook.jpashop.domain.OrderSearch;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
+import org.springframework.util.StringUtils;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -90,4 +95,65 @@ public class OrderQueryRepository {
                         " join oi.item i", OrderFlatDto.class)
                 .getResultList();
     }
+
+    /**
+     * 주문 목록 화면 - 키셋 페이징, 쿼리 1번
+     * 엔티티를 조회하면 화면에서 member, orderItems, item 을 지연 로딩해서 행마다 쿼리가 나간다. (OSIV)
+     * 화면에 보이는 컬럼만 DTO 로 한 번에 조회한다.
+     *
+     * - before : 이 id 보다 오래된 주문 (다음 페이지), after : 이 id 보다 최근 주문 (이전 페이지)
+     * - OFFSET 을 쓰지 않으므로 뒤 페이지로 갈수록 느려지지 않는다. (PK 범위 조회)
+     * - size + 1 건을 조회해서 다음(이전) 페이지가 있는지 판단, count 쿼리 없음
+     */
+    public OrderListPage findOrderListPage(OrderSearch orderSearch, Long before, Long after, int size) {
+        boolean backward = after != null;
+
+        StringBuilder jpql = new StringBuilder(
+                "select new jpabook.jpashop.repository.query.OrderListDto(o.id, m.name, i.name, oi.orderPrice, oi.count, o.status, o.orderDate)" +
+                        " from Order o" +
+                        " join o.member m" +
+                        " join o.orderItems oi" +
+                        " join oi.item i" +
+                        " where oi.id = (select min(oi2.id) from OrderItem oi2 where oi2.order = o)");
+        if (orderSearch.getOrderStatus() != null) {
+            jpql.append(" and o.status = :status");
+        }
+        if (StringUtils.hasText(orderSearch.getMemberName())) {
+            jpql.append(" and m.name like :name");
+        }
+        if (before != null) {
+            jpql.append(" and o.id < :before");
+        }
+        if (backward) {
+            jpql.append(" and o.id > :after order by o.id asc");
+        } else {
+            jpql.append(" order by o.id desc");
+        }
+
+        TypedQuery<OrderListDto> query = em.createQuery(jpql.toString(), OrderListDto.class)
+                .setMaxResults(size + 1);
+        if (orderSearch.getOrderStatus() != null) {
+            query.setParameter("status", orderSearch.getOrderStatus());
+        }
+        if (StringUtils.hasText(orderSearch.getMemberName())) {
+            query.setParameter("name", orderSearch.getMemberName());
+        }
+        if (before != null) {
+            query.setParameter("before", before);
+        }
+        if (backward) {
+            query.setParameter("after", after);
+        }
+
+        List<OrderListDto> rows = new ArrayList<>(query.getResultList());
+        boolean more = rows.size() > size;
+        if (more) {
+            rows.remove(size);
+        }
+        if (backward) {
+            Collections.reverse(rows);
+            return new OrderListPage(rows, true, more);
+        }
+        return new OrderListPage(rows, more, before != null);
+    }
 }
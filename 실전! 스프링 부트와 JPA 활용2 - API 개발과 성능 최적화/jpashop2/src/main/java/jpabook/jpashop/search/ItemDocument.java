@@ -0,0 +1,47 @@
+package jpabook.jpashop.search;
+
+import jpabook.jpashop.domain.item.Album;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.domain.item.Movie;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 색인된 상품 (엔티티와 분리된 불변 스냅샷)
+ * terms : 토큰 -> 가중치, 수정/삭제 시 이전 토큰의 postings 를 지우는 데 사용
+ */
+public record ItemDocument(long id, String type, String name, int price, Map<String, Integer> terms) {
+
+    static final int NAME_WEIGHT = 3;
+    static final int FIELD_WEIGHT = 1;
+
+    public static ItemDocument of(Item item) {
+        Map<String, Integer> terms = new HashMap<>();
+        add(terms, Tokenizer.tokenize(item.getName()), NAME_WEIGHT);
+
+        String type;
+        if (item instanceof Book book) {
+            type = "B";
+            add(terms, Tokenizer.tokenize(book.getAuthor()), FIELD_WEIGHT);
+            add(terms, Tokenizer.tokenizeCode(book.getIsbn()), FIELD_WEIGHT);
+        } else if (item instanceof Album album) {
+            type = "A";
+            add(terms, Tokenizer.tokenize(album.getArtist()), FIELD_WEIGHT);
+        } else if (item instanceof Movie movie) {
+            type = "M";
+            add(terms, Tokenizer.tokenize(movie.getDirector()), FIELD_WEIGHT);
+            add(terms, Tokenizer.tokenize(movie.getActor()), FIELD_WEIGHT);
+        } else {
+            type = item.getClass().getSimpleName();
+        }
+        return new ItemDocument(item.getId(), type, item.getName(), item.getPrice(), Map.copyOf(terms));
+    }
+
+    private static void add(Map<String, Integer> terms, Iterable<String> tokens, int weight) {
+        for (String token : tokens) {
+            terms.merge(token, weight, Integer::sum);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package jpabook.jpashop.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * 상품 역색인 (메모리)
+ * - 토큰 -> Postings, 토큰은 정렬된 맵이라 접두어로 시작하는 토큰을 범위 조회할 수 있다.
+ * - 조회는 락 없이, 변경(put/remove)은 한 번에 하나씩 (Postings 를 새 배열로 교체)
+ *
+ * 점수 : 검색어 토큰마다 (완전 일치 가중치 x 2) 또는 (접두어 일치 가중치) 중 큰 값, 모든 토큰을 포함한 상품만 결과에 포함 (AND)
+ *       가중치 = 상품명 3, 저자/ISBN/아티스트/감독/배우 1
+ */
+public class ItemSearchIndex {
+
+    // 짧은 접두어("a")가 수많은 토큰으로 펼쳐지지 않도록 제한
+    static final int MAX_PREFIX_TERMS = 64;
+
+    private final NavigableMap<String, Postings> terms = new ConcurrentSkipListMap<>();
+    private final Map<Long, ItemDocument> documents = new ConcurrentHashMap<>();
+
+    public record Hit(ItemDocument document, int score) {
+    }
+
+    /**
+     * 전체 재색인 : 토큰별로 모아서 정렬한 뒤 배열을 한 번에 만든다. (문서 하나씩 추가하면 배열 복사가 반복됨)
+     */
+    public static ItemSearchIndex build(List<ItemDocument> documents) {
+        ItemSearchIndex index = new ItemSearchIndex();
+        Map<String, List<ItemDocument>> byTerm = new HashMap<>();
+        for (ItemDocument document : documents) {
+            index.documents.put(document.id(), document);
+            for (String term : document.terms().keySet()) {
+                byTerm.computeIfAbsent(term, t -> new ArrayList<>()).add(document);
+            }
+        }
+        byTerm.forEach((term, list) -> {
+            list.sort(Comparator.comparingLong(ItemDocument::id));
+            long[] ids = new long[list.size()];
+            int[] weights = new int[list.size()];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = list.get(i).id();
+                weights[i] = list.get(i).terms().get(term);
+            }
+            index.terms.put(term, Postings.of(ids, weights));
+        });
+        return index;
+    }
+
+    public synchronized void put(ItemDocument document) {
+        ItemDocument previous = documents.put(document.id(), document);
+        if (previous != null) {
+            for (String term : previous.terms().keySet()) {
+                if (!document.terms().containsKey(term)) {
+                    removePosting(term, previous.id());
+                }
+            }
+        }
+        document.terms().forEach((term, weight) ->
+                terms.merge(term, Postings.EMPTY.with(document.id(), weight), (old, ignored) -> old.with(document.id(), weight)));
+    }
+
+    public synchronized void remove(long id) {
+        ItemDocument previous = documents.remove(id);
+        if (previous != null) {
+            previous.terms().keySet().forEach(term -> removePosting(term, id));
+        }
+    }
+
+    private void removePosting(String term, long id) {
+        terms.computeIfPresent(term, (t, postings) -> {
+            Postings removed = postings.without(id);
+            return removed.size() == 0 ? null : removed;
+        });
+    }
+
+    public List<Hit> search(String query, int limit) {
+        List<String> tokens = Tokenizer.tokenize(query);
+        if (tokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        // 토큰별 점수를 구한 뒤 가장 적게 걸린 토큰부터 교집합
+        List<Map<Long, Integer>> perToken = new ArrayList<>(tokens.size());
+        for (String token : tokens) {
+            Map<Long, Integer> scores = match(token);
+            if (scores.isEmpty()) {
+                return List.of();
+            }
+            perToken.add(scores);
+        }
+        perToken.sort(Comparator.comparingInt(Map::size));
+
+        PriorityQueue<Hit> top = new PriorityQueue<>(limit + 1, RANKING.reversed());
+        Map<Long, Integer> smallest = perToken.get(0);
+        for (Map.Entry<Long, Integer> entry : smallest.entrySet()) {
+            int score = entry.getValue();
+            boolean all = true;
+            for (int i = 1; i < perToken.size() && all; i++) {
+                Integer other = perToken.get(i).get(entry.getKey());
+                all = other != null;
+                score += all ? other : 0;
+            }
+            ItemDocument document = documents.get(entry.getKey());
+            if (!all || document == null) {
+                continue;
+            }
+            top.add(new Hit(document, score));
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+
+        List<Hit> hits = new ArrayList<>(top);
+        hits.sort(RANKING);
+        return hits;
+    }
+
+    // 점수 높은 순, 같으면 최근 상품(id 큰 것) 먼저
+    private static final Comparator<Hit> RANKING = Comparator.comparingInt(Hit::score).reversed()
+            .thenComparing(Comparator.comparingLong((Hit h) -> h.document().id()).reversed());
+
+    private Map<Long, Integer> match(String token) {
+        Map<Long, Integer> scores = new HashMap<>();
+        int expanded = 0;
+        for (Map.Entry<String, Postings> entry : terms.tailMap(token, true).entrySet()) {
+            String term = entry.getKey();
+            if (!term.startsWith(token) || expanded++ >= MAX_PREFIX_TERMS) {
+                break;
+            }
+            int factor = term.equals(token) ? 2 : 1;
+            Postings postings = entry.getValue();
+            for (int i = 0; i < postings.size(); i++) {
+                scores.merge(postings.id(i), postings.weight(i) * factor, Math::max);
+            }
+        }
+        return scores;
+    }
+
+    public int documentCount() {
+        return documents.size();
+    }
+
+    public int termCount() {
+        return terms.size();
+    }
+}
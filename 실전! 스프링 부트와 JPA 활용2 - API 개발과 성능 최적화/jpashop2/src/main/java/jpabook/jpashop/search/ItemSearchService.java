@@ -0,0 +1,88 @@
+package jpabook.jpashop.search;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jpabook.jpashop.repository.ItemRepository;
+import jpabook.jpashop.service.ItemChangedEvent;
+import jpabook.jpashop.service.ItemsBulkChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 상품 검색
+ * - 기동 시 전체 상품으로 색인을 만들고 (ApplicationReadyEvent, initDb 이후)
+ * - 이후에는 ItemService 의 저장/수정 커밋마다 해당 상품만 다시 색인한다. (ItemChangedEvent)
+ * - 대량 가져오기가 끝나면 전체 재색인 (ItemsBulkChangedEvent)
+ * - jpashop.search : 검색 시간, jpashop.search.hits : 결과 수, jpashop.search.documents/terms : 색인 크기
+ */
+@Slf4j
+@Component
+public class ItemSearchService {
+
+    private final ItemRepository itemRepository;
+    private final TransactionTemplate readOnlyTx;
+    private final Timer searchTimer;
+    private final DistributionSummary hits;
+
+    private volatile ItemSearchIndex index = new ItemSearchIndex();
+
+    public ItemSearchService(ItemRepository itemRepository, PlatformTransactionManager transactionManager,
+                             MeterRegistry registry) {
+        this.itemRepository = itemRepository;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.searchTimer = Timer.builder("jpashop.search")
+                .description("item search latency")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.hits = DistributionSummary.builder("jpashop.search.hits")
+                .description("items returned per search")
+                .register(registry);
+        Gauge.builder("jpashop.search.documents", this, s -> s.index.documentCount()).register(registry);
+        Gauge.builder("jpashop.search.terms", this, s -> s.index.termCount()).register(registry);
+    }
+
+    public List<ItemSearchIndex.Hit> search(String query, int limit) {
+        long start = System.nanoTime();
+        List<ItemSearchIndex.Hit> result = index.search(query, limit);
+        searchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        hits.record(result.size());
+        return result;
+    }
+
+    /**
+     * 전체 재색인 후 교체. 재색인 중 들어온 변경은 교체가 끝날 때까지 기다렸다가 새 색인에 반영된다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        List<ItemDocument> documents = readOnlyTx.execute(status ->
+                itemRepository.findAll().stream().map(ItemDocument::of).toList());
+        index = ItemSearchIndex.build(documents);
+        log.info("item search index rebuilt: {} items, {} terms, {}ms",
+                index.documentCount(), index.termCount(), System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener
+    public synchronized void onItemChanged(ItemChangedEvent event) {
+        index.put(ItemDocument.of(event.item()));
+    }
+
+    /**
+     * 대량 변경(가져오기)은 건별 이벤트 대신 전체 재색인
+     */
+    @EventListener
+    public void onItemsBulkChanged(ItemsBulkChangedEvent event) {
+        rebuild();
+    }
+}
@@ -0,0 +1,72 @@
+package jpabook.jpashop.search;
+
+import java.util.Arrays;
+
+/**
+ * 한 토큰의 postings : 상품 id 오름차순 long[] + 같은 위치의 가중치 int[]
+ * 불변 객체, 추가/삭제는 배열을 복사한 새 객체를 반환한다. (읽는 쪽은 락 없이 조회)
+ */
+final class Postings {
+
+    static final Postings EMPTY = new Postings(new long[0], new int[0]);
+
+    private final long[] ids;
+    private final int[] weights;
+
+    private Postings(long[] ids, int[] weights) {
+        this.ids = ids;
+        this.weights = weights;
+    }
+
+    /**
+     * 전체 재색인용 : ids 는 이미 오름차순이어야 한다.
+     */
+    static Postings of(long[] ids, int[] weights) {
+        return new Postings(ids, weights);
+    }
+
+    Postings with(long id, int weight) {
+        int index = Arrays.binarySearch(ids, id);
+        if (index >= 0) {
+            int[] newWeights = weights.clone();
+            newWeights[index] = weight;
+            return new Postings(ids, newWeights);
+        }
+        int insertAt = -index - 1;
+        long[] newIds = new long[ids.length + 1];
+        int[] newWeights = new int[weights.length + 1];
+        System.arraycopy(ids, 0, newIds, 0, insertAt);
+        System.arraycopy(weights, 0, newWeights, 0, insertAt);
+        newIds[insertAt] = id;
+        newWeights[insertAt] = weight;
+        System.arraycopy(ids, insertAt, newIds, insertAt + 1, ids.length - insertAt);
+        System.arraycopy(weights, insertAt, newWeights, insertAt + 1, weights.length - insertAt);
+        return new Postings(newIds, newWeights);
+    }
+
+    Postings without(long id) {
+        int index = Arrays.binarySearch(ids, id);
+        if (index < 0) {
+            return this;
+        }
+        long[] newIds = new long[ids.length - 1];
+        int[] newWeights = new int[weights.length - 1];
+        System.arraycopy(ids, 0, newIds, 0, index);
+        System.arraycopy(weights, 0, newWeights, 0, index);
+        System.arraycopy(ids, index + 1, newIds, index, ids.length - index - 1);
+        System.arraycopy(weights, index + 1, newWeights, index, weights.length - index - 1);
+        return new Postings(newIds, newWeights);
+    }
+
+    int size() {
+        return ids.length;
+    }
+
+    long id(int i) {
+        return ids[i];
+    }
+
+    int weight(int i) {
+        return weights[i];
+    }
+}
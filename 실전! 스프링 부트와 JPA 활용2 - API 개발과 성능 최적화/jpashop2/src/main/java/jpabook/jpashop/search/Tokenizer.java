@@ -0,0 +1,39 @@
+package jpabook.jpashop.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 검색어 / 색인 토큰 분리
+ * - 글자, 숫자가 아닌 문자에서 자르고 소문자로 바꾼다. (한글은 형태소 분석 없이 어절 단위)
+ * - "978-89-1234-567-8" 같은 ISBN 은 하이픈 단위 토큰과 함께 숫자만 이어 붙인 토큰도 만든다.
+ */
+abstract class Tokenizer {
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    static List<String> tokenizeCode(String code) {
+        List<String> tokens = tokenize(code);
+        if (tokens.size() > 1) {
+            tokens.add(String.join("", tokens));
+        }
+        return tokens;
+    }
+}
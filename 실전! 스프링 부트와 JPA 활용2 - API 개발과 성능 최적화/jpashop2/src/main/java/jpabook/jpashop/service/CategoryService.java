@@ -0,0 +1,80 @@
+package jpabook.jpashop.service;
+
+import jpabook.jpashop.domain.Category;
+import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.etag.TableVersions;
+import jpabook.jpashop.repository.CategoryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class CategoryService {
+
+    private static final String CATEGORY_TABLE = "category";
+
+    private final CategoryRepository categoryRepository;
+    private final TableVersions tableVersions;
+
+    // category 테이블 버전이 바뀌면 다음 조회 때 다시 만든다.
+    private volatile CategoryTree tree;
+
+    @Transactional
+    public Long saveCategory(String name, Long parentId) {
+        Category category = new Category();
+        category.setName(name);
+        if (parentId != null) {
+            categoryRepository.findOne(parentId).addChildCategory(category);
+        }
+        categoryRepository.save(category);
+        return category.getId();
+    }
+
+    @Transactional
+    public void addItem(Long categoryId, Long itemId) {
+        categoryRepository.link(categoryId, itemId);
+    }
+
+    @Transactional
+    public void removeItem(Long categoryId, Long itemId) {
+        if (categoryRepository.unlink(categoryId, itemId) > 0) {
+            tableVersions.bumpAfterCommit("category_item");
+        }
+    }
+
+    public List<Item> findItemsInCategory(Long categoryId, int offset, int limit) {
+        return categoryRepository.findItemsInCategory(categoryId, offset, limit);
+    }
+
+    public long countItemsInCategory(Long categoryId) {
+        return categoryRepository.countItemsInCategory(categoryId);
+    }
+
+    public List<Item> findItemsInSubtree(Long categoryId, int offset, int limit) {
+        return categoryRepository.findItemsInSubtree(categoryId, offset, limit);
+    }
+
+    public long countItemsInSubtree(Long categoryId) {
+        return categoryRepository.countItemsInSubtree(categoryId);
+    }
+
+    /**
+     * 캐시된 스냅샷이 최신이면 트랜잭션(커넥션) 없이 바로 반환
+     * 버전은 조회 전에 읽는다. -> 다시 만드는 도중 변경이 커밋되면 다음 호출에서 한 번 더 만든다.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public CategoryTree categoryTree() {
+        long version = tableVersions.version(CATEGORY_TABLE);
+        CategoryTree current = tree;
+        if (current == null || current.getVersion() != version) {
+            current = CategoryTree.of(version, categoryRepository.findAll());
+            tree = current;
+        }
+        return current;
+    }
+}
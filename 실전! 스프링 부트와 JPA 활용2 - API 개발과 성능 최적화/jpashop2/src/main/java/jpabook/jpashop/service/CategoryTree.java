@@ -0,0 +1,78 @@
+package jpabook.jpashop.service;
+
+import jpabook.jpashop.domain.Category;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 내비게이션 렌더링용 카테고리 트리 스냅샷 (불변)
+ * - 엔티티가 아니므로 지연 로딩 없이 여러 스레드가 공유해서 읽는다.
+ * - 카테고리가 바뀌면 CategoryService 가 새 스냅샷으로 통째로 교체한다.
+ */
+public final class CategoryTree {
+
+    public record Node(Long id, String name, int depth, List<Node> children) {
+    }
+
+    private final long version;
+    private final List<Node> roots;
+    private final Map<Long, Node> nodes;
+
+    private CategoryTree(long version, List<Node> roots, Map<Long, Node> nodes) {
+        this.version = version;
+        this.roots = roots;
+        this.nodes = nodes;
+    }
+
+    /**
+     * parent 는 프록시의 id 만 읽으므로 추가 쿼리가 없다.
+     */
+    static CategoryTree of(long version, List<Category> categories) {
+        Map<Long, List<Category>> childrenByParent = new HashMap<>();
+        List<Category> roots = new ArrayList<>();
+        for (Category category : categories) {
+            if (category.getParent() == null) {
+                roots.add(category);
+            } else {
+                childrenByParent.computeIfAbsent(category.getParent().getId(), k -> new ArrayList<>()).add(category);
+            }
+        }
+
+        Map<Long, Node> nodes = new HashMap<>();
+        List<Node> rootNodes = build(roots, 0, childrenByParent, nodes);
+        return new CategoryTree(version, rootNodes, Collections.unmodifiableMap(nodes));
+    }
+
+    private static List<Node> build(List<Category> categories, int depth,
+                                    Map<Long, List<Category>> childrenByParent, Map<Long, Node> nodes) {
+        List<Node> result = new ArrayList<>(categories.size());
+        for (Category category : categories) {
+            List<Category> children = childrenByParent.getOrDefault(category.getId(), List.of());
+            Node node = new Node(category.getId(), category.getName(), depth,
+                    build(children, depth + 1, childrenByParent, nodes));
+            nodes.put(node.id(), node);
+            result.add(node);
+        }
+        return List.copyOf(result);
+    }
+
+    long getVersion() {
+        return version;
+    }
+
+    public List<Node> getRoots() {
+        return roots;
+    }
+
+    public Node find(Long id) {
+        return nodes.get(id);
+    }
+
+    public int size() {
+        return nodes.size();
+    }
+}
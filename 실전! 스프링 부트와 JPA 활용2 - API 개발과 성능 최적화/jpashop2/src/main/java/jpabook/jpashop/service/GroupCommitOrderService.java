@@ -0,0 +1,271 @@
+package jpabook.jpashop.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import jpabook.jpashop.datasource.ReadYourWrites;
+import jpabook.jpashop.datasource.ReplicationProperties;
+import jpabook.jpashop.exception.NotEnoughStockException;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 주문 그룹 커밋 (jpashop.order.group-commit.enabled)
+ * - 동시에 들어온 주문을 대기열에 넣고, 쓰기 스레드 하나가 max-batch 건 또는 max-delay 까지 모아 트랜잭션 하나로 처리한다.
+ *   -> 커밋(redo log fsync)이 주문마다가 아니라 배치마다 한 번, insert/update 는 JDBC batch 로
+ * - 호출한 스레드는 자기 주문의 id 또는 자기 주문의 예외(재고 부족 등)를 받는다. 다른 주문의 실패와 무관
+ * - 재고 부족 외의 예외나 커밋 실패면 배치를 롤백하고 주문을 한 건씩 각자 트랜잭션으로 다시 실행한다.
+ * - 꺼져 있거나, 이미 트랜잭션 안에서 호출했거나, 대기열이 가득 차면 OrderService.order 를 바로 호출한다.
+ * - 쓰기 스레드가 멈추면(종료, 인터럽트) 처리하지 못한 주문은 호출한 스레드가 직접 처리한다. 결과를 무한정 기다리지 않는다.
+ * - 커밋은 쓰기 스레드에서 일어나므로 read-your-writes 표시(ThreadLocal, 쿠키)는 결과를 받은 호출 스레드에서 남긴다.
+ * - jpashop.order.group-commit.batch : 배치 크기, .wait : 대기열에 넣고 결과를 받기까지,
+ *   .fallbacks : 커밋 실패로 건별 재실행한 배치 수, .overflow : 대기열이 가득 차서 바로 처리한 주문 수
+ */
+@Slf4j
+@Service
+@EnableConfigurationProperties(GroupCommitProperties.class)
+public class GroupCommitOrderService implements DisposableBean {
+
+    private final OrderService orderService;
+    private final EntityManager em;
+    private final TransactionTemplate tx;
+    private final GroupCommitProperties properties;
+    private final Duration stickyWindow; // replica 라우팅을 쓰지 않으면 null
+    private final BlockingQueue<Request> queue;
+    private final Thread writer;
+
+    private final DistributionSummary batchSize;
+    private final Timer wait;
+    private final Counter fallbacks;
+    private final Counter overflow;
+
+    private static final long WRITER_CHECK_INTERVAL_MILLIS = 1000; // 결과를 기다리며 쓰기 스레드 생존을 확인하는 주기
+
+    private volatile boolean running = true;
+
+    public GroupCommitOrderService(OrderService orderService, EntityManager em,
+                                   PlatformTransactionManager transactionManager,
+                                   GroupCommitProperties properties, MeterRegistry registry,
+                                   ObjectProvider<ReplicationProperties> replicationProperties) {
+        this.orderService = orderService;
+        this.em = em;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        ReplicationProperties replication = replicationProperties.getIfAvailable();
+        this.stickyWindow = replication != null ? replication.getStickyWindow() : null;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+
+        this.batchSize = DistributionSummary.builder("jpashop.order.group-commit.batch").register(registry);
+        this.wait = Timer.builder("jpashop.order.group-commit.wait").publishPercentileHistogram().register(registry);
+        this.fallbacks = Counter.builder("jpashop.order.group-commit.fallbacks").register(registry);
+        this.overflow = Counter.builder("jpashop.order.group-commit.overflow").register(registry);
+        Gauge.builder("jpashop.order.group-commit.queue", queue, BlockingQueue::size).register(registry);
+
+        if (properties.isEnabled()) {
+            this.writer = new Thread(this::writeLoop, "order-group-commit");
+            this.writer.setDaemon(true);
+            this.writer.start();
+        } else {
+            this.writer = null;
+        }
+    }
+
+    public Long order(Long memberId, Long itemId, int count) {
+        if (writer == null || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return orderService.order(memberId, itemId, count);
+        }
+        Request request = new Request(memberId, itemId, count, new CompletableFuture<>(), System.nanoTime());
+        if (!running || !queue.offer(request)) {
+            overflow.increment();
+            return orderService.order(memberId, itemId, count);
+        }
+        Long orderId;
+        try {
+            orderId = await(request);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof WriterStoppedException) {
+                return orderService.order(memberId, itemId, count); // 쓰기 스레드가 처리하지 못한 주문
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause; // 요청마다 트랜잭션일 때와 같은 예외
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+        if (stickyWindow != null) {
+            ReadYourWrites.markWritten(stickyWindow);
+        }
+        return orderId;
+    }
+
+    /**
+     * 결과를 기다리면서 쓰기 스레드가 살아 있는지 주기적으로 확인한다.
+     * 쓰기 스레드가 끝났는데 아직 결과가 없으면(종료 직전에 대기열에 들어간 주문 등) 직접 처리하도록 WriterStoppedException 으로 끝낸다.
+     * 인터럽트돼도 이미 대기열에 들어간 주문은 커밋될 수 있으므로 결과는 끝까지 받고 인터럽트 상태만 되살린다.
+     */
+    private Long await(Request request) throws ExecutionException {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return request.result().get(WRITER_CHECK_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                } catch (TimeoutException e) {
+                    if (!writer.isAlive()) {
+                        request.result().completeExceptionally(new WriterStoppedException());
+                    }
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void writeLoop() {
+        try {
+            collectAndProcess();
+        } finally {
+            // 종료 직전에 들어왔거나 인터럽트로 처리하지 못한 주문 -> 호출한 스레드가 직접 처리
+            List<Request> left = new ArrayList<>();
+            queue.drainTo(left);
+            reject(left);
+        }
+    }
+
+    private void collectAndProcess() {
+        List<Request> batch = new ArrayList<>(properties.getMaxBatch());
+        long maxDelayNanos = properties.getMaxDelay().toNanos();
+        while (running || !queue.isEmpty()) {
+            try {
+                Request first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + maxDelayNanos;
+                while (batch.size() < properties.getMaxBatch()) {
+                    queue.drainTo(batch, properties.getMaxBatch() - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= properties.getMaxBatch() || remaining <= 0) {
+                        break;
+                    }
+                    Request next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                process(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                reject(batch); // 모으는 중이었으므로 아직 실행하지 않은 주문
+                return;
+            } catch (RuntimeException e) {
+                log.error("order group commit failed", e);
+                batch.forEach(request -> request.result().completeExceptionally(e));
+            } finally {
+                batch.clear();
+                ReadYourWrites.clear(); // 커밋 후 쓰기 스레드에 남은 표시는 호출자와 무관
+            }
+        }
+    }
+
+    private void process(List<Request> batch) {
+        Object[] outcomes = new Object[batch.size()]; // 주문 id 또는 예외
+        try {
+            tx.executeWithoutResult(status -> {
+                em.unwrap(Session.class).setJdbcBatchSize(batch.size());
+                for (int i = 0; i < batch.size(); i++) {
+                    Request request = batch.get(i);
+                    try {
+                        outcomes[i] = orderService.orderInBatch(request.memberId(), request.itemId(), request.count());
+                    } catch (NotEnoughStockException e) {
+                        outcomes[i] = e; // 저장 전 검증 실패 -> 이 주문만 실패, 배치는 커밋
+                    }
+                }
+            });
+        } catch (RuntimeException commitFailure) {
+            // 커밋 실패 또는 저장 이후의 예외 -> 배치 전체가 롤백됐으므로 건별로 다시 실행해서 각자 결과를 받게 한다.
+            log.warn("group commit of {} orders failed, retrying one by one", batch.size(), commitFailure);
+            fallbacks.increment();
+            for (Request request : batch) {
+                try {
+                    complete(request, orderService.order(request.memberId(), request.itemId(), request.count()));
+                } catch (RuntimeException e) {
+                    complete(request, e);
+                }
+            }
+            return;
+        }
+
+        batchSize.record(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            complete(batch.get(i), outcomes[i]);
+        }
+    }
+
+    private static void reject(List<Request> requests) {
+        requests.forEach(request -> request.result().completeExceptionally(new WriterStoppedException()));
+    }
+
+    private void complete(Request request, Object outcome) {
+        wait.record(System.nanoTime() - request.enqueuedAt(), TimeUnit.NANOSECONDS);
+        if (outcome instanceof Throwable e) {
+            request.result().completeExceptionally(e);
+        } else {
+            request.result().complete((Long) outcome);
+        }
+    }
+
+    /**
+     * 새 주문은 받지 않고(바로 처리), 대기열에 남은 주문은 모두 처리한 뒤 끝낸다.
+     * 10초 안에 끝나지 않아도 쓰기 스레드는 남은 주문을 계속 처리하고, 도중에 멈추면 호출한 스레드가 직접 처리한다.
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    /**
+     * 쓰기 스레드가 실행하지 않은 주문 표시. 호출한 스레드가 OrderService.order 로 다시 실행한다.
+     */
+    private static class WriterStoppedException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        WriterStoppedException() {
+            super("order group commit writer stopped", null, false, false);
+        }
+    }
+
+    private record Request(Long memberId, Long itemId, int count, CompletableFuture<Long> result, long enqueuedAt) {
+    }
+}
@@ -0,0 +1,24 @@
+package jpabook.jpashop.service;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter @Setter
+@ConfigurationProperties(prefix = "jpashop.order.group-commit")
+public class GroupCommitProperties {
+
+    // false 면 요청마다 트랜잭션 (OrderService.order 그대로)
+    private boolean enabled = false;
+
+    // 트랜잭션 하나에 담을 최대 주문 수
+    private int maxBatch = 64;
+
+    // 첫 주문이 들어온 뒤 더 모으기 위해 기다리는 최대 시간
+    private Duration maxDelay = Duration.ofMillis(2);
+
+    // 대기열이 가득 차면 그룹 커밋 없이 바로 처리한다.
+    private int queueCapacity = 10_000;
+}
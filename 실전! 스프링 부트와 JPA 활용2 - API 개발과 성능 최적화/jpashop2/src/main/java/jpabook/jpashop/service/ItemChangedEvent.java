@@ -0,0 +1,10 @@
+package jpabook.jpashop.service;
+
+import jpabook.jpashop.domain.item.Item;
+
+/**
+ * ItemService 에서 상품이 저장/수정되면 발행
+ * 리스너는 @TransactionalEventListener 로 커밋 후에 받는다. (롤백되면 전달되지 않음)
+ */
+public record ItemChangedEvent(Item item) {
+}
@@ -0,0 +1,8 @@
+package jpabook.jpashop.service;
+
+/**
+ * 여러 상품이 한꺼번에 바뀐 뒤(대량 가져오기 등) 발행, 모두 커밋된 후에 발행한다.
+ * 건별 ItemChangedEvent 대신 받는 쪽에서 전체를 다시 읽는다.
+ */
+public record ItemsBulkChangedEvent(long changed) {
+}
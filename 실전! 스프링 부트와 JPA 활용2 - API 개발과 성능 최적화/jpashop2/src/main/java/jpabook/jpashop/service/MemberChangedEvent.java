@@ -0,0 +1,9 @@
+package jpabook.jpashop.service;
+
+import jpabook.jpashop.domain.Member;
+
+/**
+ * MemberService 에서 회원이 가입/수정되면 발행, 리스너는 커밋 후에 받는다.
+ */
+public record MemberChangedEvent(Member member) {
+}
@@ -3,6 +3,7 @@ package jpabook.jpashop.service;
 import jpabook.jpashop.domain.Member;
 import jpabook.jpashop.repository.MemberRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,6 +21,7 @@ public class MemberService {
      * final 키워드를 추가하면 컴파일 시점에 memberRepository를 설정하지 않는 오류를 체크할 수 있음.
      */
     private final MemberRepository memberRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     // public MemberService(MemberRepository memberRepository) {
     //     this.memberRepository = memberRepository;
@@ -31,6 +33,7 @@ public class MemberService {
 
         validateDuplicateMember(member); // 중복 회원 검증
         memberRepository.save(member);
+        eventPublisher.publishEvent(new MemberChangedEvent(member)); // 커밋 후 회원 검색 목록 반영
         return member.getId();
     }
 
@@ -61,5 +64,6 @@ public class MemberService {
     public void update(Long id, String name) {
         Member member = memberRepository.findOne(id);
         member.setName(name);
+        eventPublisher.publishEvent(new MemberChangedEvent(member));
     }
 }
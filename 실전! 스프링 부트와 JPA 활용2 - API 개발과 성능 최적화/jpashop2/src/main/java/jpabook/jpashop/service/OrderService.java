@@ -2,11 +2,14 @@ package jpabook.jpashop.service;
 
 import jpabook.jpashop.domain.*;
 import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.exception.NotEnoughStockException;
 import jpabook.jpashop.repository.ItemRepository;
 import jpabook.jpashop.repository.MemberRepository;
 import jpabook.jpashop.repository.OrderRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
@@ -19,6 +22,7 @@ public class OrderService {
     private final OrderRepository orderRepository;
     private final MemberRepository memberRepository;
     private final ItemRepository itemRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     // 주문
     @Transactional
@@ -45,6 +49,7 @@ public class OrderService {
 
         // 주문 저장
         orderRepository.save(order);
+        publishEvents(order); // 커밋 후 이벤트 파이프라인으로 전달 (OrderEventDispatcher)
         /**
          * CascadeType.ALL이 있기때문에 하나만 저장해줘도 delivery, orderitem이 자동으로 persist 됨.
          * order뿐만이 아니라 다른곳에서도 참조를 한다면 Cascade.ALL하면 문제가 생길 수 있음.
@@ -53,6 +58,16 @@ public class OrderService {
         return order.getId();
     }
 
+    /**
+     * 그룹 커밋용 : GroupCommitOrderService 의 배치 트랜잭션에 참여한다.
+     * 재고 부족은 저장 전에 발생해서 배치에 아무것도 남기지 않으므로 배치 트랜잭션을 롤백 전용으로 만들지 않는다.
+     * 그 외 예외는 저장 이후(outbox 기록 등)일 수 있으므로 배치 전체를 롤백한다.
+     */
+    @Transactional(propagation = Propagation.MANDATORY, noRollbackFor = NotEnoughStockException.class)
+    public Long orderInBatch(Long memberId, Long itemId, int count) {
+        return order(memberId, itemId, count); // 내부 호출이라 order() 의 @Transactional 은 적용되지 않는다.
+    }
+
     // 주문 취소
     @Transactional
     public void cancelOrder(Long orderId) {
@@ -60,6 +75,7 @@ public class OrderService {
         Order order = orderRepository.findOne(orderId);
         // 주문 취소
         order.cancel();
+        publishEvents(order);
         /**
          * JPA 경우, 변경 감지해서 자동으로 update쿼리 날려줌.
          *
@@ -68,6 +84,18 @@ public class OrderService {
          */
     }
 
+    // 배송 완료
+    @Transactional
+    public void completeDelivery(Long orderId) {
+        Order order = orderRepository.findOne(orderId);
+        order.completeDelivery();
+        publishEvents(order);
+    }
+
+    private void publishEvents(Order order) {
+        order.pullEvents().forEach(eventPublisher::publishEvent);
+    }
+
     // 검색
     public List<Order> findOrders(OrderSearch orderSearch) {
         return orderRepository.findAllByString(orderSearch);
@@ -0,0 +1,12 @@
+package jpabook.jpashop.slowquery;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 슬로우 쿼리 기록의 조회 시점 복사본 (정렬, JSON 직렬화 중에 기록 스레드가 바꾸지 않도록)
+ */
+public record SlowQuery(String sql, long count, double maxMillis, double lastMillis, LocalDateTime lastSeen,
+                        List<String> parameters, String caller, List<Map<String, Object>> plan) {
+}
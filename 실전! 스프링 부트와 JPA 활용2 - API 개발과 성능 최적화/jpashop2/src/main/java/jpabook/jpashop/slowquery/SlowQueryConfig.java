@@ -0,0 +1,28 @@
+package jpabook.jpashop.slowquery;
+
+import jpabook.jpashop.jdbc.StatementListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(prefix = "jpashop.slow-query", name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(SlowQueryProperties.class)
+public class SlowQueryConfig {
+
+    @Bean
+    public SlowQueryRecorder slowQueryRecorder(SlowQueryProperties properties) {
+        return new SlowQueryRecorder(properties);
+    }
+
+    @Bean
+    public StatementListener slowQueryListener(SlowQueryRecorder recorder) {
+        return new SlowQueryListener(recorder);
+    }
+
+    @Bean
+    public SlowQueryEndpoint slowQueryEndpoint(SlowQueryRecorder recorder) {
+        return new SlowQueryEndpoint(recorder);
+    }
+}
@@ -0,0 +1,29 @@
+package jpabook.jpashop.slowquery;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.List;
+
+/**
+ * GET    /actuator/slowqueries : 가장 느린 SQL shape 목록 (파라미터, 호출 리포지토리 메서드, EXPLAIN 결과)
+ * DELETE /actuator/slowqueries : 초기화
+ */
+@Endpoint(id = "slowqueries")
+@RequiredArgsConstructor
+public class SlowQueryEndpoint {
+
+    private final SlowQueryRecorder recorder;
+
+    @ReadOperation
+    public List<SlowQuery> slowQueries() {
+        return recorder.slowest();
+    }
+
+    @DeleteOperation
+    public void clear() {
+        recorder.clear();
+    }
+}
@@ -0,0 +1,37 @@
+package jpabook.jpashop.slowquery;
+
+import jpabook.jpashop.jdbc.StatementExecution;
+import jpabook.jpashop.jdbc.StatementListener;
+
+import javax.sql.DataSource;
+
+/**
+ * 임계값을 넘은 SQL 만 바인딩 파라미터와 함께 SlowQueryRecorder 로 넘긴다. (실패한 SQL 포함)
+ * EXPLAIN 은 감싸기 전 DataSource 로 실행해서 자기 자신을 기록하지 않게 한다.
+ */
+class SlowQueryListener implements StatementListener {
+
+    private final SlowQueryRecorder recorder;
+
+    SlowQueryListener(SlowQueryRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @Override
+    public void attach(DataSource target) {
+        recorder.explainWith(target);
+    }
+
+    @Override
+    public boolean capturesParameters() {
+        return true;
+    }
+
+    @Override
+    public Object afterExecute(StatementExecution execution, Object result) {
+        if (recorder.isSlow(execution.elapsedNanos())) {
+            recorder.record(execution.sql(), execution.parameters(), execution.elapsedNanos());
+        }
+        return result;
+    }
+}
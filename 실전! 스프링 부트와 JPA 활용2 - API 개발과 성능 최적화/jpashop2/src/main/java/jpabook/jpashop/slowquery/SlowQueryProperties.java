@@ -0,0 +1,23 @@
+package jpabook.jpashop.slowquery;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter @Setter
+@ConfigurationProperties(prefix = "jpashop.slow-query")
+public class SlowQueryProperties {
+
+    private boolean enabled = true;
+
+    // 이 시간 이상 걸린 SQL 을 기록
+    private Duration threshold = Duration.ofMillis(200);
+
+    // 보관할 서로 다른 SQL(shape) 수, 넘치면 가장 빠른 것부터 밀려남
+    private int capacity = 50;
+
+    // SELECT 문에 대해 별도 커넥션으로 EXPLAIN 실행
+    private boolean explain = true;
+}
@@ -0,0 +1,174 @@
+package jpabook.jpashop.slowquery;
+
+import jpabook.jpashop.metrics.RepositoryCallContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 임계값을 넘은 SQL 을 shape 별로 최대 capacity 개까지 보관 (가장 느린 순)
+ * - 호출 위치 : 실행 중인 리포지토리 메서드, 없으면(지연 로딩 등) 애플리케이션 스택 프레임
+ * - EXPLAIN  : 새로 들어온 SELECT shape 에 대해 별도 스레드, 별도 커넥션에서 실행 (요청 스레드를 막지 않음)
+ */
+@Slf4j
+public class SlowQueryRecorder implements DisposableBean {
+
+    private final SlowQueryProperties properties;
+    private final long thresholdNanos;
+    private final Map<String, SlowQueryStats> queries = new HashMap<>();
+
+    // EXPLAIN 작업 큐가 넘치면 버림 (슬로우 쿼리가 몰릴 때 DB 에 부하를 더하지 않도록)
+    private final ThreadPoolExecutor explainExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(100), r -> {
+                Thread thread = new Thread(r, "slow-query-explain");
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.DiscardPolicy());
+
+    private volatile DataSource explainDataSource;
+
+    public SlowQueryRecorder(SlowQueryProperties properties) {
+        this.properties = properties;
+        this.thresholdNanos = properties.getThreshold().toNanos();
+    }
+
+    void explainWith(DataSource dataSource) {
+        this.explainDataSource = dataSource;
+    }
+
+    boolean isSlow(long elapsedNanos) {
+        return elapsedNanos >= thresholdNanos;
+    }
+
+    void record(String sql, Object[] parameters, long elapsedNanos) {
+        double millis = elapsedNanos / 1_000_000.0;
+        List<String> params = render(parameters);
+        String caller = caller();
+
+        SlowQueryStats query;
+        boolean added;
+        synchronized (queries) {
+            query = queries.get(sql);
+            added = query == null;
+            if (added) {
+                if (queries.size() >= properties.getCapacity() && !evictFasterThan(millis)) {
+                    return;
+                }
+                query = new SlowQueryStats(sql);
+                queries.put(sql, query);
+            }
+            query.record(millis, params, caller);
+        }
+
+        log.warn("slow query {}ms [{}] {} {}", String.format("%.1f", millis), caller, sql, params);
+        if (added && properties.isExplain() && isSelect(sql)) {
+            SlowQueryStats target = query;
+            explainExecutor.execute(() -> target.setPlan(explain(sql, parameters)));
+        }
+    }
+
+    public List<SlowQuery> slowest() {
+        List<SlowQuery> result = new ArrayList<>();
+        synchronized (queries) {
+            for (SlowQueryStats query : queries.values()) {
+                result.add(query.snapshot());
+            }
+        }
+        result.sort(Comparator.comparingDouble(SlowQuery::maxMillis).reversed());
+        return result;
+    }
+
+    public void clear() {
+        synchronized (queries) {
+            queries.clear();
+        }
+    }
+
+    private boolean evictFasterThan(double millis) {
+        SlowQueryStats fastest = null;
+        for (SlowQueryStats query : queries.values()) {
+            if (fastest == null || query.getMaxMillis() < fastest.getMaxMillis()) {
+                fastest = query;
+            }
+        }
+        if (fastest == null || fastest.getMaxMillis() >= millis) {
+            return false;
+        }
+        queries.remove(fastest.getSql());
+        return true;
+    }
+
+    private List<Map<String, Object>> explain(String sql, Object[] parameters) {
+        DataSource dataSource = explainDataSource;
+        if (dataSource == null) {
+            return null;
+        }
+        try (Connection con = dataSource.getConnection();
+             PreparedStatement ps = con.prepareStatement("EXPLAIN " + sql)) {
+            con.setReadOnly(true);
+            for (int i = 1; i < parameters.length; i++) {
+                ps.setObject(i, parameters[i]);
+            }
+            List<Map<String, Object>> rows = new ArrayList<>();
+            try (ResultSet rs = ps.executeQuery()) {
+                ResultSetMetaData meta = rs.getMetaData();
+                while (rs.next()) {
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    for (int c = 1; c <= meta.getColumnCount(); c++) {
+                        row.put(meta.getColumnLabel(c), rs.getObject(c));
+                    }
+                    rows.add(row);
+                }
+            }
+            return rows;
+        } catch (Exception e) {
+            log.debug("explain failed: {}", e.getMessage());
+            return List.of(Map.of("error", String.valueOf(e.getMessage())));
+        }
+    }
+
+    private static String caller() {
+        String repository = RepositoryCallContext.current();
+        if (repository != null) {
+            return repository;
+        }
+        // 리포지토리 밖(지연 로딩 등)에서 실행된 경우, 슬로우 쿼리일 때만 스택을 확인
+        return StackWalker.getInstance().walk(frames -> frames
+                .filter(f -> f.getClassName().startsWith("jpabook.jpashop.")
+                        && !f.getClassName().startsWith("jpabook.jpashop.slowquery.")
+                        && !f.getClassName().contains("$$")) // 스프링 프록시 제외
+                .findFirst()
+                .map(f -> f.getClassName().substring(f.getClassName().lastIndexOf('.') + 1) + "." + f.getMethodName())
+                .orElse("unknown"));
+    }
+
+    private static List<String> render(Object[] parameters) {
+        if (parameters.length <= 1) {
+            return List.of();
+        }
+        List<String> result = new ArrayList<>(parameters.length - 1);
+        for (int i = 1; i < parameters.length; i++) {
+            result.add(String.valueOf(parameters[i]));
+        }
+        return result;
+    }
+
+    private static boolean isSelect(String sql) {
+        String trimmed = sql.stripLeading();
+        return trimmed.regionMatches(true, 0, "select", 0, 6);
+    }
+
+    @Override
+    public void destroy() {
+        explainExecutor.shutdownNow();
+    }
+}
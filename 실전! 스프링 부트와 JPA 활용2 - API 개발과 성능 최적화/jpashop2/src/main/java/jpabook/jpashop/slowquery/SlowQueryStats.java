@@ -0,0 +1,48 @@
+package jpabook.jpashop.slowquery;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SQL shape(바인딩 전 SQL) 단위 슬로우 쿼리 집계 (SlowQueryRecorder 의 queries 락 안에서만 수정)
+ * - 파라미터, 호출 위치는 가장 느렸던 실행 기준
+ * - 밖으로는 snapshot() 복사본만 내보낸다.
+ */
+@Getter
+class SlowQueryStats {
+
+    private final String sql;
+    private long count;
+    private double maxMillis;
+    private double lastMillis;
+    private LocalDateTime lastSeen;
+    private List<String> parameters;
+    private String caller;
+    private volatile List<Map<String, Object>> plan; // EXPLAIN 스레드가 락 없이 씀
+
+    SlowQueryStats(String sql) {
+        this.sql = sql;
+    }
+
+    void record(double millis, List<String> parameters, String caller) {
+        count++;
+        lastMillis = millis;
+        lastSeen = LocalDateTime.now();
+        if (millis >= maxMillis) {
+            maxMillis = millis;
+            this.parameters = parameters;
+            this.caller = caller;
+        }
+    }
+
+    void setPlan(List<Map<String, Object>> plan) {
+        this.plan = plan;
+    }
+
+    SlowQuery snapshot() {
+        return new SlowQuery(sql, count, maxMillis, lastMillis, lastSeen, parameters, caller, plan);
+    }
+}
@@ -0,0 +1,30 @@
+package jpabook.jpashop.sqltrace;
+
+import lombok.Getter;
+
+/**
+ * SQL 한 건의 실행 기록
+ * - sql 은 바인딩 전 문장(shape) 그대로 -> 파라미터 값은 남기지 않음
+ * - rows : 조회는 ResultSet 에서 읽은 row 수(읽는 동안 증가), 변경은 영향받은 row 수
+ */
+@Getter
+public class SqlTrace {
+
+    private final long timestamp;
+    private final String sql;
+    private final double millis;
+    private final boolean slow;
+    private volatile long rows;
+
+    SqlTrace(String sql, long elapsedNanos, boolean slow, long rows) {
+        this.timestamp = System.currentTimeMillis();
+        this.sql = sql;
+        this.millis = elapsedNanos / 1_000_000.0;
+        this.slow = slow;
+        this.rows = rows;
+    }
+
+    void addRow() {
+        rows++; // ResultSet 을 읽는 스레드 하나만 갱신
+    }
+}
@@ -0,0 +1,46 @@
+package jpabook.jpashop.sqltrace;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 락 없는 고정 크기 링 버퍼
+ * - 쓰기 : 시퀀스를 getAndIncrement 로 받아서 해당 슬롯을 덮어씀 (CAS 1번 + volatile write 1번)
+ * - 읽기 : 최근 capacity 개를 복사, 읽는 동안 덮어쓰인 슬롯은 더 최신 값이 보일 수 있음
+ */
+class SqlTraceBuffer {
+
+    private final AtomicReferenceArray<SqlTrace> slots;
+    private final int mask;
+    private final AtomicLong sequence = new AtomicLong();
+
+    SqlTraceBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    void add(SqlTrace trace) {
+        long seq = sequence.getAndIncrement();
+        slots.set((int) (seq & mask), trace);
+    }
+
+    List<SqlTrace> snapshot() {
+        long end = sequence.get();
+        long start = Math.max(0, end - slots.length());
+        List<SqlTrace> result = new ArrayList<>((int) (end - start));
+        for (long seq = start; seq < end; seq++) {
+            SqlTrace trace = slots.get((int) (seq & mask));
+            if (trace != null) {
+                result.add(trace);
+            }
+        }
+        return result;
+    }
+
+    long total() {
+        return sequence.get();
+    }
+}
@@ -0,0 +1,34 @@
+package jpabook.jpashop.sqltrace;
+
+import jpabook.jpashop.jdbc.StatementListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(prefix = "jpashop.sql-trace", name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(SqlTraceProperties.class)
+public class SqlTraceConfig {
+
+    @Bean
+    public SqlTracer sqlTracer(SqlTraceProperties properties) {
+        return new SqlTracer(properties);
+    }
+
+    @Bean
+    public StatementListener sqlTraceListener(SqlTracer tracer) {
+        return new SqlTraceListener(tracer);
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlTraceFilter> sqlTraceFilter(SqlTracer tracer) {
+        return new FilterRegistrationBean<>(new SqlTraceFilter(tracer));
+    }
+
+    @Bean
+    public SqlTraceEndpoint sqlTraceEndpoint(SqlTracer tracer) {
+        return new SqlTraceEndpoint(tracer);
+    }
+}
@@ -0,0 +1,24 @@
+package jpabook.jpashop.sqltrace;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * GET /actuator/sqltrace : 링 버퍼에 남은 최근 SQL (오래된 순)
+ */
+@Endpoint(id = "sqltrace")
+@RequiredArgsConstructor
+public class SqlTraceEndpoint {
+
+    private final SqlTracer tracer;
+
+    @ReadOperation
+    public Map<String, Object> traces() {
+        List<SqlTrace> recent = tracer.recent();
+        return Map.of("total", tracer.total(), "traces", recent);
+    }
+}
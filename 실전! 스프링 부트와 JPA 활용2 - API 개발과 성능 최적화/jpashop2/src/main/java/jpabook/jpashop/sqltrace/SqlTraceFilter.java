@@ -0,0 +1,30 @@
+package jpabook.jpashop.sqltrace;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * 요청 시작 시 샘플링 여부를 한 번만 결정한다.
+ */
+@RequiredArgsConstructor
+public class SqlTraceFilter extends OncePerRequestFilter {
+
+    private final SqlTracer tracer;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        tracer.beginRequest();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            tracer.endRequest();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package jpabook.jpashop.sqltrace;
+
+import jpabook.jpashop.jdbc.JdbcProxies;
+import jpabook.jpashop.jdbc.StatementExecution;
+import jpabook.jpashop.jdbc.StatementListener;
+
+import java.sql.ResultSet;
+
+import static jpabook.jpashop.jdbc.JdbcProxies.proxy;
+
+/**
+ * 샘플링됐거나 느린 SQL 만 SqlTracer 에 남긴다.
+ * - 남기는 경우에만 ResultSet 을 감싸서 row 수를 센다.
+ * - p6spy 와 달리 파라미터 바인딩, SQL 포맷팅, 동기 로그 출력을 하지 않는다.
+ */
+class SqlTraceListener implements StatementListener {
+
+    private final SqlTracer tracer;
+
+    SqlTraceListener(SqlTracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    public Object afterExecute(StatementExecution execution, Object result) {
+        if (execution.failed()) {
+            return result;
+        }
+        boolean slow = tracer.isSlow(execution.elapsedNanos());
+        if (!slow && !tracer.isSampled()) {
+            return result;
+        }
+
+        SqlTrace trace = tracer.record(execution.sql(), execution.elapsedNanos(), slow, updateCount(result));
+        if (result instanceof ResultSet rs) {
+            return countRows(rs, trace);
+        }
+        return result;
+    }
+
+    private static long updateCount(Object result) {
+        if (result instanceof Integer count) {
+            return count;
+        }
+        if (result instanceof Long count) {
+            return count;
+        }
+        if (result instanceof int[] counts) {
+            long sum = 0;
+            for (int count : counts) {
+                sum += Math.max(count, 0);
+            }
+            return sum;
+        }
+        return 0;
+    }
+
+    private static ResultSet countRows(ResultSet target, SqlTrace trace) {
+        return proxy(ResultSet.class, (proxy, method, args) -> {
+            Object result = JdbcProxies.invoke(target, method, args);
+            if (Boolean.TRUE.equals(result) && method.getName().equals("next")) {
+                trace.addRow();
+            }
+            return result;
+        });
+    }
+}
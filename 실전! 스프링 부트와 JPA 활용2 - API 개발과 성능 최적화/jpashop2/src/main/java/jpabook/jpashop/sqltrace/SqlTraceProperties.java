@@ -0,0 +1,23 @@
+package jpabook.jpashop.sqltrace;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter @Setter
+@ConfigurationProperties(prefix = "jpashop.sql-trace")
+public class SqlTraceProperties {
+
+    private boolean enabled = true;
+
+    // 추적할 요청 비율 (0.0 ~ 1.0), 요청 단위로 결정해서 한 요청의 SQL 은 모두 남기거나 모두 버린다.
+    private double sampleRate = 0.01;
+
+    // 샘플링 여부와 상관없이 항상 남길 실행 시간
+    private Duration slowThreshold = Duration.ofMillis(100);
+
+    // 최근 trace 보관 개수 (2의 제곱수로 올림)
+    private int bufferSize = 4096;
+}
@@ -0,0 +1,69 @@
+package jpabook.jpashop.sqltrace;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 샘플링 SQL 추적기 (p6spy 대체)
+ * - 샘플링된 요청의 SQL, 또는 slowThreshold 를 넘은 SQL 만 링 버퍼에 남기고 로그 출력
+ * - 로그는 "jpashop.sql" 로거 -> logback-spring.xml 의 AsyncAppender 로 요청 스레드와 분리
+ * - 샘플링되지 않은 빠른 SQL 은 System.nanoTime() 2번 외에 비용이 없다.
+ */
+@Slf4j(topic = "jpashop.sql")
+public class SqlTracer {
+
+    // null : 요청 밖(배치 등) -> SQL 단위로 샘플링
+    private static final ThreadLocal<Boolean> requestSampled = new ThreadLocal<>();
+
+    private final double sampleRate;
+    private final long slowThresholdNanos;
+    private final SqlTraceBuffer buffer;
+
+    public SqlTracer(SqlTraceProperties properties) {
+        this.sampleRate = properties.getSampleRate();
+        this.slowThresholdNanos = properties.getSlowThreshold().toNanos();
+        this.buffer = new SqlTraceBuffer(properties.getBufferSize());
+    }
+
+    void beginRequest() {
+        requestSampled.set(sample());
+    }
+
+    void endRequest() {
+        requestSampled.remove();
+    }
+
+    boolean isSampled() {
+        Boolean sampled = requestSampled.get();
+        return sampled != null ? sampled : sample();
+    }
+
+    boolean isSlow(long elapsedNanos) {
+        return elapsedNanos >= slowThresholdNanos;
+    }
+
+    SqlTrace record(String sql, long elapsedNanos, boolean slow, long rows) {
+        SqlTrace trace = new SqlTrace(sql, elapsedNanos, slow, rows);
+        buffer.add(trace);
+        if (slow) {
+            log.warn("{}ms {}", String.format("%.1f", trace.getMillis()), sql);
+        } else if (log.isInfoEnabled()) {
+            log.info("{}ms {}", String.format("%.1f", trace.getMillis()), sql);
+        }
+        return trace;
+    }
+
+    public List<SqlTrace> recent() {
+        return buffer.snapshot();
+    }
+
+    public long total() {
+        return buffer.total();
+    }
+
+    private boolean sample() {
+        return sampleRate >= 1.0 || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+}
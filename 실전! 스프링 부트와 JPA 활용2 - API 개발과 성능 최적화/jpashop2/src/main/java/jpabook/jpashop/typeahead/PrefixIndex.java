@@ -0,0 +1,66 @@
+package jpabook.jpashop.typeahead;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * 이름 접두어 검색용 정렬 인덱스
+ * - 키 = 정규화한 이름 + '\0' + id (동명이인 구분, 같은 이름이면 id 순)
+ * - 접두어 검색 = 정렬된 키에서 접두어 위치부터 limit 건만 읽는다. -> 전체 크기와 상관없이 O(log n + limit)
+ * - 추가/변경/삭제는 O(log n), 조회와 동시에 해도 락이 필요 없다. (ConcurrentSkipListMap)
+ */
+public class PrefixIndex {
+
+    private static final char SEPARATOR = '\0';
+
+    private final NavigableMap<String, Suggestion> entries = new ConcurrentSkipListMap<>();
+    private final Map<Long, String> keys = new ConcurrentHashMap<>();
+
+    public void put(long id, String name, String label) {
+        if (name == null) {
+            remove(id);
+            return;
+        }
+        String key = normalize(name) + SEPARATOR + id;
+        entries.put(key, new Suggestion(id, label));
+        String previous = keys.put(id, key);
+        if (previous != null && !previous.equals(key)) {
+            entries.remove(previous); // 이름이 바뀐 경우
+        }
+    }
+
+    public void remove(long id) {
+        String key = keys.remove(id);
+        if (key != null) {
+            entries.remove(key);
+        }
+    }
+
+    public List<Suggestion> search(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        List<Suggestion> result = new ArrayList<>(limit);
+        if (normalized.isEmpty()) {
+            return result;
+        }
+        for (Map.Entry<String, Suggestion> entry : entries.tailMap(normalized, true).entrySet()) {
+            if (result.size() == limit || !entry.getKey().startsWith(normalized)) {
+                break;
+            }
+            result.add(entry.getValue());
+        }
+        return result;
+    }
+
+    public int size() {
+        return keys.size();
+    }
+
+    private static String normalize(String name) {
+        return name.strip().toLowerCase(Locale.ROOT);
+    }
+}
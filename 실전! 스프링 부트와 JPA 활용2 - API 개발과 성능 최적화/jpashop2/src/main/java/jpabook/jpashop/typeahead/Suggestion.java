@@ -0,0 +1,7 @@
+package jpabook.jpashop.typeahead;
+
+/**
+ * 자동완성 후보 한 건 (선택하면 id 가 폼에 들어간다)
+ */
+public record Suggestion(long id, String label) {
+}
@@ -0,0 +1,129 @@
+package jpabook.jpashop.typeahead;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.repository.MemberRepository;
+import jpabook.jpashop.repository.MemberSummaryDto;
+import jpabook.jpashop.repository.query.ItemQueryRepository;
+import jpabook.jpashop.repository.query.ItemSummaryDto;
+import jpabook.jpashop.service.ItemChangedEvent;
+import jpabook.jpashop.service.ItemsBulkChangedEvent;
+import jpabook.jpashop.service.MemberChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * 주문 화면의 회원/상품 자동완성
+ * - 기동 시 id, 이름만 키셋으로 나눠 읽어 접두어 인덱스를 만들고 (ApplicationReadyEvent)
+ * - 이후에는 가입/수정, 상품 저장/수정 커밋마다 한 건씩 반영한다.
+ * - 주문 화면은 더 이상 전체 회원/상품을 읽지 않는다. (테이블 크기와 상관없이 렌더링)
+ */
+@Slf4j
+@Component
+public class TypeaheadService {
+
+    private static final int CHUNK_SIZE = 10_000;
+
+    private final MemberRepository memberRepository;
+    private final ItemQueryRepository itemQueryRepository;
+    private final TransactionTemplate readOnlyTx;
+
+    private volatile PrefixIndex members = new PrefixIndex();
+    private volatile PrefixIndex items = new PrefixIndex();
+
+    public TypeaheadService(MemberRepository memberRepository, ItemQueryRepository itemQueryRepository,
+                            PlatformTransactionManager transactionManager, MeterRegistry registry) {
+        this.memberRepository = memberRepository;
+        this.itemQueryRepository = itemQueryRepository;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        Gauge.builder("jpashop.typeahead.members", this, s -> s.members.size()).register(registry);
+        Gauge.builder("jpashop.typeahead.items", this, s -> s.items.size()).register(registry);
+    }
+
+    public List<Suggestion> suggestMembers(String prefix, int limit) {
+        return members.search(prefix, limit);
+    }
+
+    public List<Suggestion> suggestItems(String prefix, int limit) {
+        return items.search(prefix, limit);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        rebuildMembers();
+        rebuildItems();
+    }
+
+    /**
+     * 새 인덱스를 다 만든 뒤 교체. 만드는 동안 들어온 변경은 교체가 끝날 때까지 기다렸다가 새 인덱스에 반영된다.
+     */
+    public synchronized void rebuildMembers() {
+        long start = System.currentTimeMillis();
+        PrefixIndex index = new PrefixIndex();
+        long afterId = 0;
+        List<MemberSummaryDto> chunk;
+        do {
+            long from = afterId;
+            chunk = readOnlyTx.execute(status -> memberRepository.findSummaries(from, CHUNK_SIZE));
+            for (MemberSummaryDto member : chunk) {
+                index.put(member.getId(), member.getName(), memberLabel(member.getName(), member.getCity()));
+                afterId = member.getId();
+            }
+        } while (chunk.size() == CHUNK_SIZE);
+        members = index;
+        log.info("member typeahead rebuilt: {} members, {}ms", index.size(), System.currentTimeMillis() - start);
+    }
+
+    public synchronized void rebuildItems() {
+        long start = System.currentTimeMillis();
+        PrefixIndex index = new PrefixIndex();
+        long afterId = 0;
+        List<ItemSummaryDto> chunk;
+        do {
+            long from = afterId;
+            chunk = readOnlyTx.execute(status -> itemQueryRepository.findItemSummaries(from, CHUNK_SIZE));
+            for (ItemSummaryDto item : chunk) {
+                index.put(item.getId(), item.getName(), itemLabel(item.getName(), item.getPrice()));
+                afterId = item.getId();
+            }
+        } while (chunk.size() == CHUNK_SIZE);
+        items = index;
+        log.info("item typeahead rebuilt: {} items, {}ms", index.size(), System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener
+    public synchronized void onMemberChanged(MemberChangedEvent event) {
+        Member member = event.member();
+        String city = member.getAddress() != null ? member.getAddress().getCity() : null;
+        members.put(member.getId(), member.getName(), memberLabel(member.getName(), city));
+    }
+
+    @TransactionalEventListener
+    public synchronized void onItemChanged(ItemChangedEvent event) {
+        Item item = event.item();
+        items.put(item.getId(), item.getName(), itemLabel(item.getName(), item.getPrice()));
+    }
+
+    @EventListener
+    public void onItemsBulkChanged(ItemsBulkChangedEvent event) {
+        rebuildItems();
+    }
+
+    private static String memberLabel(String name, String city) {
+        return city != null ? name + " (" + city + ")" : name;
+    }
+
+    private static String itemLabel(String name, int price) {
+        return name + " - " + price + "원";
+    }
+}
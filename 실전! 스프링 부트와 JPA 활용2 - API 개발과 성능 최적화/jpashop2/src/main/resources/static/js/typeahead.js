@@ -0,0 +1,67 @@
+/*
+ * 자동완성 입력
+ * <input data-typeahead="/api/items/suggest" data-target="itemId" list="...">
+ * - 입력할 때마다(150ms 디바운스) 서버에서 후보를 받아 datalist 를 채운다.
+ * - 후보를 고르면 hidden input(data-target)에 id 를 넣는다. 후보에 없는 값이면 비운다.
+ * - 이름이 같은 후보는 "이름 #id" 로 구분해서 보여준다.
+ * - 후보에 없는 값이면 폼 제출을 막는다. (빈 id 가 전송되지 않도록)
+ */
+(function () {
+  function attach(input) {
+    var url = input.dataset.typeahead;
+    var hidden = document.getElementById(input.dataset.target);
+    var list = document.getElementById(input.getAttribute('list'));
+    var ids = {};
+    var timer = null;
+    var seq = 0;
+
+    function fetchSuggestions(q) {
+      var current = ++seq;
+      fetch(url + '?limit=10&q=' + encodeURIComponent(q))
+        .then(function (res) { return res.json(); })
+        .then(function (body) {
+          if (current !== seq) return; // 늦게 도착한 이전 응답은 버린다
+          var counts = {};
+          body.data.forEach(function (s) {
+            counts[s.label] = (counts[s.label] || 0) + 1;
+          });
+          ids = {};
+          list.innerHTML = '';
+          body.data.forEach(function (s) {
+            var label = counts[s.label] > 1 ? s.label + ' #' + s.id : s.label;
+            ids[label] = s.id;
+            var option = document.createElement('option');
+            option.value = label;
+            list.appendChild(option);
+          });
+          select();
+        });
+    }
+
+    function select() {
+      hidden.value = ids.hasOwnProperty(input.value) ? ids[input.value] : '';
+      input.setCustomValidity(input.value && !hidden.value ? '목록에서 선택하세요' : '');
+    }
+
+    input.addEventListener('input', function () {
+      select();
+      clearTimeout(timer);
+      var q = input.value.trim();
+      if (!q || hidden.value) return;
+      timer = setTimeout(function () { fetchSuggestions(q); }, 150);
+    });
+
+    if (input.form) {
+      input.form.addEventListener('submit', function (event) {
+        select();
+        if (!hidden.value) {
+          event.preventDefault();
+          input.setCustomValidity('목록에서 선택하세요');
+          input.reportValidity();
+        }
+      });
+    }
+  }
+
+  document.querySelectorAll('input[data-typeahead]').forEach(attach);
+})();
@@ -0,0 +1,70 @@
+package jpabook.jpashop.Controller;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.service.ItemService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 상품 목록 조각 캐시 - 커밋된 변경이 있어야 무효화되므로 테스트 트랜잭션을 쓰지 않는다.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ItemControllerTest {
+
+    @Autowired MockMvc mockMvc;
+    @Autowired EntityManager em;
+    @Autowired EntityManagerFactory emf;
+    @Autowired ItemService itemService;
+    @Autowired TransactionTemplate transactionTemplate;
+
+    Book book;
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> em.remove(em.find(Book.class, book.getId())));
+    }
+
+    @Test
+    public void 상품_목록_캐시_히트는_쿼리_없음_수정하면_다시_렌더링() throws Exception {
+        book = new Book();
+        book.setName("cachedBook");
+        book.setPrice(1000);
+        book.setStockQuantity(10);
+        itemService.saveItem(book);
+
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        String first = render();
+        assertThat(first).contains("cachedBook");
+
+        statistics.clear();
+        assertThat(render()).isEqualTo(first);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        itemService.updateItem(book.getId(), "[[${1+1}]]", 2000, 5);
+        String updated = render();
+        assertThat(updated).doesNotContain("cachedBook");
+        assertThat(updated).contains("[[${1+1}]]"); // 캐시된 출력은 다시 평가되지 않는다.
+        assertThat(updated).doesNotContain("jpashop:cache");
+    }
+
+    private String render() throws Exception {
+        return mockMvc.perform(get("/items")).andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+}
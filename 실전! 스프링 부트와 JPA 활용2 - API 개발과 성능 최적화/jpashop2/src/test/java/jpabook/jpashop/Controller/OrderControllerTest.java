@@ -0,0 +1,108 @@
+package jpabook.jpashop.Controller;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.repository.query.OrderListDto;
+import jpabook.jpashop.repository.query.OrderListPage;
+import jpabook.jpashop.service.OrderService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class OrderControllerTest {
+
+    @Autowired MockMvc mockMvc;
+    @Autowired EntityManager em;
+    @Autowired EntityManagerFactory emf;
+    @Autowired OrderService orderService;
+
+    List<Long> orderIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        Member member = new Member();
+        member.setName("pageMember");
+        member.setAddress(new Address("서울", "강가", "123"));
+        em.persist(member);
+        Book book = new Book();
+        book.setName("pageBook");
+        book.setPrice(1000);
+        book.setStockQuantity(1000);
+        em.persist(book);
+
+        for (int i = 0; i < 25; i++) {
+            orderIds.add(orderService.order(member.getId(), book.getId(), 1));
+        }
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    public void 주문_목록_페이지당_쿼리_1번() throws Exception {
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        OrderListPage first = render("/orders?memberName=pageMember&size=10");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(first.getOrders()).extracting(OrderListDto::getOrderId)
+                .containsExactlyElementsOf(reversed(orderIds).subList(0, 10));
+        assertThat(first.isHasNext()).isTrue();
+        assertThat(first.isHasPrevious()).isFalse();
+
+        statistics.clear();
+        OrderListPage last = render("/orders?memberName=pageMember&size=10&before=" + orderIds.get(5));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(last.getOrders()).hasSize(5);
+        assertThat(last.isHasNext()).isFalse();
+
+        OrderListPage previous = render("/orders?memberName=pageMember&size=10&after=" + orderIds.get(4));
+        assertThat(previous.getOrders()).extracting(OrderListDto::getOrderId)
+                .containsExactlyElementsOf(reversed(orderIds).subList(10, 20));
+        assertThat(previous.isHasPrevious()).isTrue();
+    }
+
+    @Test
+    public void 주문_폼은_쿼리_없이_렌더링() throws Exception {
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        mockMvc.perform(get("/order")).andExpect(status().isOk());
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    private OrderListPage render(String url) throws Exception {
+        MvcResult result = mockMvc.perform(get(url)).andExpect(status().isOk()).andReturn();
+        assertThat(result.getResponse().getContentAsString()).contains("pageBook");
+        return (OrderListPage) result.getModelAndView().getModel().get("page");
+    }
+
+    private static List<Long> reversed(List<Long> ids) {
+        List<Long> copy = new ArrayList<>(ids);
+        Collections.reverse(copy);
+        return copy;
+    }
+}
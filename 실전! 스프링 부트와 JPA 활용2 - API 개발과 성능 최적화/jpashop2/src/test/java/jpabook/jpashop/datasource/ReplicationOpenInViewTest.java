@@ -0,0 +1,66 @@
+package jpabook.jpashop.datasource;
+
+import jakarta.persistence.EntityManagerFactory;
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.service.MemberService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * open-in-view 로 요청 전체에 EntityManager 가 열려 있을 때, 읽기 트랜잭션 다음 쓰기 트랜잭션이 primary 로 가는지 확인
+ * replica 는 같은 내장 DB 에 SELECT 권한만 있는 사용자로 접속한다. (replica 로 간 쓰기는 권한 오류로 실패)
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:osivtest;DB_CLOSE_DELAY=-1"
+                + ";INIT=create user if not exists replica password 'replica'\\\\;grant select on schema public to replica",
+        "decorator.datasource.enabled=false", // p6spy 가 routingDataSource 빈까지 감싸지 않도록 (운영 설정과 같게)
+        "jpashop.datasource.replication.enabled=true",
+        "jpashop.datasource.replication.lag-query=",
+        "jpashop.datasource.replication.sticky-window=0s",
+        "jpashop.datasource.replication.replicas[0].url=jdbc:h2:mem:osivtest",
+        "jpashop.datasource.replication.replicas[0].username=replica",
+        "jpashop.datasource.replication.replicas[0].password=replica"
+})
+class ReplicationOpenInViewTest {
+
+    @Autowired MemberService memberService;
+    @Autowired EntityManagerFactory emf;
+
+    OpenEntityManagerInViewInterceptor openInView;
+    ServletWebRequest request;
+
+    @BeforeEach
+    void setUp() {
+        openInView = new OpenEntityManagerInViewInterceptor();
+        openInView.setEntityManagerFactory(emf);
+        request = new ServletWebRequest(new MockHttpServletRequest());
+        openInView.preHandle(request);
+    }
+
+    @AfterEach
+    void tearDown() {
+        openInView.afterCompletion(request, null);
+        ReadYourWrites.clear();
+    }
+
+    @Test
+    public void 같은_요청에서_읽기_다음_쓰기는_primary() {
+        memberService.findMembers(); // readOnly -> replica
+
+        Member member = new Member();
+        member.setName("osivMember");
+        member.setAddress(new Address("서울", "강가", "123"));
+        Long id = memberService.join(member); // 같은 EntityManager 라도 primary 로 가야 함
+
+        assertThat(memberService.findOne(id).getName()).isEqualTo("osivMember");
+    }
+}
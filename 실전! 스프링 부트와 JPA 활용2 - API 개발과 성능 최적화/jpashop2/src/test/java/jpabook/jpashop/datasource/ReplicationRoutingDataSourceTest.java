@@ -0,0 +1,115 @@
+package jpabook.jpashop.datasource;
+
+import jakarta.servlet.http.Cookie;
+import jpabook.jpashop.datasource.ReplicationRoutingDataSource.Replica;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 내장 DB(H2) 인스턴스 두 개로 primary / replica 라우팅 확인
+ * 각 DB 의 node 테이블에 자기 이름을 넣어두고, 어느 DB 에서 읽었는지 확인한다.
+ */
+class ReplicationRoutingDataSourceTest {
+
+    Replica replica;
+    JdbcTemplate jdbcTemplate;
+    TransactionTemplate readOnlyTx;
+    TransactionTemplate writeTx;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = h2("primary");
+        replica = new Replica("replica", h2("replica"));
+
+        ReplicationRoutingDataSource routing = new ReplicationRoutingDataSource(
+                primary, List.of(replica), ReplicaSelection.ROUND_ROBIN, Duration.ofSeconds(3));
+        routing.afterPropertiesSet();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+
+        DataSourceTransactionManager txManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readOnlyTx = new TransactionTemplate(txManager);
+        readOnlyTx.setReadOnly(true);
+        writeTx = new TransactionTemplate(txManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadYourWrites.clear();
+    }
+
+    @Test
+    public void readOnlyTransactionGoesToReplica() {
+        assertThat(nodeIn(readOnlyTx)).isEqualTo("replica");
+        assertThat(nodeIn(writeTx)).isEqualTo("primary");
+    }
+
+    @Test
+    public void readYourWritesAfterCommit() {
+        writeTx.executeWithoutResult(status -> jdbcTemplate.update("update node set touched = touched + 1"));
+
+        // 쓰기 직후에는 primary 에서 읽음
+        assertThat(nodeIn(readOnlyTx)).isEqualTo("primary");
+
+        ReadYourWrites.clear();
+        assertThat(nodeIn(readOnlyTx)).isEqualTo("replica");
+    }
+
+    @Test
+    public void stickyCookieIsClampedToWindow() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(new Cookie(ReadYourWrites.COOKIE_NAME, Long.toString(Long.MAX_VALUE)));
+        AtomicBoolean stickyAfterWindow = new AtomicBoolean(true);
+
+        new ReadYourWritesFilter(Duration.ofMillis(10)).doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            stickyAfterWindow.set(ReadYourWrites.isSticky());
+        });
+
+        // 조작된 쿠키라도 stickyWindow 가 지나면 replica 로 읽음
+        assertThat(stickyAfterWindow).isFalse();
+    }
+
+    @Test
+    public void laggingReplicaIsExcluded() {
+        replica.setAvailable(false);
+        assertThat(nodeIn(readOnlyTx)).isEqualTo("primary");
+    }
+
+    private String nodeIn(TransactionTemplate tx) {
+        return tx.execute(status -> node());
+    }
+
+    private String node() {
+        return jdbcTemplate.queryForObject("select name from node", String.class);
+    }
+
+    private static DataSource h2(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate init = new JdbcTemplate(dataSource);
+        init.execute("drop table if exists node");
+        init.execute("create table node (name varchar(20), touched int)");
+        init.update("insert into node values (?, 0)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,99 @@
+package jpabook.jpashop.etag;
+
+import jakarta.persistence.EntityManager;
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Category;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.service.CategoryService;
+import jpabook.jpashop.service.MemberService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 테이블 버전은 커밋 후에 올라가므로 테스트 트랜잭션을 쓰지 않는다.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ConditionalGetTest {
+
+    @Autowired MockMvc mockMvc;
+    @Autowired EntityManager em;
+    @Autowired MemberService memberService;
+    @Autowired CategoryService categoryService;
+    @Autowired PlatformTransactionManager transactionManager;
+
+    @Test
+    public void 커밋된_변경이면_ETag_변경() throws Exception {
+        Member member = new Member();
+        member.setName("etagMember");
+        member.setAddress(new Address("서울", "강가", "123"));
+        Long memberId = memberService.join(member);
+
+        String etag = etag("/api/v2/members");
+        mockMvc.perform(get("/api/v2/members").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+
+        // 롤백된 변경은 버전을 올리지 않음
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(status -> {
+            memberService.update(memberId, "rollback");
+            status.setRollbackOnly();
+        });
+        mockMvc.perform(get("/api/v2/members").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        memberService.update(memberId, "etagMember2");
+        mockMvc.perform(get("/api/v2/members").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+        assertThat(etag("/api/v2/members")).isNotEqualTo(etag);
+    }
+
+    @Test
+    public void 벌크_연산_후_ETag_변경() throws Exception {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        Long[] ids = tx.execute(status -> {
+            Category category = new Category();
+            category.setName("etagCategory");
+            em.persist(category);
+            Book book = new Book();
+            book.setName("etagBook");
+            book.setPrice(1000);
+            book.setStockQuantity(10);
+            em.persist(book);
+            categoryService.addItem(category.getId(), book.getId());
+            return new Long[]{category.getId(), book.getId()};
+        });
+        String url = "/api/categories/" + ids[0] + "/items";
+
+        String etag = etag(url);
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        // JPQL delete (이벤트 리스너를 거치지 않음) -> bumpAfterCommit
+        categoryService.removeItem(ids[0], ids[1]);
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+        assertThat(etag(url)).isNotEqualTo(etag);
+    }
+
+    private String etag(String url) throws Exception {
+        String etag = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotNull();
+        return etag;
+    }
+}
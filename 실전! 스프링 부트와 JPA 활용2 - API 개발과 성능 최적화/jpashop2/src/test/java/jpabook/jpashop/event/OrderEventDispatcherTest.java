@@ -0,0 +1,68 @@
+package jpabook.jpashop.event;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.service.OrderService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.transaction.TestTransaction;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class OrderEventDispatcherTest {
+
+    @Autowired EntityManager em;
+    @Autowired OrderService orderService;
+    @Autowired MeterRegistry registry;
+
+    @Test
+    public void 커밋된_주문_이벤트만_핸들러로_전달() throws Exception {
+        double created = count("created");
+        double canceled = count("canceled");
+
+        Long rolledBack = order();
+        TestTransaction.end(); // 롤백
+        TestTransaction.start();
+
+        Long orderId = order();
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+
+        TestTransaction.start();
+        orderService.cancelOrder(orderId);
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (count("canceled") < canceled + 1 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(rolledBack).isNotNull();
+        assertThat(count("created")).isEqualTo(created + 1);
+        assertThat(count("canceled")).isEqualTo(canceled + 1);
+    }
+
+    private Long order() {
+        Member member = new Member();
+        member.setName("eventMember");
+        member.setAddress(new Address("서울", "강가", "123"));
+        em.persist(member);
+        Book book = new Book();
+        book.setName("eventBook");
+        book.setPrice(1000);
+        book.setStockQuantity(10);
+        em.persist(book);
+        return orderService.order(member.getId(), book.getId(), 2);
+    }
+
+    private double count(String event) {
+        return registry.get("jpashop.orders").tag("event", event).counter().count();
+    }
+}
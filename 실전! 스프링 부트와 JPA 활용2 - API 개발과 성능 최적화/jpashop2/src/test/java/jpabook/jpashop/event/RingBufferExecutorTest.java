@@ -0,0 +1,103 @@
+package jpabook.jpashop.event;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RingBufferExecutorTest {
+
+    @Test
+    public void 여러_생산자_유실없이_생산자별_순서대로_배치_전달() throws Exception {
+        int producers = 4;
+        int perProducer = 10_000;
+        List<Integer> received = new CopyOnWriteArrayList<>();
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        BatchHandler<Integer> handler = batch -> {
+            batchSizes.add(batch.size());
+            received.addAll(batch);
+        };
+
+        RingBufferExecutor<Integer> executor = new RingBufferExecutor<>("test", 64, 16, BackpressurePolicy.BLOCK,
+                Duration.ofSeconds(5), List.of(handler), new SimpleMeterRegistry());
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    executor.publish(producer * perProducer + i);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        executor.close();
+
+        assertThat(received).hasSize(producers * perProducer);
+        assertThat(batchSizes).allMatch(size -> size <= 16);
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            List<Integer> own = received.stream().filter(v -> v / perProducer == producer).toList();
+            assertThat(own).isSorted();
+        }
+    }
+
+    @Test
+    public void 가득_차면_DROP_은_버리고_CALLER_RUNS_는_직접_실행() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        BatchHandler<Integer> slow = batch -> {
+            started.countDown();
+            await(release);
+        };
+
+        RingBufferExecutor<Integer> drop = new RingBufferExecutor<>("drop", 2, 1, BackpressurePolicy.DROP,
+                Duration.ZERO, List.of(slow), new SimpleMeterRegistry());
+        drop.publish(0);
+        started.await(5, TimeUnit.SECONDS); // 소비 스레드가 0 을 잡고 멈춤
+        assertThat(drop.publish(1)).isTrue();
+        assertThat(drop.publish(2)).isTrue();
+        assertThat(drop.publish(3)).isFalse(); // 버퍼(2) 가득
+        release.countDown();
+        drop.close();
+
+        List<String> callerThreads = new CopyOnWriteArrayList<>();
+        CountDownLatch hold = new CountDownLatch(1);
+        CountDownLatch holding = new CountDownLatch(1);
+        BatchHandler<Integer> recording = batch -> {
+            callerThreads.add(Thread.currentThread().getName());
+            if (batch.get(0) == 0) {
+                holding.countDown();
+                await(hold);
+            }
+        };
+        RingBufferExecutor<Integer> callerRuns = new RingBufferExecutor<>("caller", 2, 1,
+                BackpressurePolicy.CALLER_RUNS, Duration.ZERO, List.of(recording), new SimpleMeterRegistry());
+        callerRuns.publish(0);
+        holding.await(5, TimeUnit.SECONDS);
+        callerRuns.publish(1);
+        callerRuns.publish(2);
+        assertThat(callerRuns.publish(3)).isTrue();
+        assertThat(callerThreads).contains(Thread.currentThread().getName());
+        hold.countDown();
+        callerRuns.close();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
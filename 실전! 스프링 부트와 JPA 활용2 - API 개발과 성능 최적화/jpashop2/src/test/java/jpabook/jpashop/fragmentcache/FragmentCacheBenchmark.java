@@ -0,0 +1,98 @@
+package jpabook.jpashop.fragmentcache;
+
+import jakarta.persistence.EntityManager;
+import jpabook.jpashop.JpashopApplication;
+import jpabook.jpashop.domain.item.Book;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * GET /items 초당 요청 수 : 조각 캐시 사용 / 미사용 (내장 H2, 상품 1,000건)
+ * - JUnit 테스트가 아니다. main 으로 직접 실행한다.
+ * - 네트워크 비용을 빼기 위해 MockMvc 로 DispatcherServlet 부터 실행한다. (컨트롤러 + 조회 + 렌더링)
+ */
+public class FragmentCacheBenchmark {
+
+    static final int ITEMS = 1_000;
+    static final int THREADS = 4;
+    static final int WARMUP_SECONDS = 5;
+    static final int MEASURE_SECONDS = 10;
+
+    public static void main(String[] args) throws Exception {
+        System.setProperty("spring.devtools.restart.enabled", "false"); // devtools 재시작 클래스로더 사용 안 함
+        // 명령행 인자로 넘겨야 application.yml 보다 우선한다.
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(JpashopApplication.class)
+                .run(
+                        "--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.jpa.properties.hibernate.generate_statistics=false",
+                        "--decorator.datasource.enabled=false",
+                        "--jpashop.sql-trace.enabled=false",
+                        "--jpashop.slow-query.enabled=false",
+                        "--logging.level.root=warn",
+                        "--logging.level.org.thymeleaf=error", // 요청마다 찍히는 fragment 문법 경고 제외
+                        "--logging.level.org.hibernate.SQL=warn",
+                        "--logging.level.org.hibernate.orm.jdbc.bind=warn");
+
+        EntityManager em = context.getBean(EntityManager.class);
+        new TransactionTemplate(context.getBean(PlatformTransactionManager.class)).executeWithoutResult(status -> {
+            for (int i = 0; i < ITEMS; i++) {
+                Book book = new Book();
+                book.setName("book" + i);
+                book.setPrice(i);
+                book.setStockQuantity(100);
+                em.persist(book);
+            }
+        });
+
+        MockMvc mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+        FragmentCacheProperties properties = context.getBean(FragmentCacheProperties.class);
+
+        for (boolean enabled : new boolean[]{false, true}) {
+            properties.setEnabled(enabled);
+            run(mockMvc, WARMUP_SECONDS);
+            long requests = run(mockMvc, MEASURE_SECONDS);
+            System.out.printf("fragment-cache %-5s %8.0f req/s (%d threads)%n",
+                    enabled, (double) requests / MEASURE_SECONDS, THREADS);
+        }
+        context.close();
+    }
+
+    private static long run(MockMvc mockMvc, int seconds) throws Exception {
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<Long>> results = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            results.add(executor.submit(() -> {
+                long count = 0;
+                while (System.nanoTime() < deadline) {
+                    mockMvc.perform(get("/items")).andReturn();
+                    count++;
+                }
+                return count;
+            }));
+        }
+        long total = 0;
+        for (Future<Long> result : results) {
+            total += result.get();
+        }
+        executor.shutdown();
+        return total;
+    }
+}
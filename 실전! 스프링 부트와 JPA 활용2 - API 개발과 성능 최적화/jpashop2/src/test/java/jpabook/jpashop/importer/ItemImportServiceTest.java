@@ -0,0 +1,69 @@
+package jpabook.jpashop.importer;
+
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.repository.ItemRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * chunk 2행, batch 1행으로 줄여서 여러 트랜잭션에 나뉘어 들어가는지 확인
+ * chunk 마다 커밋되므로 @Transactional 롤백이 안 된다. -> 설정이 달라 별도 컨텍스트(별도 내장 DB)에서 실행됨
+ */
+@SpringBootTest(properties = {"jpashop.item-import.chunk-size=2", "jpashop.item-import.batch-size=1"})
+class ItemImportServiceTest {
+
+    @Autowired ItemImportService itemImportService;
+    @Autowired ItemRepository itemRepository;
+
+    @TempDir Path dir;
+
+    @Test
+    public void 가져오기와_upsert() throws IOException {
+        ImportJob insert = run(ImportMode.INSERT,
+                "name,price,stock_quantity,author,isbn",
+                "\"Import, Book 1\",10000,10,kim,import-isbn-1",
+                "Import Book 2,20000,20,lee,import-isbn-2",
+                "Import Book 3,-1,30,park,import-isbn-3", // 음수 가격
+                "Import Book 4,40000,40,choi,import-isbn-4");
+
+        assertThat(insert.getStatus()).isEqualTo(ImportJob.Status.COMPLETED);
+        assertThat(insert.getInserted()).isEqualTo(3);
+        assertThat(insert.getRejected()).isEqualTo(1);
+        assertThat(insert.getChunks()).isEqualTo(2);
+        assertThat(insert.getErrors()).containsExactly("line 4: price 음수입니다: -1");
+
+        ImportJob upsert = run(ImportMode.UPSERT,
+                "isbn,name,price,stockQuantity,author",
+                "import-isbn-1,Import Book 1 (2판),12000,5,kim",
+                "import-isbn-5,Import Book 5,50000,50,jung",
+                ",No Isbn,1000,1,none"); // upsert 는 isbn 필수
+
+        assertThat(upsert.getUpdated()).isEqualTo(1);
+        assertThat(upsert.getInserted()).isEqualTo(1);
+        assertThat(upsert.getRejected()).isEqualTo(1);
+
+        List<Book> books = itemRepository.findBooksByIsbn(List.of("import-isbn-1", "import-isbn-5"));
+        assertThat(books).extracting(Book::getName)
+                .containsExactlyInAnyOrder("Import Book 1 (2판)", "Import Book 5");
+        assertThat(books).filteredOn(b -> b.getIsbn().equals("import-isbn-1"))
+                .extracting(Book::getStockQuantity).containsExactly(5);
+    }
+
+    private ImportJob run(ImportMode mode, String... lines) throws IOException {
+        Path file = dir.resolve(mode + ".csv");
+        Files.write(file, List.of(lines), StandardCharsets.UTF_8);
+        ImportJob job = new ImportJob("test-" + mode, mode);
+        itemImportService.run(job, file);
+        return job;
+    }
+}
@@ -0,0 +1,112 @@
+package jpabook.jpashop.jdbc;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InterceptingDataSourceTest {
+
+    SingleConnectionDataSource raw;
+
+    @BeforeEach
+    void setUp() {
+        raw = new SingleConnectionDataSource("jdbc:h2:mem:intercept;DB_CLOSE_DELAY=-1", true);
+        new JdbcTemplate(raw).execute("create table if not exists intercept_test (id int primary key)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        new JdbcTemplate(raw).execute("drop table intercept_test");
+        raw.destroy();
+    }
+
+    @Test
+    public void 리스너는_등록_순서대로_같은_실행_정보를_받는다() {
+        Recording first = new Recording(false);
+        Recording second = new Recording(true);
+        DataSource dataSource = InterceptingDataSource.wrap(raw, List.of(first, second));
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+        jdbcTemplate.update("insert into intercept_test values (?)", 7);
+        assertThatThrownBy(() -> jdbcTemplate.update("insert into intercept_test values (?)", 7))
+                .isInstanceOf(DuplicateKeyException.class);
+
+        assertThat(first.attached).isSameAs(raw);
+        assertThat(first.executions).hasSize(2);
+        for (int i = 0; i < 2; i++) {
+            assertThat(second.executions.get(i)).isSameAs(first.executions.get(i)); // 시간은 한 번만 잰다
+        }
+        StatementExecution failed = first.executions.get(1);
+        assertThat(failed.failed()).isTrue();
+        assertThat(failed.sql()).isEqualTo("insert into intercept_test values (?)");
+        assertThat(failed.parameters()).containsExactly(null, 7); // 파라미터를 모으는 리스너가 있으면 1부터
+    }
+
+    @Test
+    public void 리스너가_감싼_결과를_다음_리스너와_호출자가_받는다() throws Exception {
+        Recording wrapper = new Recording(false) {
+            @Override
+            public Object afterExecute(StatementExecution execution, Object result) {
+                super.afterExecute(execution, result);
+                return result instanceof ResultSet rs ? JdbcProxies.proxy(ResultSet.class, (proxy, method, args) -> {
+                    results.add(method.getName());
+                    return JdbcProxies.invoke(rs, method, args);
+                }) : result;
+            }
+        };
+        Recording next = new Recording(false);
+        DataSource dataSource = InterceptingDataSource.wrap(raw, List.of(wrapper, next));
+
+        try (Connection connection = dataSource.getConnection();
+             ResultSet rs = connection.createStatement().executeQuery("select count(*) from intercept_test")) {
+            rs.next();
+        }
+
+        assertThat(wrapper.results).contains("next");
+        assertThat(Proxy.isProxyClass(next.seen.get(0).getClass())).isTrue(); // 앞 리스너가 감싼 ResultSet
+        assertThat(next.executions.get(0).parameters()).isEmpty(); // 파라미터를 모으는 리스너 없음
+    }
+
+    static class Recording implements StatementListener {
+
+        final boolean capturesParameters;
+        final List<StatementExecution> executions = new ArrayList<>();
+        final List<Object> seen = new ArrayList<>();
+        final List<String> results = new ArrayList<>();
+        DataSource attached;
+
+        Recording(boolean capturesParameters) {
+            this.capturesParameters = capturesParameters;
+        }
+
+        @Override
+        public void attach(DataSource target) {
+            attached = target;
+        }
+
+        @Override
+        public boolean capturesParameters() {
+            return capturesParameters;
+        }
+
+        @Override
+        public Object afterExecute(StatementExecution execution, Object result) {
+            executions.add(execution);
+            seen.add(result);
+            return result;
+        }
+    }
+}
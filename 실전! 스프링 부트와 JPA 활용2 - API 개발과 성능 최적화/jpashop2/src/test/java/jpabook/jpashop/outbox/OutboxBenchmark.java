@@ -0,0 +1,111 @@
+package jpabook.jpashop.outbox;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import jpabook.jpashop.JpashopApplication;
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.service.OrderService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 지속적인 주문 부하에서 outbox 릴레이 처리량과 지연 (내장 H2)
+ * - JUnit 테스트가 아니다. main 으로 직접 실행한다.
+ * - 주문 스레드 THREADS 개가 SECONDS 동안 계속 주문하고, 릴레이(outbox-relay 스레드)가 동시에 비운다.
+ * - lag = outbox 저장 ~ sink(NDJSON 파일, 배치마다 force) 전송 후 삭제 커밋 직전
+ */
+public class OutboxBenchmark {
+
+    static final int THREADS = 4;
+    static final int SECONDS = 15;
+
+    public static void main(String[] args) throws Exception {
+        System.setProperty("spring.devtools.restart.enabled", "false"); // devtools 재시작 클래스로더 사용 안 함
+        // 명령행 인자로 넘겨야 application.yml 보다 우선한다.
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(JpashopApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.datasource.url=jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.jpa.properties.hibernate.generate_statistics=false",
+                        "--decorator.datasource.enabled=false",
+                        "--jpashop.sql-trace.enabled=false",
+                        "--jpashop.slow-query.enabled=false",
+                        "--jpashop.outbox.relay-enabled=true", // 테스트 설정(false)보다 우선
+                        "--jpashop.outbox.poll-interval=50ms",
+                        "--jpashop.outbox.file=build/outbox/bench.ndjson",
+                        "--logging.level.root=warn",
+                        "--logging.level.org.hibernate.SQL=warn",
+                        "--logging.level.org.hibernate.orm.jdbc.bind=warn");
+
+        EntityManager em = context.getBean(EntityManager.class);
+        OrderService orderService = context.getBean(OrderService.class);
+        OutboxRepository outboxRepository = context.getBean(OutboxRepository.class);
+        MeterRegistry registry = context.getBean(MeterRegistry.class);
+        TransactionTemplate tx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        // 재고 행 잠금 경합을 빼기 위해 스레드마다 다른 상품을 주문한다.
+        Long[][] ids = tx.execute(status -> {
+            Long[][] result = new Long[THREADS][];
+            for (int t = 0; t < THREADS; t++) {
+                Member member = new Member();
+                member.setName("benchMember" + t);
+                member.setAddress(new Address("서울", "강가", "123"));
+                em.persist(member);
+                Book book = new Book();
+                book.setName("benchBook" + t);
+                book.setPrice(1000);
+                book.setStockQuantity(Integer.MAX_VALUE);
+                em.persist(book);
+                result[t] = new Long[]{member.getId(), book.getId()};
+            }
+            return result;
+        });
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(SECONDS);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<Long>> results = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            Long[] own = ids[t];
+            results.add(executor.submit(() -> {
+                long count = 0;
+                while (System.nanoTime() < deadline) {
+                    orderService.order(own[0], own[1], 1);
+                    count++;
+                }
+                return count;
+            }));
+        }
+        long orders = 0;
+        for (Future<Long> result : results) {
+            orders += result.get();
+        }
+        executor.shutdown();
+
+        Long backlog = tx.execute(status -> outboxRepository.count());
+        double relayed = registry.get("jpashop.outbox.relayed").counter().count();
+        Timer lag = registry.get("jpashop.outbox.lag").timer();
+
+        System.out.printf("orders   %8d  (%6.0f/s, %d threads)%n", orders, (double) orders / SECONDS, THREADS);
+        System.out.printf("relayed  %8.0f  (%6.0f/s), backlog at end %d%n", relayed, relayed / SECONDS, backlog);
+        System.out.printf("batch    avg %.1f rows%n", registry.get("jpashop.outbox.batch").summary().mean());
+        System.out.printf("lag      mean %.1f ms, max %.1f ms%n",
+                lag.mean(TimeUnit.MILLISECONDS), lag.max(TimeUnit.MILLISECONDS));
+        context.close();
+    }
+}
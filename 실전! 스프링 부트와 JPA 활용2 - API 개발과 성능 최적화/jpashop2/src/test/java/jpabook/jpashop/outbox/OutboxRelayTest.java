@@ -0,0 +1,107 @@
+package jpabook.jpashop.outbox;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.service.OrderService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 릴레이가 커밋된 outbox 행만 보는지 확인해야 하므로 테스트 트랜잭션을 쓰지 않는다.
+ */
+@SpringBootTest
+class OutboxRelayTest {
+
+    @Autowired EntityManager em;
+    @Autowired OrderService orderService;
+    @Autowired OutboxRepository outboxRepository;
+    @Autowired PlatformTransactionManager transactionManager;
+    @Autowired ObjectMapper objectMapper;
+
+    @TempDir Path dir;
+
+    @Test
+    public void 주문과_같은_트랜잭션에_저장_전송_실패면_남고_성공하면_삭제() throws Exception {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        Long orderId = tx.execute(status -> order());
+        tx.executeWithoutResult(status -> orderService.cancelOrder(orderId));
+        assertThatThrownBy(() -> tx.executeWithoutResult(status -> {
+            order();
+            throw new IllegalStateException("rollback");
+        }));
+
+        OutboxRelay failing = relay(batch -> {
+            throw new IllegalStateException("sink down");
+        });
+        assertThatThrownBy(failing::relayBatch).isInstanceOf(IllegalStateException.class);
+        assertThat(pendingFor(orderId)).containsExactly("CREATED", "CANCELED"); // 롤백된 주문은 없음
+
+        Path file = dir.resolve("events.ndjson");
+        List<Long> sent = new ArrayList<>();
+        NdjsonFileOutboxSink ndjson = new NdjsonFileOutboxSink(file, objectMapper);
+        OutboxRelay relay = relay(batch -> {
+            batch.forEach(m -> sent.add(m.getId()));
+            ndjson.send(batch);
+        });
+        while (relay.relayBatch() > 0) {
+        }
+
+        assertThat(pendingFor(orderId)).isEmpty();
+        Long remaining = tx.execute(status -> outboxRepository.count());
+        assertThat(remaining).isZero();
+        assertThat(sent).isSorted();
+
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : Files.readAllLines(file)) {
+            JsonNode node = objectMapper.readTree(line);
+            if (node.get("aggregateId").asLong() == orderId) {
+                lines.add(node);
+            }
+        }
+        assertThat(lines).extracting(n -> n.get("eventType").asText()).containsExactly("CREATED", "CANCELED");
+        assertThat(lines.get(0).get("payload").get("totalPrice").asInt()).isEqualTo(2000);
+    }
+
+    private OutboxRelay relay(OutboxSink sink) {
+        OutboxProperties properties = new OutboxProperties();
+        properties.setBatchSize(2);
+        return new OutboxRelay(outboxRepository, sink, transactionManager, properties, new SimpleMeterRegistry());
+    }
+
+    private List<String> pendingFor(Long orderId) {
+        return new TransactionTemplate(transactionManager).execute(status -> em.createQuery(
+                        "select o.eventType from OutboxMessage o where o.aggregateId = :id order by o.id", String.class)
+                .setParameter("id", orderId)
+                .getResultList());
+    }
+
+    private Long order() {
+        Member member = new Member();
+        member.setName("outboxMember");
+        member.setAddress(new Address("서울", "강가", "123"));
+        em.persist(member);
+        Book book = new Book();
+        book.setName("outboxBook");
+        book.setPrice(1000);
+        book.setStockQuantity(10);
+        em.persist(book);
+        return orderService.order(member.getId(), book.getId(), 2);
+    }
+}
@@ -0,0 +1,103 @@
+package jpabook.jpashop.repository.query;
+
+import jakarta.persistence.EntityManager;
+import jpabook.jpashop.JpashopApplication;
+import jpabook.jpashop.domain.item.Album;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.domain.item.Movie;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 엔티티 조회 vs DTO 프로젝션 (내장 H2, 상품 30,000건)
+ * - JUnit 테스트가 아니다. main 으로 직접 실행한다.
+ * - 행 너비 : 엔티티 조회는 11개 컬럼(모든 하위 타입 컬럼 + dtype), 공통 뷰는 3개, 타입별 상세 뷰는 6개
+ * - 엔티티 조회는 읽기 전용 트랜잭션이라 스냅샷은 만들지 않지만, 엔티티 생성과 영속성 컨텍스트 등록 비용은 그대로
+ */
+public class ItemProjectionBenchmark {
+
+    static final int ITEMS_PER_TYPE = 10_000;
+    static final int WARMUP = 5;
+    static final int ITERATIONS = 10;
+
+    public static void main(String[] args) {
+        System.setProperty("spring.devtools.restart.enabled", "false"); // devtools 재시작 클래스로더 사용 안 함
+        // 명령행 인자로 넘겨야 application.yml 보다 우선한다.
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(JpashopApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.datasource.url=jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.jpa.properties.hibernate.generate_statistics=false",
+                        "--spring.jpa.properties.hibernate.jdbc.batch_size=1000",
+                        "--decorator.datasource.enabled=false",
+                        "--jpashop.sql-trace.enabled=false",
+                        "--jpashop.slow-query.enabled=false",
+                        "--logging.level.root=warn",
+                        "--logging.level.org.hibernate.SQL=warn",
+                        "--logging.level.org.hibernate.orm.jdbc.bind=warn");
+
+        EntityManager em = context.getBean(EntityManager.class);
+        ItemQueryRepository itemQueryRepository = context.getBean(ItemQueryRepository.class);
+        PlatformTransactionManager txManager = context.getBean(PlatformTransactionManager.class);
+        TransactionTemplate tx = new TransactionTemplate(txManager);
+        TransactionTemplate readOnlyTx = new TransactionTemplate(txManager);
+        readOnlyTx.setReadOnly(true);
+
+        tx.executeWithoutResult(status -> {
+            for (int i = 0; i < ITEMS_PER_TYPE; i++) {
+                Book book = new Book();
+                book.setAuthor("author" + i);
+                book.setIsbn("978-89-" + i);
+                Album album = new Album();
+                album.setArtist("artist" + i);
+                album.setEtc("etc" + i);
+                Movie movie = new Movie();
+                movie.setDirector("director" + i);
+                movie.setActor("actor" + i);
+                for (Item item : List.of(book, album, movie)) {
+                    item.setName(item.getClass().getSimpleName() + i);
+                    item.setPrice(i);
+                    item.setStockQuantity(100);
+                    em.persist(item);
+                }
+                if (i % 1000 == 0) {
+                    em.flush();
+                    em.clear();
+                }
+            }
+        });
+
+        run("entity  : select i from Item i", readOnlyTx, x ->
+                em.createQuery("select i from Item i order by i.name", Item.class).getResultList());
+        run("dto     : ItemSummaryDto (3 cols)", readOnlyTx, x -> itemQueryRepository.findItemSummaries());
+        run("entity  : select b from Book b", readOnlyTx, x ->
+                em.createQuery("select b from Book b order by b.name", Book.class).getResultList());
+        run("dto     : BookQueryDto (6 cols)", readOnlyTx, x -> itemQueryRepository.findBooks(0, Integer.MAX_VALUE));
+
+        context.close();
+    }
+
+    private static void run(String name, TransactionTemplate tx, Function<Void, List<?>> query) {
+        int rows = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            rows = tx.execute(status -> query.apply(null).size());
+        }
+        long total = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            tx.execute(status -> query.apply(null).size());
+            total += System.nanoTime() - start;
+        }
+        System.out.printf("%-36s %6d rows  %8.2f ms/query%n", name, rows, total / 1e6 / ITERATIONS);
+    }
+}
@@ -0,0 +1,66 @@
+package jpabook.jpashop.repository.query;
+
+import jakarta.persistence.EntityManager;
+import jpabook.jpashop.domain.item.Album;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.domain.item.Movie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class ItemQueryRepositoryTest {
+
+    @Autowired EntityManager em;
+    @Autowired ItemQueryRepository itemQueryRepository;
+
+    @BeforeEach
+    void setUp() {
+        Book book = new Book();
+        book.setAuthor("author");
+        book.setIsbn("isbn");
+        Album album = new Album();
+        album.setArtist("artist");
+        Movie movie = new Movie();
+        movie.setDirector("director");
+        persist(book, "zz book");
+        persist(album, "zz album");
+        persist(movie, "zz movie");
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    public void 타입별_상세_뷰() {
+        assertThat(itemQueryRepository.findBooks(0, 100))
+                .filteredOn(b -> b.getName().startsWith("zz"))
+                .extracting(BookQueryDto::getAuthor).containsExactly("author");
+        assertThat(itemQueryRepository.findAlbums(0, 100))
+                .extracting(AlbumQueryDto::getArtist).containsExactly("artist");
+        assertThat(itemQueryRepository.findMovies(0, 100))
+                .extracting(MovieQueryDto::getDirector).containsExactly("director");
+    }
+
+    @Test
+    public void 공통_뷰() {
+        assertThat(itemQueryRepository.findItemSummaries(Album.class, 0, 100))
+                .extracting(ItemSummaryDto::getName).containsExactly("zz album");
+        assertThat(itemQueryRepository.findItemSummaries())
+                .extracting(ItemSummaryDto::getName).endsWith("zz album", "zz book", "zz movie"); // 이름 순
+        assertThat(itemQueryRepository.findItemSummaryPage(1, 2))
+                .hasSizeLessThanOrEqualTo(2)
+                .extracting(ItemSummaryDto::getId).isSorted(); // id 순
+    }
+
+    private void persist(Item item, String name) {
+        item.setName(name);
+        item.setPrice(1000);
+        em.persist(item);
+    }
+}
@@ -0,0 +1,87 @@
+package jpabook.jpashop.search;
+
+import jpabook.jpashop.domain.item.Album;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.domain.item.Movie;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ItemSearchIndexTest {
+
+    @Test
+    public void 하위_타입_필드_검색() {
+        ItemSearchIndex index = ItemSearchIndex.build(List.of(
+                ItemDocument.of(book(1L, "JPA 프로그래밍", "김영한", "978-89-6077-717-6")),
+                ItemDocument.of(album(2L, "Spring Album", "김가수")),
+                ItemDocument.of(movie(3L, "Spring Movie", "감독", "배우"))));
+
+        assertThat(ids(index.search("김영한", 10))).containsExactly(1L);
+        assertThat(ids(index.search("9788960777176", 10))).containsExactly(1L); // 하이픈 없는 ISBN
+        assertThat(ids(index.search("배우", 10))).containsExactly(3L);
+        assertThat(ids(index.search("spring 김", 10))).containsExactly(2L); // AND + 접두어
+        assertThat(ids(index.search("없는단어", 10))).isEmpty();
+    }
+
+    @Test
+    public void 점수_순위와_top_k() {
+        ItemSearchIndex index = ItemSearchIndex.build(List.of(
+                ItemDocument.of(book(1L, "Book", "spring", null)), // 저자 일치 1 x 2
+                ItemDocument.of(book(2L, "Spring", "kim", null)), // 상품명 일치 3 x 2
+                ItemDocument.of(book(3L, "Springboot", "kim", null)))); // 상품명 접두어 3
+
+        assertThat(ids(index.search("spring", 10))).containsExactly(2L, 3L, 1L);
+        assertThat(ids(index.search("spring", 2))).containsExactly(2L, 3L);
+    }
+
+    @Test
+    public void 변경_반영() {
+        ItemSearchIndex index = new ItemSearchIndex();
+        index.put(ItemDocument.of(book(1L, "old name", "kim", null)));
+        index.put(ItemDocument.of(book(2L, "old book", "lee", null)));
+
+        index.put(ItemDocument.of(book(1L, "new name", "kim", null)));
+
+        assertThat(ids(index.search("old", 10))).containsExactly(2L);
+        assertThat(ids(index.search("new", 10))).containsExactly(1L);
+
+        index.remove(2L);
+        assertThat(index.search("old", 10)).isEmpty();
+        assertThat(index.documentCount()).isEqualTo(1);
+    }
+
+    private static List<Long> ids(List<ItemSearchIndex.Hit> hits) {
+        return hits.stream().map(h -> h.document().id()).toList();
+    }
+
+    private static Book book(Long id, String name, String author, String isbn) {
+        Book book = new Book();
+        init(book, id, name);
+        book.setAuthor(author);
+        book.setIsbn(isbn);
+        return book;
+    }
+
+    private static Album album(Long id, String name, String artist) {
+        Album album = new Album();
+        init(album, id, name);
+        album.setArtist(artist);
+        return album;
+    }
+
+    private static Movie movie(Long id, String name, String director, String actor) {
+        Movie movie = new Movie();
+        init(movie, id, name);
+        movie.setDirector(director);
+        movie.setActor(actor);
+        return movie;
+    }
+
+    private static void init(Item item, Long id, String name) {
+        item.setId(id);
+        item.setName(name);
+    }
+}
@@ -0,0 +1,139 @@
+package jpabook.jpashop.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jpabook.jpashop.domain.Category;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.etag.TableVersions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class CategoryServiceTest {
+
+    @Autowired EntityManager em;
+    @Autowired EntityManagerFactory emf;
+    @Autowired CategoryService categoryService;
+    @Autowired TableVersions tableVersions;
+
+    @Test
+    public void 하위_트리_상품_조회() {
+        // given : root - a - a1, root - b
+        Category root = category("root");
+        Category a = category("a");
+        Category a1 = category("a1");
+        Category b = category("b");
+        a.addChildCategory(a1); // 부모에 붙이기 전에 만든 하위 트리도 경로가 추가되어야 함
+        root.addChildCategory(a);
+        root.addChildCategory(b);
+        List.of(root, a, a1, b).forEach(em::persist);
+
+        Book inRoot = book("root book");
+        Book inA1 = book("a1 book");
+        Book inB = book("b book");
+        categoryService.addItem(root.getId(), inRoot.getId());
+        categoryService.addItem(a1.getId(), inA1.getId());
+        categoryService.addItem(b.getId(), inB.getId());
+        categoryService.addItem(b.getId(), inA1.getId()); // 두 하위 카테고리에 속한 상품은 한 번만
+        em.flush();
+        em.clear();
+
+        // then
+        assertThat(depth(root, a1)).isEqualTo(2);
+        assertThat(depth(a1, a1)).isEqualTo(0);
+        assertThat(names(categoryService.findItemsInSubtree(root.getId(), 0, 10)))
+                .containsExactly("root book", "a1 book", "b book");
+        assertThat(names(categoryService.findItemsInSubtree(root.getId(), 1, 1))).containsExactly("a1 book");
+        assertThat(categoryService.countItemsInSubtree(root.getId())).isEqualTo(3);
+        assertThat(names(categoryService.findItemsInSubtree(a.getId(), 0, 10))).containsExactly("a1 book");
+    }
+
+    @Test
+    public void 상품_연결_해제는_한_건씩() {
+        Category category = category("big");
+        em.persist(category);
+        for (int i = 0; i < 10_000; i++) {
+            categoryService.addItem(category.getId(), book("book" + i).getId());
+            if (i % 1000 == 999) {
+                em.flush();
+                em.clear();
+            }
+        }
+        Long newItemId = book("new").getId();
+        em.flush();
+        em.clear();
+
+        // 연결 1건 추가 : 기존 10,000건 연결을 로딩하거나 다시 쓰지 않는다. (@ManyToMany bag 일 때는 SELECT 1 + DELETE 1 + INSERT 10,001)
+        Statistics statistics = statistics();
+        categoryService.addItem(category.getId(), newItemId);
+        em.flush();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+
+        statistics.clear();
+        categoryService.removeItem(category.getId(), newItemId);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        assertThat(categoryService.countItemsInCategory(category.getId())).isEqualTo(10_000);
+        assertThat(names(categoryService.findItemsInCategory(category.getId(), 9_998, 10)))
+                .containsExactly("book9998", "book9999");
+    }
+
+    @Test
+    public void 카테고리_트리_스냅샷() {
+        Long rootId = categoryService.saveCategory("root", null);
+        Long childId = categoryService.saveCategory("child", rootId);
+        em.flush();
+        em.clear();
+        tableVersions.bump("category"); // 테스트 트랜잭션은 커밋되지 않으므로 직접 변경 표시
+
+        CategoryTree tree = categoryService.categoryTree();
+        CategoryTree.Node root = tree.find(rootId);
+
+        assertThat(root.children()).extracting(CategoryTree.Node::id).containsExactly(childId);
+        assertThat(tree.find(childId).depth()).isEqualTo(1);
+        assertThat(categoryService.categoryTree()).isSameAs(tree); // 변경 없으면 재사용
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        return statistics;
+    }
+
+    private int depth(Category ancestor, Category descendant) {
+        return em.createQuery("select p.depth from CategoryPath p" +
+                        " where p.ancestor.id = :a and p.descendant.id = :d", Integer.class)
+                .setParameter("a", ancestor.getId())
+                .setParameter("d", descendant.getId())
+                .getSingleResult();
+    }
+
+    private static List<String> names(List<Item> items) {
+        return items.stream().map(Item::getName).toList();
+    }
+
+    private Category category(String name) {
+        Category category = new Category();
+        category.setName(name);
+        return category;
+    }
+
+    private Book book(String name) {
+        Book book = new Book();
+        book.setName(name);
+        em.persist(book);
+        return book;
+    }
+}
@@ -0,0 +1,132 @@
+package jpabook.jpashop.service;
+
+import jakarta.persistence.EntityManager;
+import jpabook.jpashop.JpashopApplication;
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.item.Book;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청마다 트랜잭션 vs 그룹 커밋 : 동시 요청 수별 처리량과 지연 (내장 H2)
+ * - JUnit 테스트가 아니다. main 으로 직접 실행한다.
+ * - 내장 H2 는 커밋마다 fsync 하지 않으므로 MariaDB(innodb_flush_log_at_trx_commit=1)에서의
+ *   커밋 비용 절감은 반영되지 않는다. 여기서 보이는 차이는 트랜잭션/커넥션 획득, JDBC batch, 대기 비용이다.
+ */
+public class GroupCommitBenchmark {
+
+    static final int[] CONCURRENCY = {1, 4, 16, 64};
+    static final int SECONDS = 5;
+
+    public static void main(String[] args) throws Exception {
+        System.setProperty("spring.devtools.restart.enabled", "false"); // devtools 재시작 클래스로더 사용 안 함
+        // 명령행 인자로 넘겨야 application.yml 보다 우선한다.
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(JpashopApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.datasource.url=jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.hikari.maximum-pool-size=70",
+                        "--spring.jpa.properties.hibernate.generate_statistics=false",
+                        "--spring.jpa.properties.hibernate.order_inserts=true",
+                        "--spring.jpa.properties.hibernate.order_updates=true",
+                        "--decorator.datasource.enabled=false",
+                        "--jpashop.sql-trace.enabled=false",
+                        "--jpashop.slow-query.enabled=false",
+                        "--jpashop.order.group-commit.enabled=true",
+                        "--logging.level.root=warn",
+                        "--logging.level.org.hibernate.SQL=warn",
+                        "--logging.level.org.hibernate.orm.jdbc.bind=warn");
+
+        OrderService orderService = context.getBean(OrderService.class);
+        GroupCommitOrderService groupCommit = context.getBean(GroupCommitOrderService.class);
+
+        System.out.printf("%-12s %5s %10s %9s %9s%n", "mode", "conc", "orders/s", "p50 ms", "p99 ms");
+        for (int concurrency : CONCURRENCY) {
+            run("per-request", concurrency, context, orderService::order);
+            run("group", concurrency, context, groupCommit::order);
+        }
+        context.close();
+    }
+
+    interface Placer {
+        Long order(Long memberId, Long itemId, int count);
+    }
+
+    private static void run(String mode, int concurrency, ConfigurableApplicationContext context, Placer placer)
+            throws Exception {
+        // 회원의 주문 컬렉션이 커지지 않도록 실행마다 스레드별 회원/상품을 새로 만든다.
+        Long[][] ids = prepare(context, concurrency);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(SECONDS);
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        List<Future<long[]>> results = new ArrayList<>();
+        for (int t = 0; t < concurrency; t++) {
+            Long[] own = ids[t];
+            results.add(executor.submit(() -> {
+                long[] latencies = new long[1 << 16];
+                int n = 0;
+                while (System.nanoTime() < deadline) {
+                    long start = System.nanoTime();
+                    placer.order(own[0], own[1], 1);
+                    if (n == latencies.length) {
+                        latencies = Arrays.copyOf(latencies, n * 2);
+                    }
+                    latencies[n++] = System.nanoTime() - start;
+                }
+                return Arrays.copyOf(latencies, n);
+            }));
+        }
+        long[] all = new long[0];
+        for (Future<long[]> result : results) {
+            long[] latencies = result.get();
+            long[] merged = Arrays.copyOf(all, all.length + latencies.length);
+            System.arraycopy(latencies, 0, merged, all.length, latencies.length);
+            all = merged;
+        }
+        executor.shutdown();
+        Arrays.sort(all);
+        System.out.printf("%-12s %5d %10.0f %9.2f %9.2f%n", mode, concurrency, (double) all.length / SECONDS,
+                percentile(all, 0.50), percentile(all, 0.99));
+    }
+
+    private static Long[][] prepare(ConfigurableApplicationContext context, int concurrency) {
+        EntityManager em = context.getBean(EntityManager.class);
+        return new TransactionTemplate(context.getBean(PlatformTransactionManager.class)).execute(status -> {
+            Long[][] ids = new Long[concurrency][];
+            for (int t = 0; t < concurrency; t++) {
+                Member member = new Member();
+                member.setName("bench" + System.nanoTime());
+                member.setAddress(new Address("서울", "강가", "123"));
+                em.persist(member);
+                Book book = new Book();
+                book.setName("benchBook" + t);
+                book.setPrice(1000);
+                book.setStockQuantity(Integer.MAX_VALUE);
+                em.persist(book);
+                ids[t] = new Long[]{member.getId(), book.getId()};
+            }
+            return ids;
+        });
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1)] / 1e6;
+    }
+}
@@ -0,0 +1,188 @@
+package jpabook.jpashop.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.Order;
+import jpabook.jpashop.domain.OrderEvent;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.datasource.ReplicationProperties;
+import jpabook.jpashop.exception.NotEnoughStockException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.event.EventListener;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 쓰기 스레드의 배치 트랜잭션을 써야 하므로 테스트 트랜잭션을 쓰지 않는다.
+ */
+@SpringBootTest(properties = {
+        "jpashop.order.group-commit.enabled=true",
+        "jpashop.order.group-commit.max-batch=16",
+        "jpashop.order.group-commit.max-delay=50ms"
+})
+@Import(GroupCommitOrderServiceTest.FailAfterSave.class)
+class GroupCommitOrderServiceTest {
+
+    /**
+     * 지정한 회원의 주문 이벤트에서 예외 -> 주문 저장 이후의 실패 (outbox 기록 실패 등)
+     */
+    @TestConfiguration
+    static class FailAfterSave {
+
+        static volatile Long memberId;
+
+        @EventListener
+        public void onOrderEvent(OrderEvent event) {
+            if (event.memberId().equals(memberId)) {
+                throw new IllegalStateException("after save");
+            }
+        }
+    }
+
+    @Autowired GroupCommitOrderService groupCommitOrderService;
+    @Autowired EntityManager em;
+    @Autowired TransactionTemplate transactionTemplate;
+    @Autowired MeterRegistry registry;
+    @Autowired OrderService orderService;
+    @Autowired PlatformTransactionManager transactionManager;
+    @Autowired ApplicationContext context;
+
+    @Test
+    public void 동시_주문을_묶어서_커밋_호출자는_각자_결과를_받는다() throws Exception {
+        int callers = 8;
+        Long[] ids = transactionTemplate.execute(status -> new Long[]{
+                persistMember("groupMember"), persistBook("groupBook", 5)}); // 8건 중 5건만 성공
+        long batchesBefore = registry.get("jpashop.order.group-commit.batch").summary().count();
+
+        List<Long> orderIds = new ArrayList<>();
+        List<Throwable> failures = new ArrayList<>();
+        orderConcurrently(Collections.nCopies(callers, ids[0]), ids[1], orderIds, failures);
+
+        assertThat(orderIds).hasSize(5).doesNotHaveDuplicates();
+        assertThat(failures).hasSize(3).allMatch(e -> e instanceof NotEnoughStockException);
+        assertThat(registry.get("jpashop.order.group-commit.batch").summary().count() - batchesBefore)
+                .isLessThan(callers); // 한 트랜잭션에 여러 건
+
+        transactionTemplate.executeWithoutResult(status -> {
+            assertThat(em.find(Book.class, ids[1]).getStockQuantity()).isZero();
+            for (Long orderId : orderIds) {
+                assertThat(em.find(Order.class, orderId).getOrderItems()).hasSize(1);
+            }
+        });
+    }
+
+    @Test
+    public void 저장_이후_실패는_배치를_롤백하고_건별로_다시_실행() throws Exception {
+        Long[] ids = transactionTemplate.execute(status -> new Long[]{
+                persistMember("okMember"), persistMember("failMember"), persistBook("rollbackBook", 10)});
+        FailAfterSave.memberId = ids[1];
+        double fallbacksBefore = registry.get("jpashop.order.group-commit.fallbacks").counter().count();
+
+        List<Long> orderIds = new ArrayList<>();
+        List<Throwable> failures = new ArrayList<>();
+        orderConcurrently(List.of(ids[0], ids[0], ids[1], ids[0], ids[0]), ids[2], orderIds, failures);
+        FailAfterSave.memberId = null;
+
+        assertThat(orderIds).hasSize(4);
+        assertThat(failures).hasSize(1).allMatch(e -> e instanceof IllegalStateException);
+        assertThat(registry.get("jpashop.order.group-commit.fallbacks").counter().count()).isGreaterThan(fallbacksBefore);
+        transactionTemplate.executeWithoutResult(status -> {
+            assertThat(em.find(Book.class, ids[2]).getStockQuantity()).isEqualTo(6); // 실패한 주문의 재고는 그대로
+            assertThat(em.createQuery("select count(o) from Order o where o.member.id = :memberId", Long.class)
+                    .setParameter("memberId", ids[1])
+                    .getSingleResult()).isZero();
+        });
+    }
+
+    @Test
+    public void 쓰기_스레드가_멈추면_모으던_주문은_호출자가_직접_처리() throws Exception {
+        Long[] ids = transactionTemplate.execute(status -> new Long[]{
+                persistMember("stoppedMember"), persistBook("stoppedBook", 3)});
+        GroupCommitProperties properties = new GroupCommitProperties();
+        properties.setEnabled(true);
+        properties.setMaxDelay(Duration.ofSeconds(30)); // 첫 주문을 꺼낸 뒤 더 모으는 중에 멈추도록
+        GroupCommitOrderService service = new GroupCommitOrderService(orderService, em, transactionManager,
+                properties, new SimpleMeterRegistry(), context.getBeanProvider(ReplicationProperties.class));
+        Thread writer = (Thread) ReflectionTestUtils.getField(service, "writer");
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Long> result = executor.submit(() -> service.order(ids[0], ids[1], 1));
+            Thread.sleep(300);
+            writer.interrupt();
+
+            Long orderId = result.get(10, TimeUnit.SECONDS); // 결과를 영영 못 받고 멈추면 안 된다
+            assertThat(writer.isAlive()).isFalse();
+            transactionTemplate.executeWithoutResult(status -> {
+                assertThat(em.find(Order.class, orderId)).isNotNull();
+                assertThat(em.find(Book.class, ids[1]).getStockQuantity()).isEqualTo(2);
+            });
+        } finally {
+            executor.shutdownNow();
+            service.destroy();
+        }
+    }
+
+    private void orderConcurrently(List<Long> memberIds, Long itemId, List<Long> orderIds, List<Throwable> failures)
+            throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(memberIds.size());
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Long>> results = new ArrayList<>();
+        for (Long memberId : memberIds) {
+            results.add(executor.submit((Callable<Long>) () -> {
+                start.await();
+                return groupCommitOrderService.order(memberId, itemId, 1);
+            }));
+        }
+        start.countDown();
+
+        for (Future<Long> result : results) {
+            try {
+                orderIds.add(result.get());
+            } catch (ExecutionException e) {
+                failures.add(e.getCause());
+            }
+        }
+        executor.shutdown();
+    }
+
+    private Long persistMember(String name) {
+        Member member = new Member();
+        member.setName(name);
+        member.setAddress(new Address("서울", "강가", "123"));
+        em.persist(member);
+        return member.getId();
+    }
+
+    private Long persistBook(String name, int stockQuantity) {
+        Book book = new Book();
+        book.setName(name);
+        book.setPrice(1000);
+        book.setStockQuantity(stockQuantity);
+        em.persist(book);
+        return book.getId();
+    }
+}
@@ -0,0 +1,72 @@
+package jpabook.jpashop.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.servlet.http.Cookie;
+import jpabook.jpashop.datasource.ReadYourWrites;
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.item.Book;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * replica 라우팅 + 그룹 커밋: 커밋은 쓰기 스레드에서 일어나도 read-your-writes 표시는 호출한 요청에 남아야 한다.
+ * replica 는 primary 와 같은 내장 DB 를 가리킨다. (라우팅 동작만 확인)
+ */
+@SpringBootTest(properties = {
+        "jpashop.order.group-commit.enabled=true",
+        "jpashop.order.group-commit.max-delay=10ms",
+        "spring.datasource.url=jdbc:h2:mem:rywtest;DB_CLOSE_DELAY=-1",
+        "decorator.datasource.enabled=false", // p6spy 가 routingDataSource 빈까지 감싸지 않도록 (운영 설정과 같게)
+        "jpashop.datasource.replication.enabled=true",
+        "jpashop.datasource.replication.lag-query=",
+        "jpashop.datasource.replication.replicas[0].url=jdbc:h2:mem:rywtest;DB_CLOSE_DELAY=-1"
+})
+class GroupCommitReadYourWritesTest {
+
+    @Autowired GroupCommitOrderService groupCommitOrderService;
+    @Autowired EntityManager em;
+    @Autowired TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        ReadYourWrites.clear();
+    }
+
+    @Test
+    public void 그룹_커밋된_주문도_호출한_요청에_sticky_표시() {
+        Long[] ids = transactionTemplate.execute(status -> {
+            Member member = new Member();
+            member.setName("rywMember");
+            member.setAddress(new Address("서울", "강가", "123"));
+            em.persist(member);
+            Book book = new Book();
+            book.setName("rywBook");
+            book.setPrice(1000);
+            book.setStockQuantity(5);
+            em.persist(book);
+            return new Long[]{member.getId(), book.getId()};
+        });
+        ReadYourWrites.clear(); // 준비 데이터 커밋으로 생긴 표시는 지운다
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest(), response));
+
+        groupCommitOrderService.order(ids[0], ids[1], 1);
+
+        assertThat(ReadYourWrites.isSticky()).isTrue();
+        Cookie cookie = response.getCookie(ReadYourWrites.COOKIE_NAME);
+        assertThat(cookie).isNotNull();
+        assertThat(Long.parseLong(cookie.getValue())).isGreaterThan(System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,117 @@
+package jpabook.jpashop.sqltrace;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.p6spy.engine.spy.P6DataSource;
+import jpabook.jpashop.jdbc.InterceptingDataSource;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 추적 없음 / p6spy / SqlTracer 의 statement 당 오버헤드 비교 (내장 H2)
+ * - JUnit 테스트가 아니다. main 으로 직접 실행한다.
+ * - 로그 출력 비용은 빼고 가로채기 비용만 비교한다. (p6spy, jpashop.sql 로거 모두 OFF)
+ *   운영에서 SqlTracer 의 로그는 AsyncAppender 로 요청 스레드 밖에서 쓰인다.
+ */
+public class SqlTraceBenchmark {
+
+    static final int ROWS = 1_000;
+    static final int WARMUP = 5;
+    static final int ITERATIONS = 10;
+    static final int OPS_PER_ITERATION = 50_000;
+
+    public static void main(String[] args) throws Exception {
+        System.setProperty("p6spy.config.appender", "com.p6spy.engine.spy.appender.Slf4JLogger");
+        ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+        ((Logger) LoggerFactory.getLogger("p6spy")).setLevel(Level.OFF);
+        ((Logger) LoggerFactory.getLogger("jpashop.sql")).setLevel(Level.OFF);
+
+        SingleConnectionDataSource raw = new SingleConnectionDataSource("jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1", true);
+        prepare(raw);
+
+        Map<String, DataSource> targets = new LinkedHashMap<>();
+        targets.put("none", raw);
+        targets.put("p6spy", new P6DataSource(raw));
+        targets.put("sqltrace(1%)", InterceptingDataSource.wrap(raw, List.of(new SqlTraceListener(tracer(0.01)))));
+        targets.put("sqltrace(100%)", InterceptingDataSource.wrap(raw, List.of(new SqlTraceListener(tracer(1.0)))));
+
+        for (Map.Entry<String, DataSource> target : targets.entrySet()) {
+            for (int i = 0; i < WARMUP; i++) {
+                run(target.getValue());
+            }
+            long best = Long.MAX_VALUE;
+            long total = 0;
+            for (int i = 0; i < ITERATIONS; i++) {
+                long elapsed = run(target.getValue());
+                best = Math.min(best, elapsed);
+                total += elapsed;
+            }
+            System.out.printf("%-16s avg %6.0f ns/op   best %6.0f ns/op%n", target.getKey(),
+                    (double) total / ITERATIONS / OPS_PER_ITERATION, (double) best / OPS_PER_ITERATION);
+        }
+        raw.destroy();
+    }
+
+    private static SqlTracer tracer(double sampleRate) {
+        SqlTraceProperties properties = new SqlTraceProperties();
+        properties.setSampleRate(sampleRate);
+        properties.setSlowThreshold(Duration.ofSeconds(1));
+        return new SqlTracer(properties);
+    }
+
+    private static void prepare(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("create table item (item_id bigint primary key, name varchar(255), stock_quantity int)");
+            for (int i = 1; i <= ROWS; i++) {
+                statement.execute("insert into item values (" + i + ", 'item" + i + "', 100)");
+            }
+        }
+    }
+
+    /**
+     * 단건 조회 + 단건 수정을 번갈아 실행 (OSIV 없는 API 요청에서 흔한 패턴)
+     */
+    private static long run(DataSource dataSource) throws SQLException {
+        long sink = 0;
+        long start = System.nanoTime();
+        try (Connection connection = dataSource.getConnection()) {
+            for (int i = 0; i < OPS_PER_ITERATION; i++) {
+                long id = i % ROWS + 1;
+                if ((i & 1) == 0) {
+                    try (PreparedStatement ps = connection.prepareStatement(
+                            "select item_id, name, stock_quantity from item where item_id = ?")) {
+                        ps.setLong(1, id);
+                        try (ResultSet rs = ps.executeQuery()) {
+                            while (rs.next()) {
+                                sink += rs.getInt(3);
+                            }
+                        }
+                    }
+                } else {
+                    try (PreparedStatement ps = connection.prepareStatement(
+                            "update item set stock_quantity = ? where item_id = ?")) {
+                        ps.setInt(1, 100);
+                        ps.setLong(2, id);
+                        sink += ps.executeUpdate();
+                    }
+                }
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        if (sink == 42) {
+            System.out.println();
+        }
+        return elapsed;
+    }
+}
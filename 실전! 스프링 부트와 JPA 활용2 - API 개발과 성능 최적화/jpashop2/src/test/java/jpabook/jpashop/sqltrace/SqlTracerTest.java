@@ -0,0 +1,79 @@
+package jpabook.jpashop.sqltrace;
+
+import jpabook.jpashop.jdbc.InterceptingDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlTracerTest {
+
+    SqlTracer tracer;
+
+    @AfterEach
+    void tearDown() {
+        if (tracer != null) {
+            tracer.endRequest();
+        }
+    }
+
+    @Test
+    public void 링_버퍼는_최근_capacity_개만_순서대로() {
+        SqlTraceBuffer buffer = new SqlTraceBuffer(4);
+        for (int i = 0; i < 6; i++) {
+            buffer.add(new SqlTrace("sql" + i, 0, false, 0));
+        }
+
+        assertThat(buffer.snapshot()).extracting(SqlTrace::getSql).containsExactly("sql2", "sql3", "sql4", "sql5");
+        assertThat(buffer.total()).isEqualTo(6);
+        assertThat(new SqlTraceBuffer(5).snapshot()).isEmpty();
+    }
+
+    @Test
+    public void 요청_단위로_샘플링_여부를_한번만_결정() {
+        tracer = tracer(0.0);
+        assertThat(tracer.isSampled()).isFalse(); // 요청 밖 -> SQL 단위
+
+        tracer.beginRequest();
+        assertThat(tracer.isSampled()).isFalse();
+        tracer.endRequest();
+
+        tracer = tracer(1.0);
+        tracer.beginRequest();
+        assertThat(tracer.isSampled()).isTrue();
+        assertThat(tracer.isSlow(Duration.ofSeconds(1).toNanos())).isTrue();
+        assertThat(tracer.isSlow(Duration.ofMillis(1).toNanos())).isFalse();
+    }
+
+    @Test
+    public void 샘플링된_SQL_은_읽은_row_수와_함께_기록() {
+        tracer = tracer(1.0);
+        SingleConnectionDataSource raw = new SingleConnectionDataSource("jdbc:h2:mem:sqltrace;DB_CLOSE_DELAY=-1", true);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(InterceptingDataSource.wrap(raw, List.of(new SqlTraceListener(tracer))));
+
+        jdbcTemplate.execute("create table trace_test (id int)");
+        int inserted = jdbcTemplate.update("insert into trace_test values (1), (2), (3)");
+        jdbcTemplate.queryForList("select id from trace_test where id > ?", Integer.class, 1);
+        raw.destroy();
+
+        List<SqlTrace> traces = tracer.recent();
+        assertThat(traces).extracting(SqlTrace::getSql)
+                .containsExactly("create table trace_test (id int)", "insert into trace_test values (1), (2), (3)",
+                        "select id from trace_test where id > ?");
+        assertThat(traces.get(1).getRows()).isEqualTo(inserted);
+        assertThat(traces.get(2).getRows()).isEqualTo(2);
+    }
+
+    private static SqlTracer tracer(double sampleRate) {
+        SqlTraceProperties properties = new SqlTraceProperties();
+        properties.setSampleRate(sampleRate);
+        properties.setSlowThreshold(Duration.ofMillis(100));
+        properties.setBufferSize(16);
+        return new SqlTracer(properties);
+    }
+}
@@ -0,0 +1,44 @@
+package jpabook.jpashop.typeahead;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrefixIndexTest {
+
+    @Test
+    public void 접두어_검색_이름순_limit() {
+        PrefixIndex index = new PrefixIndex();
+        index.put(3L, "Spring Boot", "Spring Boot");
+        index.put(1L, "spring", "spring");
+        index.put(2L, "JPA", "JPA");
+        index.put(4L, "spring", "spring (2)"); // 동명
+
+        assertThat(ids(index.search("SPR", 10))).containsExactly(1L, 4L, 3L);
+        assertThat(ids(index.search("spr", 2))).containsExactly(1L, 4L);
+        assertThat(ids(index.search("j", 10))).containsExactly(2L);
+        assertThat(index.search("x", 10)).isEmpty();
+        assertThat(index.search(" ", 10)).isEmpty();
+    }
+
+    @Test
+    public void 이름_변경과_삭제() {
+        PrefixIndex index = new PrefixIndex();
+        index.put(1L, "kim", "kim");
+        index.put(1L, "lee", "lee");
+
+        assertThat(index.search("kim", 10)).isEmpty();
+        assertThat(index.search("lee", 10)).containsExactly(new Suggestion(1L, "lee"));
+        assertThat(index.size()).isEqualTo(1);
+
+        index.remove(1L);
+        assertThat(index.search("lee", 10)).isEmpty();
+        assertThat(index.size()).isZero();
+    }
+
+    private static List<Long> ids(List<Suggestion> suggestions) {
+        return suggestions.stream().map(Suggestion::id).toList();
+    }
+}